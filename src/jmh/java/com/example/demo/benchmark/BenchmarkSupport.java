@@ -0,0 +1,64 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.demo.PolynomeApplication;
+import com.example.demo.entity.Polynomial;
+import com.example.demo.entity.Root;
+
+/**
+ * Outils partagés par les benchmarks : contexte Spring sur H2 embarquée (mode MySQL)
+ * et génération de polynômes x^n - k dont les racines sont les racines n-ièmes de k.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    // Arguments de ligne de commande : ils priment sur application.properties (MySQL)
+    static ConfigurableApplicationContext startContext(String... extraArgs) {
+        String[] defaults = {
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--debug=false",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--logging.level.root=WARN"};
+        return new SpringApplicationBuilder(PolynomeApplication.class).run(
+                Stream.concat(Arrays.stream(defaults), Arrays.stream(extraArgs)).toArray(String[]::new));
+    }
+
+    static List<Polynomial> polynomials(long firstIndex, int count, int degree) {
+        List<Polynomial> polynomials = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            polynomials.add(polynomial(firstIndex + i, degree));
+        }
+        return polynomials;
+    }
+
+    static Polynomial polynomial(long index, int degree) {
+        long constant = index + 2;
+        double modulus = Math.pow(constant, 1.0 / degree);
+        List<Root> roots = new ArrayList<>(degree);
+        for (int k = 0; k < degree; k++) {
+            double angle = 2 * Math.PI * k / degree;
+            roots.add(new Root(modulus * Math.cos(angle), modulus * Math.sin(angle)));
+        }
+        Polynomial polynomial = new Polynomial();
+        polynomial.setSimplifiedExpression("x^" + degree + " - " + constant);
+        polynomial.setFactoredExpression("(x^" + degree + " - " + constant + ")");
+        polynomial.setRoots(roots);
+        return polynomial;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.benchmark;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.solver.ExactFactorizer;
+import com.example.demo.solver.Factorization;
+
+/**
+ * Coût de la factorisation exacte ajoutée au calcul de factoredExpression, par degré :
+ * <ul>
+ *   <li>splitRoots : produit de facteurs linéaires rationnels avec répétitions (Yun puis racines rationnelles,
+ *   ou Zassenhaus quand a0 et an dépassent 32 bits) ;</li>
+ *   <li>cyclotomic : x^n - 1, produit de polynômes cyclotomiques irréductibles (Zassenhaus).</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExactFactorizationBenchmark {
+
+    @Param({"2", "10", "50"})
+    private int degree;
+
+    private BigInteger[] splitRoots;
+    private BigInteger[] cyclotomic;
+
+    @Setup
+    public void prepare() {
+        // Racines p/q avec p dans [-3, 3] et q dans [1, 3] : beaucoup de facteurs répétés
+        BigInteger[] product = {BigInteger.ONE};
+        for (int i = 0; i < degree; i++) {
+            product = multiply(product, BigInteger.valueOf(-(i % 7 - 3)), BigInteger.valueOf(1 + i % 3));
+        }
+        splitRoots = product;
+
+        cyclotomic = new BigInteger[degree + 1];
+        Arrays.fill(cyclotomic, BigInteger.ZERO);
+        cyclotomic[0] = BigInteger.ONE.negate();
+        cyclotomic[degree] = BigInteger.ONE;
+    }
+
+    @Benchmark
+    public Optional<Factorization> splitRoots() {
+        return ExactFactorizer.factor(splitRoots);
+    }
+
+    @Benchmark
+    public Optional<Factorization> cyclotomic() {
+        return ExactFactorizer.factor(cyclotomic);
+    }
+
+    // a · (c0 + c1·x)
+    private static BigInteger[] multiply(BigInteger[] a, BigInteger c0, BigInteger c1) {
+        BigInteger[] result = new BigInteger[a.length + 1];
+        Arrays.fill(result, BigInteger.ZERO);
+        for (int i = 0; i < a.length; i++) {
+            result[i] = result[i].add(a[i].multiply(c0));
+            result[i + 1] = result[i + 1].add(a[i].multiply(c1));
+        }
+        return result;
+    }
+}
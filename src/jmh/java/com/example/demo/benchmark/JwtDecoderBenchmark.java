@@ -0,0 +1,81 @@
+package com.example.demo.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import com.example.demo.security.CachingJwtDecoder;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+
+/**
+ * Coût d'authentification d'une requête porteuse d'un JWT : décodage Nimbus (parsing + HS512 à chaque
+ * appel) puis conversion en Authentication, comparé au décodeur avec cache de jetons vérifiés.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtDecoderBenchmark {
+
+    private static final byte[] SECRET = "yK9ggqDthOaGc0zLxw0zKcpX3J+yyCKwG8ovZHkwngDBy0P7Vncv9Uim4JkVoJ1h".getBytes();
+
+    private JwtDecoder nimbus;
+    private JwtAuthenticationConverter converter;
+    private CachingJwtDecoder cached;
+    private String token;
+
+    @Setup
+    public void prepare() {
+        nimbus = NimbusJwtDecoder.withSecretKey(new SecretKeySpec(SECRET, "HmacSHA512"))
+                .macAlgorithm(MacAlgorithm.HS512).build();
+        converter = new JwtAuthenticationConverter();
+        cached = new CachingJwtDecoder(nimbus, 10_000, Duration.ofHours(1));
+        // Même forme que les jetons émis par les contrôleurs de login
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuedAt(now)
+                .expiresAt(now.plus(Duration.ofDays(100)))
+                .subject("calculator@example.com")
+                .claim("scope", List.of("CALCULATOR"))
+                .claim("id", 42L)
+                .build();
+        token = new NimbusJwtEncoder(new ImmutableSecret<>(SECRET))
+                .encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS512).build(), claims))
+                .getTokenValue();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken nimbus() {
+        return converter.convert(nimbus.decode(token));
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken cached() {
+        return cached.convert(cached.decode(token));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.demo.entity.Calculator;
+import com.example.demo.security.AuthenticationService;
+import com.example.demo.service.UserService;
+
+/**
+ * Débit de login (logins/s) avec BCrypt réel et la base H2 : ancien parcours (matches dans le contrôleur
+ * puis AuthenticationManager, soit deux BCrypt) contre AuthenticationService (une recherche, un BCrypt).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(4)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String EMAIL = "benchmark-calculator@example.com";
+    private static final String PASSWORD = "benchmark-password";
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private PasswordEncoder passwordEncoder;
+    private AuthenticationManager authenticationManager;
+    private AuthenticationService authenticationService;
+
+    @Setup
+    public void start() {
+        context = BenchmarkSupport.startContext();
+        userService = context.getBean(UserService.class);
+        passwordEncoder = context.getBean(PasswordEncoder.class);
+        authenticationManager = context.getBean(AuthenticationManager.class);
+        authenticationService = context.getBean(AuthenticationService.class);
+
+        Calculator calculator = new Calculator();
+        calculator.setUsername("benchmark");
+        calculator.setEmail(EMAIL);
+        calculator.setPassword(passwordEncoder.encode(PASSWORD));
+        calculator.setRole("CALCULATOR");
+        calculator.setVerified(true);
+        userService.saveCalculator(calculator);
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    // Parcours d'avant : contrôle du mot de passe dans le contrôleur puis DaoAuthenticationProvider
+    @Benchmark
+    public Authentication legacy() {
+        Calculator calculator = userService.findCalculatorByEmail(EMAIL).orElseThrow();
+        if (!passwordEncoder.matches(PASSWORD, calculator.getPassword())) {
+            throw new IllegalStateException("mot de passe refusé");
+        }
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
+    }
+
+    @Benchmark
+    public AuthenticationService.Status unified() {
+        return authenticationService.authenticate(EMAIL, PASSWORD, userService::findCalculatorByEmail).getStatus();
+    }
+}
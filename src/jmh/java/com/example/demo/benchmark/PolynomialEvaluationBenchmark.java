@@ -0,0 +1,81 @@
+package com.example.demo.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.solver.PolynomialEvaluator;
+
+/**
+ * Horner scalaire contre Horner vectoriel (jdk.incubator.vector) de 1e3 à 1e7 points, réels et complexes.
+ * Le score se lit en microsecondes par appel ; divisé par points, il donne le coût par point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Xmx2g"})
+public class PolynomialEvaluationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int points;
+
+    // Degré d'un tracé courant ; au-delà, le calcul domine davantage la lecture mémoire
+    @Param({"8"})
+    private int degree;
+
+    private double[] coefficients;
+    private double[] re;
+    private double[] im;
+    private double[] outRe;
+    private double[] outIm;
+
+    @Setup
+    public void prepare() {
+        if (!PolynomialEvaluator.isVectorized()) {
+            throw new IllegalStateException("Vector API indisponible : lancer avec --add-modules jdk.incubator.vector");
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        coefficients = random.doubles(degree + 1, -1, 1).toArray();
+        re = random.doubles(points, -1, 1).toArray();
+        im = random.doubles(points, -1, 1).toArray();
+        outRe = new double[points];
+        outIm = new double[points];
+    }
+
+    @Benchmark
+    public double[] realScalar() {
+        PolynomialEvaluator.evaluateScalar(coefficients, re, outRe);
+        return outRe;
+    }
+
+    @Benchmark
+    public double[] realVector() {
+        PolynomialEvaluator.evaluateVector(coefficients, re, outRe);
+        return outRe;
+    }
+
+    @Benchmark
+    public double[] complexScalar() {
+        PolynomialEvaluator.evaluateScalar(coefficients, re, im, outRe, outIm);
+        return outIm;
+    }
+
+    @Benchmark
+    public double[] complexVector() {
+        PolynomialEvaluator.evaluateVector(coefficients, re, im, outRe, outIm);
+        return outIm;
+    }
+}
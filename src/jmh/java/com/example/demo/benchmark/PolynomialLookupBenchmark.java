@@ -0,0 +1,108 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.demo.entity.Polynomial;
+import com.example.demo.entity.PolynomialDTO;
+import com.example.demo.entity.PolynomialPage;
+import com.example.demo.entity.User;
+import com.example.demo.repository.PolynomialRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PolynomialService;
+
+/**
+ * Lectures sur une table pré-remplie : contrôle de doublon (unitaire et groupé),
+ * liste projetée d'un utilisateur et page par curseur.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolynomialLookupBenchmark {
+
+    private static final int CHUNK = 500;
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    @Param({"2", "32"})
+    private int degree;
+
+    private ConfigurableApplicationContext context;
+    private PolynomialRepository polynomialRepository;
+    private PolynomialService polynomialService;
+    private Long userId;
+    private String storedFingerprint;
+    private List<String> probe;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        context = BenchmarkSupport.startContext();
+        polynomialRepository = context.getBean(PolynomialRepository.class);
+        polynomialService = context.getBean(PolynomialService.class);
+        User owner = new User();
+        owner.setUsername("benchmark");
+        owner.setEmail("benchmark@example.com");
+        User user = context.getBean(UserRepository.class).save(owner);
+        userId = user.getId();
+
+        probe = new ArrayList<>(100);
+        for (int start = 0; start < rows; start += CHUNK) {
+            List<Polynomial> chunk = BenchmarkSupport.polynomials(start, Math.min(CHUNK, rows - start), degree);
+            polynomialService.savePolynomials(user, chunk);
+            for (Polynomial polynomial : chunk) {
+                if (probe.size() < 50) {
+                    probe.add(polynomial.getFingerprint());
+                }
+            }
+        }
+        storedFingerprint = probe.get(0);
+        for (int i = probe.size(); i < 100; i++) {
+            probe.add("absent-" + i); // Moitié présents, moitié absents
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean existsDuplicate() {
+        return polynomialRepository.existsDuplicate(userId, storedFingerprint);
+    }
+
+    @Benchmark
+    public List<String> findExistingFingerprints() {
+        return polynomialRepository.findExistingFingerprints(userId, probe);
+    }
+
+    @Benchmark
+    public List<PolynomialDTO> getPolynomialsByUserId() {
+        return polynomialService.getPolynomialsByUserId(userId);
+    }
+
+    @Benchmark
+    public PolynomialPage getFirstPage() {
+        return polynomialService.getPolynomialPage(null, 100);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.solver.PolynomialParser;
+
+/**
+ * Coût par expression de l'analyse et de la mise sous forme canonique, étapes ajoutées à chaque requête
+ * d'enregistrement. Le profilage mémoire s'obtient avec -prof gc (octets alloués par opération).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolynomialParserBenchmark {
+
+    // Degré de l'expression ; coefficients décimaux écrits dans le désordre, comme un client pourrait les envoyer
+    @Param({"2", "10", "50"})
+    private int degree;
+
+    private String expression;
+
+    @Setup
+    public void prepare() {
+        StringBuilder builder = new StringBuilder();
+        for (int d = 0; d <= degree; d++) {
+            if (d > 0) {
+                builder.append(d % 3 == 0 ? " - " : " + ");
+            }
+            builder.append(d * 1.25 + 0.5).append("*x^").append(d);
+        }
+        expression = builder.toString();
+    }
+
+    @Benchmark
+    public double[] parse() {
+        return PolynomialParser.parse(expression);
+    }
+
+    @Benchmark
+    public String canonicalize() {
+        return PolynomialParser.canonicalize(expression);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.entity.Polynomial;
+import com.example.demo.entity.PolynomialDTO;
+import com.example.demo.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Construction des PolynomialDTO et sérialisation Jackson des entités et des DTO, sans base de données.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolynomialSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    @Param({"2", "16", "128"})
+    private int degree;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Polynomial> polynomials;
+    private List<PolynomialDTO> dtos;
+
+    @Setup
+    public void prepare() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("benchmark");
+        polynomials = BenchmarkSupport.polynomials(0, size, degree);
+        polynomials.forEach(p -> p.setUser(user));
+        dtos = toDTOs();
+    }
+
+    @Benchmark
+    public List<PolynomialDTO> toDTOs() {
+        List<PolynomialDTO> result = new ArrayList<>(polynomials.size());
+        for (Polynomial polynomial : polynomials) {
+            result.add(new PolynomialDTO(polynomial));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(polynomials);
+    }
+
+    @Benchmark
+    public byte[] serializeDTOs() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+}
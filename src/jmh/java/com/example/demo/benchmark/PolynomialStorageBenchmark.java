@@ -0,0 +1,89 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.demo.entity.Polynomial;
+import com.example.demo.entity.PolynomialStoreResult;
+import com.example.demo.entity.User;
+import com.example.demo.repository.PolynomialRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PolynomialService;
+
+/**
+ * Enregistrement de nouveaux polynômes (empreinte, contrôle de doublon groupé, insert par lot)
+ * selon la taille du lot et le degré. insertOnly isole le saveAll : c'est lui que les ids par
+ * séquence et hibernate.jdbc.batch_size accélèrent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolynomialStorageBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int batchSize;
+
+    @Param({"2", "16", "128"})
+    private int degree;
+
+    private ConfigurableApplicationContext context;
+    private PolynomialService polynomialService;
+    private PolynomialRepository polynomialRepository;
+    private User user;
+    private long next;
+    private List<Polynomial> batch;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkSupport.startContext();
+        polynomialService = context.getBean(PolynomialService.class);
+        polynomialRepository = context.getBean(PolynomialRepository.class);
+        User owner = new User();
+        owner.setUsername("benchmark");
+        owner.setEmail("benchmark@example.com");
+        user = context.getBean(UserRepository.class).save(owner);
+    }
+
+    // Nouveaux polynômes à chaque appel : on mesure le chemin d'insertion, pas celui des doublons
+    @Setup(Level.Invocation)
+    public void prepareBatch() {
+        batch = BenchmarkSupport.polynomials(next, batchSize, degree);
+        for (Polynomial polynomial : batch) {
+            polynomial.setUser(user);
+            polynomial.setFingerprint("benchmark-" + next++); // Unique : insertOnly ne passe pas par le calcul d'empreinte
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PolynomialStoreResult> savePolynomials() {
+        return polynomialService.savePolynomials(user, batch);
+    }
+
+    @Benchmark
+    public List<Polynomial> insertOnly() {
+        return polynomialRepository.saveAll(batch);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.demo.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PolynomialService;
+
+/**
+ * Test de charge HTTP à concurrence fixe : débit, p50 et p99 de GET /api/users/{id}/polynomials
+ * (deux requêtes JPA par appel), pour comparer le mode threads plateforme au profil virtual.
+ * Sans --url, l'application est démarrée sur H2 dans le processus, une fois par mode demandé.
+ * Avec --url=http://hôte:8082, on vise une instance déjà lancée (MySQL réel, avec ou sans le profil).
+ *
+ * java -cp ... com.example.demo.benchmark.ThreadModeLoadTest --modes=platform,virtual --concurrency=400 --seconds=20
+ */
+public final class ThreadModeLoadTest {
+
+    private static final int POLYNOMIALS = 20;
+
+    private ThreadModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.parseInt(option(args, "concurrency", "400"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(option(args, "warmup", "5")));
+        Duration measure = Duration.ofSeconds(Long.parseLong(option(args, "seconds", "20")));
+        String url = option(args, "url", null);
+
+        if (url != null) {
+            String userId = option(args, "user-id", "1");
+            report("externe", run(url + "/api/users/" + userId + "/polynomials", concurrency, warmup, measure));
+            return;
+        }
+        for (String mode : option(args, "modes", "platform,virtual").split(",")) {
+            String[] profile = "virtual".equals(mode) ? new String[] {"--spring.profiles.active=virtual"} : new String[0];
+            try (ConfigurableApplicationContext context = BenchmarkSupport.startContext(profile)) {
+                String threading = Threading.VIRTUAL.isActive(context.getEnvironment()) ? "virtuels" : "plateforme";
+                if ("virtual".equals(mode) && "plateforme".equals(threading)) {
+                    System.out.println("Java " + Runtime.version().feature() + " : threads virtuels indisponibles, mode plateforme conservé");
+                }
+                Long userId = seed(context);
+                String target = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                        + "/api/users/" + userId + "/polynomials";
+                report(mode + " (threads " + threading + ")", run(target, concurrency, warmup, measure));
+            }
+        }
+    }
+
+    private static Long seed(ConfigurableApplicationContext context) {
+        User owner = new User();
+        owner.setUsername("load-test");
+        owner.setEmail("load-test@example.com");
+        owner = context.getBean(UserRepository.class).save(owner);
+        context.getBean(PolynomialService.class).savePolynomials(owner, BenchmarkSupport.polynomials(0, POLYNOMIALS, 4));
+        return owner.getId();
+    }
+
+    // Chaque client enchaîne ses requêtes ; seules celles lancées après l'échauffement sont mesurées
+    private static Result run(String target, int concurrency, Duration warmup, Duration measure) throws InterruptedException {
+        ExecutorService io = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(io)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(target)).timeout(Duration.ofSeconds(30)).GET().build();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + measure.toNanos();
+
+        Recorder[] recorders = new Recorder[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Recorder recorder = recorders[i] = new Recorder();
+            clients.execute(() -> {
+                try {
+                    long start;
+                    while ((start = System.nanoTime()) < stopAt) {
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        if (start >= measureFrom) {
+                            if (ok) {
+                                recorder.add(System.nanoTime() - start);
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        clients.shutdown();
+        io.shutdown();
+        clients.awaitTermination(10, TimeUnit.SECONDS);
+        return Result.of(recorders, errors.get(), measure);
+    }
+
+    private static void report(String label, Result result) {
+        System.out.printf("%-28s %9.1f req/s  p50 %7.2f ms  p99 %7.2f ms  max %7.2f ms  erreurs %d%n",
+                label, result.throughput, result.p50 / 1e6, result.p99 / 1e6, result.max / 1e6, result.errors);
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        return Arrays.stream(args)
+                .filter(arg -> arg.startsWith(prefix))
+                .map(arg -> arg.substring(prefix.length()))
+                .findFirst()
+                .orElse(defaultValue);
+    }
+
+    // Latences d'un client, sans synchronisation : fusionnées une fois la charge terminée
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int size;
+
+        void add(long nanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+        }
+    }
+
+    private static final class Result {
+        private final double throughput;
+        private final long p50;
+        private final long p99;
+        private final long max;
+        private final long errors;
+
+        private Result(double throughput, long p50, long p99, long max, long errors) {
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+            this.errors = errors;
+        }
+
+        static Result of(Recorder[] recorders, long errors, Duration measure) {
+            long[] all = List.of(recorders).stream()
+                    .flatMapToLong(recorder -> Arrays.stream(recorder.latencies, 0, recorder.size))
+                    .sorted()
+                    .toArray();
+            if (all.length == 0) {
+                return new Result(0, 0, 0, 0, errors);
+            }
+            return new Result(all.length / (measure.toNanos() / 1e9), percentile(all, 0.50), percentile(all, 0.99),
+                    all[all.length - 1], errors);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.demo;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import com.example.demo.entity.Admin;
 import com.example.demo.entity.Calculator;
@@ -11,11 +13,13 @@ import com.example.demo.service.UserService;
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
+
     @Autowired
     private UserService userService;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
 
     @Override
     public void run(String... args) throws Exception {
@@ -30,11 +34,11 @@ public class DataInitializer implements CommandLineRunner {
             calculator.setRole("CALCULATOR");
             calculator.setVerified(true); // Vérifié par défaut
             userService.saveCalculator(calculator);
-            System.out.println("Utilisateur CALCULATOR créé avec un mot de passe hashé.");
+            logger.info("Utilisateur CALCULATOR créé avec un mot de passe hashé.");
         }
 
         // Créer un utilisateur avec le rôle ADMIN
-        if (userService.findUserByUsername("adminUser").isEmpty()) {
+        if (userService.findUserByUsername("root").isEmpty()) {
             Admin admin = new Admin();
             admin.setId(2L); // Définir manuellement l'ID
             admin.setUsername("root");
@@ -44,7 +48,7 @@ public class DataInitializer implements CommandLineRunner {
             admin.setRole("ADMIN");
             admin.setVerified(true); // Vérifié par défaut
             userService.saveAdmin(admin);
-            System.out.println("Utilisateur ADMIN créé avec un mot de passe hashé.");
+            logger.info("Utilisateur ADMIN créé avec un mot de passe hashé.");
         }
     }
 }
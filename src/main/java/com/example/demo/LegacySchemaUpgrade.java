@@ -0,0 +1,69 @@
+package com.example.demo;
+
+import java.sql.DatabaseMetaData;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Passage aux migrations Flyway d'une base créée par Hibernate (ddl-auto=create) : table polynomial présente
+ * mais aucun historique Flyway. Les scripts db/legacy/common puis db/legacy/{vendor} mettent le schéma à la forme
+ * de V2, une ligne de base est posée en version 2 et les migrations suivantes s'appliquent normalement.
+ * Base vide ou déjà migrée : simple migrate. Après la mise à niveau, lancer le recalcul des racines.
+ */
+@Component
+public class LegacySchemaUpgrade implements FlywayMigrationStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacySchemaUpgrade.class);
+
+    static final String BASELINE_VERSION = "2";
+
+    @Override
+    public void migrate(Flyway flyway) {
+        DataSource dataSource = flyway.getConfiguration().getDataSource();
+        if (flyway.info().applied().length == 0 && hasPolynomialTable(dataSource)) {
+            logger.warn("Base créée par Hibernate sans historique Flyway : mise à niveau puis ligne de base en version {}",
+                    BASELINE_VERSION);
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                    new ClassPathResource("db/legacy/common/hibernate_schema_upgrade.sql"),
+                    new ClassPathResource("db/legacy/" + vendor(dataSource) + "/polynomial_sequence.sql"));
+            populator.execute(dataSource);
+            Flyway.configure().configuration(flyway.getConfiguration())
+                    .baselineVersion(BASELINE_VERSION)
+                    .baselineDescription("Schéma Hibernate mis à niveau")
+                    .load()
+                    .baseline();
+        }
+        flyway.migrate();
+    }
+
+    private static boolean hasPolynomialTable(DataSource dataSource) {
+        try {
+            new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM polynomial", Long.class);
+            return true;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+
+    private static String vendor(DataSource dataSource) {
+        try {
+            String url = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getURL);
+            return DatabaseDriver.fromJdbcUrl(url).getId();
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Type de base indéterminé", e);
+        }
+    }
+}
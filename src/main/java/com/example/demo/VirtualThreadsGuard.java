@@ -0,0 +1,30 @@
+package com.example.demo;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+
+/**
+ * Refuse de démarrer quand spring.threads.virtual.enabled (profil virtual) est demandé sur une JVM antérieure
+ * à Java 21 : Spring Boot retomberait sans rien dire sur les pools de threads plateforme, dimensionnés
+ * pour les threads virtuels (Tomcat à 2000 connexions, BCrypt hors des threads porteurs).
+ * Enregistré dans META-INF/spring.factories, après le chargement des fichiers de profil.
+ */
+public class VirtualThreadsGuard implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        check(environment, JavaVersion.getJavaVersion());
+    }
+
+    static void check(Environment environment, JavaVersion running) {
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && !running.isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            throw new IllegalStateException("spring.threads.virtual.enabled (profil virtual) demande Java 21 ou plus, "
+                    + "JVM actuelle : " + System.getProperty("java.version")
+                    + ". Démarrer sur Java 21+ ou sans le profil virtual.");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.controller;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.security.TokenService;
+import com.example.demo.security.TokenService.TokenPair;
+
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
+    private static final String MESSAGE_KEY = "message";
+    private static final String REFRESH_TOKEN_KEY = "refreshToken";
+
+    @Autowired
+    private TokenService tokenService;
+
+    // Échange un refresh token contre une nouvelle paire ; l'ancien refresh token est révoqué
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, String>> refresh(@RequestBody Map<String, String> requestBody) {
+        String refreshToken = requestBody.get(REFRESH_TOKEN_KEY);
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of(MESSAGE_KEY, "Refresh token manquant."));
+        }
+        try {
+            TokenPair tokens = tokenService.refresh(refreshToken);
+            return ResponseEntity.ok(Map.of(
+                    "token", tokens.getAccessToken(),
+                    REFRESH_TOKEN_KEY, tokens.getRefreshToken(),
+                    "expiresIn", String.valueOf(tokens.getExpiresIn())
+            ));
+        } catch (JwtException | AuthenticationException e) {
+            logger.warn("Refresh token refusé : {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of(MESSAGE_KEY, "Refresh token invalide ou expiré."));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, String>> logout(@AuthenticationPrincipal Jwt jwt,
+                                                      @RequestBody(required = false) Map<String, String> requestBody) {
+        tokenService.logout(jwt, requestBody != null ? requestBody.get(REFRESH_TOKEN_KEY) : null);
+        return ResponseEntity.ok(Map.of(MESSAGE_KEY, "Déconnexion réussie."));
+    }
+}
@@ -1,32 +1,25 @@
 package com.example.demo.controller;
 
 import java.security.SecureRandom;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
-import org.springframework.security.oauth2.jwt.JwsHeader;
-import org.springframework.security.oauth2.jwt.JwtClaimsSet;
-import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import com.example.demo.entity.Calculator;
+import com.example.demo.security.AuthenticationService;
+import com.example.demo.security.AuthenticationService.LoginResult;
+import com.example.demo.security.TokenService;
+import com.example.demo.security.TokenService.TokenPair;
 import com.example.demo.service.EmailService;
 import com.example.demo.service.UserService;
+import com.example.demo.service.UserService.SaveResult;
 
-import jakarta.mail.MessagingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 @RestController
@@ -42,121 +35,76 @@ public class CalculatorController {
     private EmailService emailService;
 
     @Autowired
-    private JwtEncoder jwtEncoder;
+    private TokenService tokenService;
 
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private AuthenticationService authenticationService;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
 
     @PostMapping("/login")
     public ResponseEntity<Map<String, String>> loginCalculator(@RequestBody Calculator loginRequest) {
-        logger.info("Tentative de connexion pour : {}", loginRequest.getEmail());
+        logger.debug("Tentative de connexion pour : {}", loginRequest.getEmail());
 
-        Optional<Calculator> calculator = userService.findCalculatorByEmail(loginRequest.getEmail());
+        LoginResult<Calculator> result = authenticationService.authenticate(
+                loginRequest.getEmail(), loginRequest.getPassword(), userService::findCalculatorForLogin);
 
-        if (calculator.isPresent()) {
-            logger.info("Utilisateur trouvé : {}", calculator.get().getEmail());
-            logger.info("Mot de passe stocké (encodé) : {}", calculator.get().getPassword());
-
-            if (!calculator.get().isVerified()) {
-                logger.warn("Utilisateur non vérifié !");
+        switch (result.getStatus()) {
+            case NOT_FOUND:
+                logger.debug("Utilisateur introuvable pour l'email : {}", loginRequest.getEmail());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(MESSAGE_KEY, "Nom d'utilisateur ou mot de passe incorrect."));
+            case NOT_VERIFIED:
+                logger.debug("Utilisateur non vérifié : {}", loginRequest.getEmail());
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(MESSAGE_KEY, "Veuillez vérifier votre e-mail."));
-            }
-
-            boolean passwordMatches = passwordEncoder.matches(loginRequest.getPassword(), calculator.get().getPassword());
-            logger.info("Mot de passe correspond : {}", passwordMatches);
-
-            if (!passwordMatches) {
+            case BAD_CREDENTIALS:
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(MESSAGE_KEY, "Mot de passe incorrect."));
-            }
-
-            try {
-                Authentication authentication = authenticationManager.authenticate(
-                        new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
-                );
-                logger.info("Authentification réussie pour : {}", loginRequest.getEmail());
-
-                Instant instant = Instant.now();
-
-                List<String> roles = authentication.getAuthorities().stream()
-                        .map(authority -> authority.getAuthority().replace("ROLE_", ""))
-                        .collect(Collectors.toList());
-                logger.info("Rôles de l'utilisateur : {}", roles);
-
-                Long userId = calculator.get().getId();
-
-                JwtClaimsSet jwtClaimsSet = JwtClaimsSet.builder()
-                        .subject(calculator.get().getEmail())
-                        .issuedAt(instant)
-                        .expiresAt(instant.plus(100, ChronoUnit.DAYS))
-                        .claim("scope", roles)
-                        .claim("id", userId)
-                        .build();
-
-                JwtEncoderParameters jwtEncoderParameters = JwtEncoderParameters.from(
-                        JwsHeader.with(MacAlgorithm.HS512).build(),
-                        jwtClaimsSet
-                );
-
-                String jwt = jwtEncoder.encode(jwtEncoderParameters).getTokenValue();
-                logger.info("JWT généré avec succès : {}", jwt);
-
-                // Envoi de notification par méthode séparée
-                ResponseEntity<Map<String, String>> notificationResponse = sendLoginNotification(calculator.get());
-                if (notificationResponse != null) {
-                    return notificationResponse;
-                }
-
-                return ResponseEntity.ok(Map.of("token", jwt, "userId", String.valueOf(userId)));
-            } catch (Exception e) {
-                logger.error("Erreur lors de l'authentification : {}", e.getMessage());
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(MESSAGE_KEY, "Erreur lors de l'authentification."));
-            }
-        } else {
-            logger.warn("Utilisateur introuvable pour l'email : {}", loginRequest.getEmail());
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(MESSAGE_KEY, "Nom d'utilisateur ou mot de passe incorrect."));
+            default:
+                break;
         }
-    }
 
-    private ResponseEntity<Map<String, String>> sendLoginNotification(Calculator calculator) {
+        Calculator calculator = result.getUser();
         try {
+            logger.debug("Authentification réussie pour : {}", calculator.getEmail());
+
+            Long userId = calculator.getId();
+            TokenPair tokens = tokenService.issue(userId, calculator.getEmail(), result.getAuthorities());
+            logger.debug("Rôles de l'utilisateur : {}", tokens.getRoles());
+
+            // Notification mise en file : un serveur SMTP lent ou en panne n'affecte pas la connexion
             emailService.sendLoginNotification(calculator.getEmail(), calculator.getUsername());
-            logger.info("Notification par email envoyée à : {}", calculator.getEmail());
-        } catch (MessagingException e) {
-            logger.error("Erreur lors de l'envoi de la notification par e-mail : {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(MESSAGE_KEY, "Erreur lors de l'envoi de la notification par e-mail."));
+
+            return ResponseEntity.ok(Map.of(
+                    "token", tokens.getAccessToken(),
+                    "refreshToken", tokens.getRefreshToken(),
+                    "expiresIn", String.valueOf(tokens.getExpiresIn()),
+                    "userId", String.valueOf(userId)
+            ));
+        } catch (Exception e) {
+            logger.error("Erreur lors de l'authentification : {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(MESSAGE_KEY, "Erreur lors de l'authentification."));
         }
-        return null;
     }
 
-
     @PostMapping("/register")
     public ResponseEntity<String> registerCalculator(@RequestBody Calculator calculator) {
-        if (userService.findCalculatorByUsername(calculator.getUsername()).isPresent()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Nom d'utilisateur déjà pris.");
-        }
-
-        if (userService.findCalculatorByEmail(calculator.getEmail()).isPresent()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Email déjà utilisé.");
-        }
-
         String pwd = passwordEncoder.encode(calculator.getPassword());
         calculator.setPassword(pwd);
         calculator.setRole("CALCULATOR");
         calculator.setVerified(true);
 
-        userService.saveCalculator(calculator);
-
-        try {
-            emailService.sendVerificationEmail(calculator.getEmail(), calculator.getUsername());
-        } catch (MessagingException e) {
-            logger.error("Erreur lors de l'envoi de l'email de vérification : {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erreur lors de l'envoi de l'email de vérification.");
+        // Un seul aller-retour : les contraintes uniques signalent un nom ou un email déjà pris
+        SaveResult saved = userService.saveUnique(calculator);
+        if (saved == SaveResult.USERNAME_TAKEN) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Nom d'utilisateur déjà pris.");
+        }
+        if (saved == SaveResult.EMAIL_TAKEN) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Email déjà utilisé.");
         }
 
+        emailService.sendVerificationEmail(calculator.getEmail(), calculator.getUsername());
+
         return ResponseEntity.status(HttpStatus.CREATED).body("Calculator enregistré avec succès. Veuillez vérifier votre e-mail.");
     }
 
@@ -194,11 +142,7 @@ public class CalculatorController {
         userService.saveCalculator(calculator);
 
         // Send password reset email
-        try {
-            emailService.sendPasswordResetEmail(email, newPassword);
-        } catch (MessagingException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erreur lors de l'envoi de l'email de réinitialisation.");
-        }
+        emailService.sendPasswordResetEmail(email, newPassword);
 
         return ResponseEntity.ok("Un e-mail avec votre nouveau mot de passe a été envoyé.");
     }
@@ -1,12 +1,15 @@
 package com.example.demo.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,13 +17,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.demo.entity.Polynomial;
 import com.example.demo.entity.PolynomialDTO;
+import com.example.demo.entity.PolynomialEvaluation;
+import com.example.demo.entity.PolynomialEvaluationRequest;
+import com.example.demo.entity.PolynomialPage;
+import com.example.demo.entity.PolynomialSolution;
+import com.example.demo.entity.PolynomialStoreResult;
+import com.example.demo.entity.PolynomialStoreResult.Status;
+import com.example.demo.entity.Root;
 import com.example.demo.entity.User;
+import com.example.demo.service.PolynomialCursor;
 import com.example.demo.service.PolynomialService;
+import com.example.demo.service.PolynomialSolverService;
 import com.example.demo.service.UserService;
+import com.example.demo.solver.RootFinder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/api")
@@ -30,14 +48,20 @@ public class PolynomialController {
     private PolynomialService polynomialService;
     @Autowired
     private UserService userService;
+    @Autowired
+    private PolynomialSolverService polynomialSolverService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final String BATCH_TOO_LARGE = "Batch too large (max " + MAX_BATCH_SIZE + " polynomials).";
+    private static final String EXPRESSION_TOO_LONG = "Polynomial too long to be stored (max "
+            + PolynomialService.MAX_EXPRESSION_LENGTH + " characters per expression).";
 
     @PostMapping("/store-polynomial")
     public ResponseEntity<String> storePolynomial(@RequestBody Map<String, Object> requestBody) {
         try {
-            String simplifiedExpression = (String) requestBody.get("simplifiedExpression");
-            String factoredExpression = (String) requestBody.get("factoredExpression");
-            List<String> roots = (List<String>) requestBody.get("roots");
-            
             Object userIdObject = requestBody.get("userId");
 
             if (userIdObject == null) {
@@ -51,36 +75,232 @@ public class PolynomialController {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
             }
 
-            Polynomial polynomial = new Polynomial();
-            polynomial.setSimplifiedExpression(simplifiedExpression);
-            polynomial.setFactoredExpression(factoredExpression);
-            polynomial.setRoots(roots);
+            Polynomial polynomial = toPolynomial(requestBody);
             polynomial.setUser(userOptional.get());
 
-            polynomialService.savePolynomial(polynomial);
+            // Toujours 200, comme avant la déduplication : le résultat est dans le message
+            PolynomialStoreResult result = polynomialService.savePolynomial(polynomial);
+            if (result.getStatus() == Status.INVALID) {
+                return ResponseEntity.ok("Invalid polynomial expression.");
+            }
+            if (result.getStatus() == Status.DUPLICATE) {
+                return ResponseEntity.ok("Polynomial already stored.");
+            }
 
             return ResponseEntity.ok("Polynomial stored successfully.");
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error: " + e.getMessage());
         }
     }
 
+    // Calcul local : forme simplifiée, factorisation et racines à partir des coefficients ou d'une expression
+    @PostMapping("/compute-polynomial")
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<Object> computePolynomial(@RequestBody Map<String, Object> requestBody) {
+        try {
+            Object coefficients = requestBody.get("coefficients");
+            Object expression = requestBody.get("expression");
+            PolynomialSolution solution;
+            if (coefficients instanceof List) {
+                solution = polynomialSolverService.solve((List<Number>) coefficients);
+            } else if (expression instanceof String) {
+                solution = polynomialSolverService.solve((String) expression);
+            } else {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Coefficients or expression is required.");
+            }
+
+            Object userIdObject = requestBody.get("userId");
+            if (userIdObject != null) {
+                Optional<User> userOptional = userService.findById(Long.valueOf(userIdObject.toString()));
+                if (userOptional.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
+                }
+                if (!PolynomialService.fitsColumns(solution.getSimplifiedExpression(), solution.getFactoredExpression())) {
+                    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(EXPRESSION_TOO_LONG);
+                }
+                polynomialSolverService.store(solution, userOptional.get());
+            }
+            return ResponseEntity.ok(solution);
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/store-polynomials", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> storePolynomials(@RequestParam Long userId, @RequestBody List<Map<String, Object>> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(BATCH_TOO_LARGE);
+        }
+        return storeBatch(userId, items);
+    }
+
+    // Flux NDJSON : un polynôme JSON par ligne
+    @PostMapping(value = "/store-polynomials", consumes = NDJSON)
+    public ResponseEntity<Object> storePolynomialsNdjson(@RequestParam Long userId, InputStream body) throws IOException {
+        List<Map<String, Object>> items = new ArrayList<>();
+        try (MappingIterator<Map<String, Object>> iterator = objectMapper.readerFor(Map.class).readValues(body)) {
+            while (iterator.hasNext()) {
+                if (items.size() == MAX_BATCH_SIZE) {
+                    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(BATCH_TOO_LARGE);
+                }
+                items.add(iterator.next());
+            }
+        }
+        return storeBatch(userId, items);
+    }
+
+    private ResponseEntity<Object> storeBatch(Long userId, List<Map<String, Object>> items) {
+        Optional<User> userOptional = userService.findById(userId);
+        if (userOptional.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
+        }
+
+        List<Polynomial> polynomials = new ArrayList<>(items.size());
+        for (Map<String, Object> item : items) {
+            polynomials.add(item != null ? toPolynomialOrNull(item) : null);
+        }
+
+        List<PolynomialStoreResult> results = polynomialService.savePolynomials(userOptional.get(), polynomials);
+        return ResponseEntity.ok(results);
+    }
+
+    // Un élément mal formé est signalé INVALID sans faire échouer le lot
+    private Polynomial toPolynomialOrNull(Map<String, Object> item) {
+        try {
+            return toPolynomial(item);
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private Polynomial toPolynomial(Map<String, Object> item) {
+        Polynomial polynomial = new Polynomial();
+        polynomial.setSimplifiedExpression((String) item.get("simplifiedExpression"));
+        polynomial.setFactoredExpression((String) item.get("factoredExpression"));
+        polynomial.setRoots(toRoots(item.get("roots")));
+        return polynomial;
+    }
+
+    // Racines typées {"re", "im", "multiplicity"} ; les nombres et l'ancienne forme texte ("1+2i") restent acceptés
+    private List<Root> toRoots(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof List<?> items)) {
+            throw new IllegalArgumentException("Roots must be an array.");
+        }
+        List<Root> roots = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (item instanceof Map<?, ?> map) {
+                roots.add(new Root(toDouble(map.get("re")), toDouble(map.get("im")), toMultiplicity(map.get("multiplicity"))));
+            } else if (item instanceof Number number) {
+                roots.add(new Root(number.doubleValue(), 0));
+            } else if (item instanceof String text) {
+                roots.add(Root.parse(text));
+            } else {
+                throw new IllegalArgumentException("Invalid root: " + item);
+            }
+        }
+        return roots;
+    }
+
+    // Une multiplicité ne peut dépasser le degré maximal accepté par le solveur
+    private static int toMultiplicity(Object value) {
+        if (value == null) {
+            return 1;
+        }
+        double multiplicity = ((Number) value).doubleValue();
+        if (multiplicity < 1 || multiplicity > RootFinder.MAX_DEGREE || multiplicity != Math.rint(multiplicity)) {
+            throw new IllegalArgumentException("Root multiplicity must be an integer between 1 and " + RootFinder.MAX_DEGREE + ".");
+        }
+        return (int) multiplicity;
+    }
+
+    private static double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0.0;
+    }
+
 
 
 
 
     @GetMapping("/polynomials")
     @PreAuthorize("hasAuthority('SCOPE_CALCULATOR')")
-
-    public ResponseEntity<List<Polynomial>> getAllPolynomials() {
+    public ResponseEntity<PolynomialPage> getAllPolynomials(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "100") int limit) {
         try {
-            List<Polynomial> polynomials = polynomialService.getAllPolynomials();
-            return ResponseEntity.ok(polynomials);
+            return ResponseEntity.ok(polynomialService.getPolynomialPage(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    // Diffusion NDJSON page par page : la mémoire reste bornée par la taille de page
+    @GetMapping(value = "/polynomials/stream", produces = NDJSON)
+    @PreAuthorize("hasAuthority('SCOPE_CALCULATOR')")
+    public ResponseEntity<StreamingResponseBody> streamPolynomials(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "500") int pageSize) {
+        try {
+            PolynomialCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                String next = cursor;
+                do {
+                    PolynomialPage page = polynomialService.getPolynomialPage(next, pageSize);
+                    for (PolynomialDTO item : page.getItems()) {
+                        generator.writeObject(item);
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                    next = page.getNextCursor();
+                } while (next != null);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @GetMapping("/polynomials/solution")
+    public ResponseEntity<PolynomialSolution> getSolution(@RequestParam String expression) {
+        return polynomialService.findSolution(expression)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
+    }
+
+    // Évaluation en N points réels ou complexes d'un polynôme stocké (id), d'une expression ou de coefficients
+    @PostMapping("/polynomials/evaluate")
+    public ResponseEntity<Object> evaluatePolynomial(@RequestBody PolynomialEvaluationRequest request) {
+        try {
+            PolynomialEvaluation evaluation;
+            if (request.getId() != null) {
+                Optional<Polynomial> stored = polynomialService.getPolynomialById(request.getId());
+                if (stored.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Polynomial not found.");
+                }
+                evaluation = polynomialSolverService.evaluate(stored.get().getSimplifiedExpression(),
+                        request.getRe(), request.getIm());
+            } else if (request.getExpression() != null) {
+                evaluation = polynomialSolverService.evaluate(request.getExpression(), request.getRe(), request.getIm());
+            } else if (request.getCoefficients() != null) {
+                evaluation = polynomialSolverService.evaluateDescending(request.getCoefficients(),
+                        request.getRe(), request.getIm());
+            } else {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Polynomial id, expression or coefficients is required.");
+            }
+            return ResponseEntity.ok(evaluation);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/polynomials/{id}")
     public ResponseEntity<Polynomial> getPolynomialById(@PathVariable Long id) {
         Optional<Polynomial> polynomial = polynomialService.getPolynomialById(id);
@@ -98,17 +318,12 @@ public class PolynomialController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         }
 
-        List<Polynomial> polynomials = polynomialService.getPolynomialsByUserId(userId);
+        List<PolynomialDTO> polynomialDTOs = polynomialService.getPolynomialsByUserId(userId);
 
-        if (polynomials.isEmpty()) {
+        if (polynomialDTOs.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body(null);
         }
 
-        // Convertir les polynômes en DTO
-        List<PolynomialDTO> polynomialDTOs = polynomials.stream()
-                .map(PolynomialDTO::new)
-                .collect(Collectors.toList());
-
         return ResponseEntity.ok(polynomialDTOs);
     }
 
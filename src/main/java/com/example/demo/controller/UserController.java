@@ -1,27 +1,15 @@
 package com.example.demo.controller;
 
 import java.security.SecureRandom;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
-import org.springframework.security.oauth2.jwt.JwsHeader;
-import org.springframework.security.oauth2.jwt.JwtClaimsSet;
-import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -35,10 +23,13 @@ import org.springframework.web.bind.annotation.RestController;
 import com.example.demo.entity.Admin;
 import com.example.demo.entity.Calculator;
 import com.example.demo.entity.User;
+import com.example.demo.security.AuthenticationService;
+import com.example.demo.security.AuthenticationService.LoginResult;
+import com.example.demo.security.TokenService;
+import com.example.demo.security.TokenService.TokenPair;
 import com.example.demo.service.EmailService;
 import com.example.demo.service.UserService;
-
-import jakarta.mail.MessagingException;
+import com.example.demo.service.UserService.SaveResult;
 
 @RestController
 @RequestMapping("/api/users")
@@ -49,7 +40,7 @@ public class UserController {
     @Autowired
     private EmailService emailService;
     @Autowired
-    protected BCryptPasswordEncoder bCryptPasswordEncoder;
+    protected PasswordEncoder bCryptPasswordEncoder;
  // Définition des constantes pour éviter la duplication
     private static final String USERNAME = "username";
     private static final String EMAIL = "email";
@@ -67,14 +58,6 @@ public class UserController {
         String department = (String) userMap.get("department");
         boolean isCalculator = (boolean) userMap.getOrDefault("isCalculator", false);
 
-        if (userService.findUserByUsername(username).isPresent()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Nom d'utilisateur déjà pris.");
-        }
-
-        if (userService.findUserByEmail(email).isPresent()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Email déjà utilisé.");
-        }
-
         if (isCalculator) {
             Calculator calculator = new Calculator();
             calculator.setUsername(username);
@@ -84,16 +67,13 @@ public class UserController {
             calculator.setDepartment(department);
             calculator.setVerified(false);
 
-            userService.saveCalculator(calculator);
-
-            try {
-                emailService.sendVerificationEmail(calculator.getEmail(), calculator.getUsername());
-            } catch (MessagingException e) {
-                logger.error("Erreur lors de l'envoi de l'email de vérification : {}", e.getMessage());
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body("Erreur lors de l'envoi de l'email de vérification.");
+            ResponseEntity<String> conflict = conflict(userService.saveUnique(calculator));
+            if (conflict != null) {
+                return conflict;
             }
 
+            emailService.sendVerificationEmail(calculator.getEmail(), calculator.getUsername()); // Mis en file, envoyé en arrière-plan
+
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body("Calculator enregistré avec succès. Veuillez vérifier votre e-mail.");
         } else {
@@ -104,21 +84,30 @@ public class UserController {
             user.setTelephone(telephone);
             user.setVerified(false);
 
-            userService.saveUser(user);
-
-            try {
-                emailService.sendVerificationEmail(user.getEmail(), user.getUsername());
-            } catch (MessagingException e) {
-                logger.error("Erreur lors de l'envoi de l'email de vérification : {}", e.getMessage());
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body("Erreur lors de l'envoi de l'email de vérification.");
+            ResponseEntity<String> conflict = conflict(userService.saveUnique(user));
+            if (conflict != null) {
+                return conflict;
             }
 
+            emailService.sendVerificationEmail(user.getEmail(), user.getUsername()); // Mis en file, envoyé en arrière-plan
+
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body("Utilisateur enregistré avec succès. Veuillez vérifier votre e-mail.");
         }
     }
 
+    // Les contraintes uniques arbitrent : pas de contrôle préalable, null si l'enregistrement a réussi
+    private ResponseEntity<String> conflict(SaveResult result) {
+        switch (result) {
+            case USERNAME_TAKEN:
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("Nom d'utilisateur déjà pris.");
+            case EMAIL_TAKEN:
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("Email déjà utilisé.");
+            default:
+                return null;
+        }
+    }
+
     @GetMapping("/verify")
     public ResponseEntity<String> verifyEmail(@RequestParam String email) {
         Optional<User> user = userService.findUserByEmail(email);
@@ -148,12 +137,7 @@ public class UserController {
         user.setPassword(bCryptPasswordEncoder.encode(newPassword));
         userService.saveUser(user);
 
-        try {
-            emailService.sendPasswordResetEmail(email, newPassword);
-        } catch (MessagingException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Erreur lors de l'envoi de l'email de réinitialisation.");
-        }
+        emailService.sendPasswordResetEmail(email, newPassword);
 
         return ResponseEntity.ok("Un e-mail avec votre nouveau mot de passe a été envoyé.");
     }
@@ -170,11 +154,10 @@ public class UserController {
     }
     @PostMapping("/register-admin")
     public ResponseEntity<String> registerAdmin(@RequestBody Admin admin) {
-        if (userService.findUserByUsername(admin.getUsername()).isPresent()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Nom d'utilisateur deja pris.");
+        ResponseEntity<String> conflict = conflict(userService.saveUnique(admin));
+        if (conflict != null) {
+            return conflict;
         }
-
-        userService.saveAdmin(admin);
         return ResponseEntity.status(HttpStatus.CREATED).body("Admin enregistré avec succès.");
     }
 
@@ -184,11 +167,10 @@ public class UserController {
     
     @PostMapping("/register-calculator")
     public ResponseEntity<String> registerCalculator(@RequestBody Calculator calculator) {
-        if (userService.findUserByUsername(calculator.getUsername()).isPresent()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Nom d'utilisateur déjà priis.");
+        ResponseEntity<String> conflict = conflict(userService.saveUnique(calculator));
+        if (conflict != null) {
+            return conflict;
         }
-
-        userService.saveCalculator(calculator);
         return ResponseEntity.status(HttpStatus.CREATED).body("Calculator enregistré avec succès.");
     }
     
@@ -206,19 +188,11 @@ public class UserController {
         User user = optionalUser.get();
 
         if (updates.containsKey(USERNAME)) {
-            String newUsername = (String) updates.get(USERNAME);
-            if (userService.findUserByUsername(newUsername).isPresent() && !newUsername.equals(user.getUsername())) {
-                return ResponseEntity.status(HttpStatus.CONFLICT).body("Nom d'utilisateur déjà pris.");
-            }
-            user.setUsername(newUsername);
+            user.setUsername((String) updates.get(USERNAME));
         }
 
         if (updates.containsKey(EMAIL)) {
-            String newEmail = (String) updates.get(EMAIL);
-            if (userService.findUserByEmail(newEmail).isPresent() && !newEmail.equals(user.getEmail())) {
-                return ResponseEntity.status(HttpStatus.CONFLICT).body("Email déjà utilisé.");
-            }
-            user.setEmail(newEmail);
+            user.setEmail((String) updates.get(EMAIL));
         }
 
         if (updates.containsKey(TELEPHONE)) {
@@ -230,104 +204,63 @@ public class UserController {
             user.setPassword(newPassword);
         }
 
-        userService.saveUser(user);
+        ResponseEntity<String> conflict = conflict(userService.saveUnique(user));
+        if (conflict != null) {
+            return conflict;
+        }
         return ResponseEntity.ok("Profil mis à jour avec succès.");
     }
 
     
     
     @Autowired
-    private JwtEncoder jwtEncoder;
+    private TokenService tokenService;
 
 
     
     
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private AuthenticationService authenticationService;
 
-    
-    
-    
-    @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
     @PostMapping("/login")
     public ResponseEntity<Map<String, String>> loginUser(@RequestBody User loginRequest) {
-        logger.info("Tentative de connexion pour : {}", loginRequest.getEmail());
+        logger.debug("Tentative de connexion pour : {}", loginRequest.getEmail());
 
-        Optional<User> user = userService.findUserByEmail(loginRequest.getEmail());
-
-        if (user.isPresent()) {
-            logger.info("Utilisateur trouvé : {}", user.get().getEmail());
-            logger.info("Mot de passe stocké (encodé) : {}", user.get().getPassword());
+        LoginResult<User> result = authenticationService.authenticate(
+                loginRequest.getEmail(), loginRequest.getPassword(), userService::findUserForLogin);
 
-            if (!user.get().isVerified()) {
-                logger.warn("Utilisateur non vérifié !");
+        switch (result.getStatus()) {
+            case NOT_FOUND:
+                logger.debug("Utilisateur introuvable pour l'email : {}", loginRequest.getEmail());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of(MESSAGE_KEY, "Nom d'utilisateur ou mot de passe incorrect."));
+            case NOT_VERIFIED:
+                logger.debug("Utilisateur non vérifié : {}", loginRequest.getEmail());
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(Map.of(MESSAGE_KEY, "Veuillez vérifier votre e-mail."));
-            }
-
-            boolean passwordMatches = passwordEncoder.matches(loginRequest.getPassword(), user.get().getPassword());
-            logger.info("Mot de passe correspond : {}", passwordMatches);
-
-            if (!passwordMatches) {
+            case BAD_CREDENTIALS:
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of(MESSAGE_KEY, "Mot de passe incorrect."));
-            }
-
-            // Extraction de la logique d'authentification et de génération du JWT
-            return authenticateAndGenerateToken(loginRequest.getEmail(), loginRequest.getPassword(), user.get());
-        } else {
-            logger.warn("Utilisateur introuvable pour l'email : {}", loginRequest.getEmail());
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of(MESSAGE_KEY, "Nom d'utilisateur ou mot de passe incorrect."));
+            default:
+                return generateTokens(result);
         }
     }
 
-    
-    
-    
-    
-    
-    
-    
-    
-    // Méthode séparée pour l'authentification et la génération du token JWT
-    private ResponseEntity<Map<String, String>> authenticateAndGenerateToken(String email, String password, User user) {
+    // Méthode séparée pour la génération des jetons, une fois le mot de passe vérifié
+    private ResponseEntity<Map<String, String>> generateTokens(LoginResult<User> result) {
+        User user = result.getUser();
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(email, password)
-            );
-            logger.info("Authentification réussie pour : {}", email);
-
-            Instant instant = Instant.now();
-
-            List<String> roles = authentication.getAuthorities().stream()
-                    .map(authority -> authority.getAuthority().replace("ROLE_", ""))
-                    .collect(Collectors.toList());
-            logger.info("Rôles de l'utilisateur : {}", roles);
-
-            Long userId = user.getId();
-
-            JwtClaimsSet jwtClaimsSet = JwtClaimsSet.builder()
-                    .subject(user.getEmail())
-                    .issuedAt(instant)
-                    .expiresAt(instant.plus(100, ChronoUnit.DAYS))
-                    .claim("scope", roles)
-                    .claim("id", userId)
-                    .build();
-
-            JwtEncoderParameters jwtEncoderParameters = JwtEncoderParameters.from(
-                    JwsHeader.with(MacAlgorithm.HS512).build(),
-                    jwtClaimsSet
-            );
+            logger.debug("Authentification réussie pour : {}", user.getEmail());
 
-            String jwt = jwtEncoder.encode(jwtEncoderParameters).getTokenValue();
-            logger.info("JWT généré avec succès : {}", jwt);
+            TokenPair tokens = tokenService.issue(user.getId(), user.getEmail(), result.getAuthorities());
+            logger.debug("Rôles de l'utilisateur : {}", tokens.getRoles());
 
             return ResponseEntity.ok(Map.of(
-                    "token", jwt,
-                    "userId", String.valueOf(userId),
-                    "scope", String.join(",", roles)
+                    "token", tokens.getAccessToken(),
+                    "refreshToken", tokens.getRefreshToken(),
+                    "expiresIn", String.valueOf(tokens.getExpiresIn()),
+                    "userId", String.valueOf(user.getId()),
+                    "scope", String.join(",", tokens.getRoles())
             ));
         } catch (Exception e) {
             logger.error("Erreur lors de l'authentification : {}", e.getMessage());
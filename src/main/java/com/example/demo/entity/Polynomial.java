@@ -3,29 +3,48 @@ package com.example.demo.entity;
 import java.util.List;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
+@Table(name = "polynomial",
+        uniqueConstraints = @UniqueConstraint(name = "uk_polynomial_user_fingerprint", columnNames = {"user_id", "fingerprint"}),
+        indexes = {
+                @Index(name = "idx_polynomial_user_id", columnList = "user_id"), // (user_id, id) : liste par utilisateur triée sans tri supplémentaire
+                @Index(name = "idx_polynomial_simplified_expression", columnList = "simplifiedExpression")
+        })
 public class Polynomial {
     
+    // Séquence avec optimiseur pooled (table polynomial_seq sous MySQL) : contrairement à IDENTITY,
+    // l'id est connu avant l'INSERT, ce qui laisse Hibernate regrouper les inserts par lot.
+    // allocationSize aligné sur hibernate.jdbc.batch_size : un aller-retour de séquence par lot.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "polynomial_seq")
+    @SequenceGenerator(name = "polynomial_seq", sequenceName = "polynomial_seq", allocationSize = 50)
     private Long id;
     
     private String simplifiedExpression;
     private String factoredExpression;
-    @Column(name = "roots", length = 10000)  // Longueur maximale définie
-
-    private List<String> roots;
+    @Lob
+    @Convert(converter = RootListConverter.class)
+    @Column(name = "root_data", length = 65_535) // Racines typées, encodage binaire compact (20 octets par racine) ; BLOB sous MySQL
+    private List<Root> roots;
     @ManyToOne(fetch = FetchType.LAZY) // Relation avec l'entité User
     @JoinColumn(name = "user_id") // Nom de la colonne de clé étrangère
     private User user;
+    @Column(name = "fingerprint", length = 64) // Empreinte SHA-256 pour la déduplication
+    private String fingerprint;
     // Getters et Setters
     public Long getId() {
         return id;
@@ -39,7 +58,7 @@ public class Polynomial {
 		this.user = user;
 	}
 public Polynomial() {}
-	public Polynomial(Long id, String simplifiedExpression, String factoredExpression, List<String> roots, User user) {
+	public Polynomial(Long id, String simplifiedExpression, String factoredExpression, List<Root> roots, User user) {
 		super();
 		this.id = id;
 		this.simplifiedExpression = simplifiedExpression;
@@ -68,11 +87,19 @@ public Polynomial() {}
         this.factoredExpression = factoredExpression;
     }
 
-    public List<String> getRoots() {
+    public List<Root> getRoots() {
         return roots;
     }
 
-    public void setRoots(List<String> roots) {
+    public void setRoots(List<Root> roots) {
         this.roots = roots;
     }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
 }
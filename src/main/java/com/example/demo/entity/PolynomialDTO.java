@@ -1,15 +1,23 @@
 package com.example.demo.entity;
+
+import java.util.List;
+
 public class PolynomialDTO {
     private Long id;
     private String simplifiedExpression;
     private String factoredExpression;
-    private String roots; // Utiliser une seule chaîne pour éviter les erreurs
+    private List<Root> roots;
 
     public PolynomialDTO(Polynomial polynomial) {
-        this.id = polynomial.getId();
-        this.simplifiedExpression = polynomial.getSimplifiedExpression();
-        this.factoredExpression = polynomial.getFactoredExpression();
-        this.roots = polynomial.getRoots() != null ? polynomial.getRoots().toString() : "[]"; // Transformer roots en chaîne
+        this(polynomial.getId(), polynomial.getSimplifiedExpression(), polynomial.getFactoredExpression(), polynomial.getRoots());
+    }
+
+    // Utilisé par les projections JPQL : aucune entité n'est chargée ni suivie par le contexte de persistance
+    public PolynomialDTO(Long id, String simplifiedExpression, String factoredExpression, List<Root> roots) {
+        this.id = id;
+        this.simplifiedExpression = simplifiedExpression;
+        this.factoredExpression = factoredExpression;
+        this.roots = roots != null ? roots : List.of();
     }
 
     public Long getId() {
@@ -24,7 +32,7 @@ public class PolynomialDTO {
         return factoredExpression;
     }
 
-    public String getRoots() {
+    public List<Root> getRoots() {
         return roots;
     }
 }
@@ -0,0 +1,37 @@
+package com.example.demo.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Valeurs du polynôme aux points demandés, en colonnes : {"re": [...], "im": [...]}.
+ * Deux tableaux de nombres plutôt qu'un objet par point ; im est omis pour des points réels.
+ */
+public class PolynomialEvaluation {
+
+    private final String simplifiedExpression;
+    private final double[] re;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final double[] im;
+
+    public PolynomialEvaluation(String simplifiedExpression, double[] re, double[] im) {
+        this.simplifiedExpression = simplifiedExpression;
+        this.re = re;
+        this.im = im;
+    }
+
+    public String getSimplifiedExpression() {
+        return simplifiedExpression;
+    }
+
+    public int getCount() {
+        return re.length;
+    }
+
+    public double[] getRe() {
+        return re;
+    }
+
+    public double[] getIm() {
+        return im;
+    }
+}
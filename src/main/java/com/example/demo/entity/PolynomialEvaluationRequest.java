@@ -0,0 +1,55 @@
+package com.example.demo.entity;
+
+/**
+ * Demande d'évaluation : un polynôme stocké (id), une expression ou des coefficients par degré décroissant,
+ * et les points en colonnes. im absent : points réels.
+ * Lu en tableaux de doubles primitifs par Jackson, sans liste de Double intermédiaire.
+ */
+public class PolynomialEvaluationRequest {
+
+    private Long id;
+    private String expression;
+    private double[] coefficients;
+    private double[] re;
+    private double[] im;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public void setExpression(String expression) {
+        this.expression = expression;
+    }
+
+    public double[] getCoefficients() {
+        return coefficients;
+    }
+
+    public void setCoefficients(double[] coefficients) {
+        this.coefficients = coefficients;
+    }
+
+    public double[] getRe() {
+        return re;
+    }
+
+    public void setRe(double[] re) {
+        this.re = re;
+    }
+
+    public double[] getIm() {
+        return im;
+    }
+
+    public void setIm(double[] im) {
+        this.im = im;
+    }
+}
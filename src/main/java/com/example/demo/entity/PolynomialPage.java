@@ -0,0 +1,22 @@
+package com.example.demo.entity;
+
+import java.util.List;
+
+public class PolynomialPage {
+
+    private final List<PolynomialDTO> items;
+    private final String nextCursor; // null lorsque la dernière page est atteinte
+
+    public PolynomialPage(List<PolynomialDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<PolynomialDTO> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.entity;
+
+import java.util.List;
+
+import com.example.demo.entity.PolynomialStoreResult.Status;
+
+public class PolynomialSolution {
+
+    private final String simplifiedExpression;
+    private final String factoredExpression;
+    private final List<Root> roots;
+    private Status status; // null si le résultat n'a pas été enregistré
+    private Long id;
+
+    public PolynomialSolution(String simplifiedExpression, String factoredExpression, List<Root> roots) {
+        this.simplifiedExpression = simplifiedExpression;
+        this.factoredExpression = factoredExpression;
+        this.roots = roots;
+    }
+
+    public String getSimplifiedExpression() {
+        return simplifiedExpression;
+    }
+
+    public String getFactoredExpression() {
+        return factoredExpression;
+    }
+
+    public List<Root> getRoots() {
+        return roots;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
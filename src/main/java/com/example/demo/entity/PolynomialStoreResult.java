@@ -0,0 +1,32 @@
+package com.example.demo.entity;
+
+public class PolynomialStoreResult {
+
+    public enum Status {
+        STORED,
+        DUPLICATE,
+        INVALID
+    }
+
+    private final int index;
+    private final Status status;
+    private final Long id;
+
+    public PolynomialStoreResult(int index, Status status, Long id) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
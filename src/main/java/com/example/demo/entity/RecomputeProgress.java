@@ -0,0 +1,69 @@
+package com.example.demo.entity;
+
+import java.time.Instant;
+
+/**
+ * Avancement du recalcul des racines, lu depuis le point de reprise.
+ * rowsPerSecond et etaSeconds sont null tant qu'aucun débit n'a pu être mesuré.
+ */
+public class RecomputeProgress {
+
+    private final String status; // IDLE, RUNNING, PAUSED, COMPLETED, FAILED, INTERRUPTED (bail expiré)
+    private final long lastId;
+    private final long processed;
+    private final long failed;
+    private final long total;
+    private final Instant startedAt;
+    private final Instant updatedAt;
+    private final Double rowsPerSecond;
+    private final Long etaSeconds;
+
+    public RecomputeProgress(String status, long lastId, long processed, long failed, long total,
+                             Instant startedAt, Instant updatedAt, Double rowsPerSecond, Long etaSeconds) {
+        this.status = status;
+        this.lastId = lastId;
+        this.processed = processed;
+        this.failed = failed;
+        this.total = total;
+        this.startedAt = startedAt;
+        this.updatedAt = updatedAt;
+        this.rowsPerSecond = rowsPerSecond;
+        this.etaSeconds = etaSeconds;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.entity;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * Jeton révoqué (déconnexion ou rotation du refresh token), identifié par son jti. La ligne ne sert
+ * que jusqu'à l'expiration du jeton ; TokenRevocationList la recharge en mémoire au démarrage et
+ * purge les lignes expirées.
+ *
+ * <p>Identifiant assigné : sans Persistable, save() ferait un merge (SELECT puis UPDATE) et une
+ * deuxième révocation du même jti passerait en silence. Ici save() fait toujours un INSERT, que la
+ * clé primaire refuse si une autre instance a déjà révoqué le jeton.</p>
+ */
+@Entity
+@Table(name = "revoked_token", indexes = @Index(name = "idx_revoked_token_expires", columnList = "expires_at"))
+public class RevokedToken implements Persistable<String> {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String jti, Instant expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getId() {
+        return jti;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.entity;
+
+import java.util.Objects;
+
+import com.example.demo.solver.PolynomialFormatter;
+
+/**
+ * Racine complexe re + im·i avec sa multiplicité. Les racines réelles ont im = 0.
+ * Valeur immuable, sérialisée en JSON sous la forme {"re": .., "im": .., "multiplicity": ..}.
+ */
+public final class Root {
+
+    private final double re;
+    private final double im;
+    private final int multiplicity;
+
+    public Root(double re, double im, int multiplicity) {
+        if (!Double.isFinite(re) || !Double.isFinite(im)) {
+            throw new IllegalArgumentException("Root must be finite.");
+        }
+        if (multiplicity < 1) {
+            throw new IllegalArgumentException("Root multiplicity must be positive.");
+        }
+        this.re = re + 0.0; // -0.0 ramené à 0.0
+        this.im = im + 0.0;
+        this.multiplicity = multiplicity;
+    }
+
+    public Root(double re, double im) {
+        this(re, im, 1);
+    }
+
+    /**
+     * Lecture de l'ancienne forme textuelle ("2", "-1.5", "1+2i", "-i") envoyée par les clients existants.
+     * Utilisée uniquement à l'entrée de l'API, jamais sur le chemin de lecture.
+     */
+    public static Root parse(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Invalid root: null");
+        }
+        String value = text.replace(" ", "");
+        try {
+            if (!value.endsWith("i")) {
+                return new Root(Double.parseDouble(value), 0);
+            }
+            String body = value.substring(0, value.length() - 1);
+            int split = Math.max(body.lastIndexOf('+'), body.lastIndexOf('-'));
+            while (split > 0 && (body.charAt(split - 1) == 'e' || body.charAt(split - 1) == 'E')) {
+                split = Math.max(body.lastIndexOf('+', split - 1), body.lastIndexOf('-', split - 1)); // exposant
+            }
+            String real = split > 0 ? body.substring(0, split) : "0";
+            String imaginary = split > 0 ? body.substring(split) : body;
+            return new Root(Double.parseDouble(real), imaginaryCoefficient(imaginary));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid root: " + text);
+        }
+    }
+
+    private static double imaginaryCoefficient(String value) {
+        switch (value) {
+            case "", "+":
+                return 1;
+            case "-":
+                return -1;
+            default:
+                return Double.parseDouble(value);
+        }
+    }
+
+    public double getRe() {
+        return re;
+    }
+
+    public double getIm() {
+        return im;
+    }
+
+    public int getMultiplicity() {
+        return multiplicity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Root)) {
+            return false;
+        }
+        Root other = (Root) o;
+        return Double.compare(re, other.re) == 0 && Double.compare(im, other.im) == 0 && multiplicity == other.multiplicity;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(re, im, multiplicity);
+    }
+
+    @Override
+    public String toString() {
+        String value = PolynomialFormatter.formatRoot(re, im);
+        return multiplicity > 1 ? value + " (x" + multiplicity + ")" : value;
+    }
+}
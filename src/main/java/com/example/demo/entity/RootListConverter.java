@@ -0,0 +1,49 @@
+package com.example.demo.entity;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stockage binaire compact des racines : un octet de version puis, pour chaque racine,
+ * re et im en doubles IEEE-754 (big-endian) et la multiplicité sur 4 octets, soit 20 octets par racine.
+ * Aucune conversion texte à l'écriture ni à la lecture.
+ */
+@Converter
+public class RootListConverter implements AttributeConverter<List<Root>, byte[]> {
+
+    static final byte VERSION = 1;
+    static final int ROOT_BYTES = 2 * Double.BYTES + Integer.BYTES;
+
+    @Override
+    public byte[] convertToDatabaseColumn(List<Root> roots) {
+        if (roots == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 + roots.size() * ROOT_BYTES);
+        buffer.put(VERSION);
+        for (Root root : roots) {
+            buffer.putDouble(root.getRe()).putDouble(root.getIm()).putInt(root.getMultiplicity());
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public List<Root> convertToEntityAttribute(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length == 0 || data[0] != VERSION || (data.length - 1) % ROOT_BYTES != 0) {
+            throw new IllegalArgumentException("Unsupported root encoding.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data, 1, data.length - 1);
+        List<Root> roots = new ArrayList<>((data.length - 1) / ROOT_BYTES);
+        while (buffer.hasRemaining()) {
+            roots.add(new Root(buffer.getDouble(), buffer.getDouble(), buffer.getInt()));
+        }
+        return roots;
+    }
+}
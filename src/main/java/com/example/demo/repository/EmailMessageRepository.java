@@ -0,0 +1,40 @@
+package com.example.demo.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.example.demo.entity.EmailMessage;
+import com.example.demo.entity.EmailMessage.Status;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface EmailMessageRepository extends JpaRepository<EmailMessage, Long> {
+
+    // FOR UPDATE SKIP LOCKED : plusieurs instances peuvent dépiler sans se bloquer ni envoyer deux fois
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM EmailMessage m WHERE m.status IN :statuses AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt, m.id")
+    List<EmailMessage> findDueForUpdate(@Param("statuses") Collection<Status> statuses, @Param("now") Instant now, Limit limit);
+
+    // Corps vidé une fois envoyé : il peut contenir un mot de passe réinitialisé
+    @Modifying
+    @Query("UPDATE EmailMessage m SET m.status = com.example.demo.entity.EmailMessage$Status.SENT, m.sentAt = :now, " +
+           "m.attempts = m.attempts + 1, m.lastError = null, m.body = '' WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM EmailMessage m WHERE m.status IN :statuses AND m.createdAt < :before")
+    int deleteByStatusCreatedBefore(@Param("statuses") Collection<Status> statuses, @Param("before") Instant before);
+
+    long countByStatus(Status status);
+}
@@ -1,27 +1,37 @@
 package com.example.demo.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.example.demo.entity.Polynomial;
+import com.example.demo.entity.PolynomialDTO;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface PolynomialRepository extends JpaRepository<Polynomial, Long> {
 
-	@Query("SELECT p FROM Polynomial p WHERE p.simplifiedExpression = :simplifiedExpression " +
-		       "AND p.factoredExpression = :factoredExpression " +
-		       "AND p.roots = :roots " +
-		       "AND p.user.id = :userId")
-		Optional<Polynomial> findDuplicate(
-		        @Param("simplifiedExpression") String simplifiedExpression,
-		        @Param("factoredExpression") String factoredExpression,
-		        @Param("roots") List<String> roots,
-		        @Param("userId") Long userId
-		);
-
-    List<Polynomial> findByUserId(Long userId);
+	// Sonde unique sur l'index (user_id, fingerprint)
+	@Query("SELECT COUNT(p) > 0 FROM Polynomial p WHERE p.user.id = :userId AND p.fingerprint = :fingerprint")
+	boolean existsDuplicate(@Param("userId") Long userId, @Param("fingerprint") String fingerprint);
+
+	// Recherche groupée des doublons d'un lot en une seule requête
+	@Query("SELECT p.fingerprint FROM Polynomial p WHERE p.user.id = :userId AND p.fingerprint IN :fingerprints")
+	List<String> findExistingFingerprints(@Param("userId") Long userId, @Param("fingerprints") Collection<String> fingerprints);
+
+    Optional<Polynomial> findFirstBySimplifiedExpressionOrderByIdAsc(String simplifiedExpression);
+
+    // Projections DTO : seules les colonnes exposées sont lues, sans matérialiser d'entité
+    @Query("SELECT new com.example.demo.entity.PolynomialDTO(p.id, p.simplifiedExpression, p.factoredExpression, p.roots) " +
+           "FROM Polynomial p WHERE p.user.id = :userId ORDER BY p.id")
+    List<PolynomialDTO> findDTOsByUserId(@Param("userId") Long userId);
+
+    // Pagination par clé : l'index primaire sert directement "id > :afterId ORDER BY id"
+    @Query("SELECT new com.example.demo.entity.PolynomialDTO(p.id, p.simplifiedExpression, p.factoredExpression, p.roots) " +
+           "FROM Polynomial p WHERE p.id > :afterId ORDER BY p.id")
+    List<PolynomialDTO> findDTOPageAfter(@Param("afterId") Long afterId, Limit limit);
 
 }
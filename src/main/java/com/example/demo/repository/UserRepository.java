@@ -1,10 +1,35 @@
 package com.example.demo.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import com.example.demo.entity.*;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+
+    // Une seule requête, sur la table user seule (pas de jointure vers admin/calculator) : quels identifiants
+    // sont déjà pris par un autre compte. Utilisée après un refus des contraintes uniques pour nommer le conflit.
+    @Query(value = "SELECT username, email FROM user WHERE (username = :username OR email = :email) " +
+                   "AND (:excludedId IS NULL OR id <> :excludedId) LIMIT 2", nativeQuery = true)
+    List<Identity> findConflicts(@Param("username") String username, @Param("email") String email,
+                                 @Param("excludedId") Long excludedId);
+
+    interface Identity {
+        String getUsername();
+        String getEmail();
+    }
+
+    // Conditionnel sur l'ancien hash : un changement de mot de passe concurrent n'est jamais écrasé.
+    // Requête native : en JPQL, Hibernate passe par une table temporaire à cause de l'héritage JOINED.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE user SET password = :newHash WHERE id = :id AND password = :oldHash", nativeQuery = true)
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
@@ -0,0 +1,108 @@
+package com.example.demo.security;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.entity.User;
+import com.example.demo.service.UserService;
+
+/**
+ * Authentification des trois endpoints de login (User, Calculator, Admin). Chaque tentative fait une
+ * seule recherche de l'utilisateur et une seule vérification du hash. Avant, le contrôleur appelait
+ * passwordEncoder.matches, puis l'AuthenticationManager rechargeait l'utilisateur et relançait BCrypt.
+ * Un email inconnu coûte aussi une vérification, sur un hash factice : la durée de la réponse ne révèle
+ * pas si le compte existe. Après un login réussi, un hash que l'encodeur juge dépassé (ancien algorithme
+ * ou coût BCrypt plus faible que celui calibré) est recalculé avec le mot de passe en clair et enregistré.
+ */
+@Service
+public class AuthenticationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticationService.class);
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserService userService;
+
+    private volatile String dummyHash;
+
+    public <T extends User> LoginResult<T> authenticate(String email, String rawPassword, Function<String, Optional<T>> finder) {
+        String password = rawPassword != null ? rawPassword : "";
+        Optional<T> found = email != null ? finder.apply(email) : Optional.empty();
+        if (found.isEmpty()) {
+            passwordEncoder.matches(password, dummyHash());
+            return new LoginResult<>(Status.NOT_FOUND, null);
+        }
+        T user = found.get();
+        if (!user.isVerified()) {
+            return new LoginResult<>(Status.NOT_VERIFIED, user);
+        }
+        if (user.getPassword() == null || !passwordEncoder.matches(password, user.getPassword())) {
+            logger.debug("Mot de passe incorrect pour : {}", email);
+            return new LoginResult<>(Status.BAD_CREDENTIALS, user);
+        }
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            rehash(user, password);
+        }
+        return new LoginResult<>(Status.SUCCESS, user);
+    }
+
+    // Un échec ici ne doit pas faire échouer le login : le hash sera refait à la prochaine connexion
+    private void rehash(User user, String password) {
+        try {
+            if (userService.rehashPassword(user, passwordEncoder.encode(password))) {
+                logger.info("Hash du mot de passe mis à niveau pour l'utilisateur {}", user.getId());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Mise à niveau du hash impossible pour l'utilisateur {} : {}", user.getId(), e.getMessage());
+        }
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode("compte-inexistant");
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    public enum Status {
+        SUCCESS,
+        NOT_FOUND,
+        NOT_VERIFIED,
+        BAD_CREDENTIALS
+    }
+
+    public static final class LoginResult<T extends User> {
+        private final Status status;
+        private final T user;
+
+        public LoginResult(Status status, T user) {
+            this.status = status;
+            this.user = user;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public T getUser() {
+            return user;
+        }
+
+        // Autorités ROLE_* dérivées du rôle, sans repasser par UserDetailsService
+        public List<GrantedAuthority> getAuthorities() {
+            return user != null ? UserPrincipalCache.authorities(user) : List.of();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.demo.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Décodeur JWT avec cache des jetons déjà vérifiés. La clé est l'empreinte SHA-256 du jeton, pas
+ * le jeton lui-même. Un jeton réutilisé n'est donc ni re-parsé ni re-signé (HS512) à chaque requête.
+ * Une entrée vit jusqu'à l'expiration du jeton, plafonnée par maxTtl. Les échecs ne sont jamais mis
+ * en cache. La révocation passe uniquement par le prédicat revokedJti (TokenRevocationList), consulté
+ * à chaque appel, y compris quand le jeton vient du cache : l'éviction d'une entrée ne peut pas la lever.
+ */
+public class CachingJwtDecoder implements JwtDecoder, Converter<Jwt, JwtAuthenticationToken>, MeterBinder {
+
+    private final JwtDecoder delegate;
+    private final Predicate<String> revokedJti;
+    private final Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+    private final Cache<String, VerifiedToken> verified;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maxSize, Duration maxTtl) {
+        this(delegate, jti -> false, maxSize, maxTtl);
+    }
+
+    public CachingJwtDecoder(JwtDecoder delegate, Predicate<String> revokedJti, long maxSize, Duration maxTtl) {
+        this(delegate, revokedJti, maxSize, maxTtl, Ticker.systemTicker());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, Predicate<String> revokedJti, long maxSize, Duration maxTtl, Ticker ticker) {
+        this.delegate = delegate;
+        this.revokedJti = revokedJti;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilExpiry<VerifiedToken>(maxTtl, token -> token.jwt.getExpiresAt()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt jwt = verify(token).jwt;
+        if (revokedJti.test(jwt.getId())) {
+            throw new BadJwtException("Token revoked");
+        }
+        return jwt;
+    }
+
+    // Convertisseur d'authentification : les autorités sont calculées une fois par jeton
+    @Override
+    public JwtAuthenticationToken convert(Jwt jwt) {
+        VerifiedToken token = verified.getIfPresent(digest(jwt.getTokenValue()));
+        Collection<GrantedAuthority> authorities = token != null ? token.authorities : authoritiesConverter.convert(jwt);
+        return new JwtAuthenticationToken(jwt, authorities, jwt.getSubject());
+    }
+
+    private VerifiedToken verify(String token) {
+        String key = digest(token);
+        VerifiedToken cached = verified.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Jwt jwt = delegate.decode(token);
+        VerifiedToken fresh = new VerifiedToken(jwt, List.copyOf(authoritiesConverter.convert(jwt)));
+        verified.put(key, fresh);
+        return fresh;
+    }
+
+    public void invalidateAll() {
+        verified.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return verified.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verified, "security.jwt");
+    }
+
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    private static final class VerifiedToken {
+        private final Jwt jwt;
+        private final Collection<GrantedAuthority> authorities;
+
+        private VerifiedToken(Jwt jwt, Collection<GrantedAuthority> authorities) {
+            this.jwt = jwt;
+            this.authorities = authorities;
+        }
+    }
+
+    // Durée de vie = temps restant avant l'expiration du jeton, plafonné ; pas d'expiration si le jeton n'en a pas
+    private static final class UntilExpiry<V> implements Expiry<String, V> {
+        private final long maxNanos;
+        private final Function<V, Instant> expiresAt;
+
+        private UntilExpiry(Duration max, Function<V, Instant> expiresAt) {
+            this.maxNanos = max.toNanos();
+            this.expiresAt = expiresAt;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, V value, long currentTime) {
+            Instant expiry = expiresAt.apply(value);
+            if (expiry == null) {
+                return maxNanos;
+            }
+            Duration remaining = Duration.between(Instant.now(), expiry);
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            return remaining.compareTo(Duration.ofNanos(maxNanos)) > 0 ? maxNanos : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
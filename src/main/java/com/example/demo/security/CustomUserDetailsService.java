@@ -1,25 +1,15 @@
 package com.example.demo.security;
 
-import com.example.demo.entity.User;
 import com.example.demo.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Optional;
-import java.util.stream.Collectors;
-
 @Service
-@Transactional
 public class CustomUserDetailsService implements UserDetailsService {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
@@ -27,20 +17,16 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    // Pas de transaction ici : un principal déjà en cache ne doit pas coûter de connexion
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        Optional<User> optionalUser = userRepository.findByEmail(email);
-
-        User user = optionalUser.orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
-        Collection<? extends GrantedAuthority> authorities =
-                Arrays.stream(user.getRole().split(","))
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))  // Direct use of the string if ROLE_PREFIX is unused elsewhere
-                        .collect(Collectors.toList());
-
-        logger.info("Utilisateur chargé : {}", user.getEmail());
-        logger.info("Rôles : {}", authorities);
-        
-        return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(), authorities);
+        return principalCache.get(email, key -> {
+            logger.debug("Chargement de l'utilisateur depuis la base : {}", key);
+            return userRepository.findByEmail(key)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        });
     }
 }
@@ -0,0 +1,123 @@
+package com.example.demo.security;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Limiteur des tentatives de login : un seau à jetons par adresse IP et un par email. Chaque seau
+ * tient dans un seul AtomicLong (algorithme GCRA, équivalent au seau à jetons) et se met à jour par
+ * CAS, sans verrou. Les entrées inactives disparaissent du cache une fois le seau de nouveau plein,
+ * et le nombre d'entrées est borné. Le refus intervient avant toute recherche d'utilisateur et tout
+ * calcul BCrypt.
+ */
+@Component
+public class LoginRateLimiter implements MeterBinder {
+
+    private final Buckets byIp;
+    private final Buckets byEmail;
+
+    @Autowired
+    public LoginRateLimiter(@Value("${security.login-limit.ip.capacity:20}") int ipCapacity,
+                            @Value("${security.login-limit.ip.refill-period:PT3S}") Duration ipRefill,
+                            @Value("${security.login-limit.email.capacity:5}") int emailCapacity,
+                            @Value("${security.login-limit.email.refill-period:PT1M}") Duration emailRefill,
+                            @Value("${security.login-limit.max-keys:100000}") long maxKeys) {
+        this(ipCapacity, ipRefill, emailCapacity, emailRefill, maxKeys, System::nanoTime);
+    }
+
+    LoginRateLimiter(int ipCapacity, Duration ipRefill, int emailCapacity, Duration emailRefill, long maxKeys,
+                     LongSupplier nanoTime) {
+        this.byIp = new Buckets(ipCapacity, ipRefill, maxKeys, nanoTime);
+        this.byEmail = new Buckets(emailCapacity, emailRefill, maxKeys, nanoTime);
+    }
+
+    /**
+     * Consomme un jeton pour l'IP puis pour l'email (s'il est connu). Renvoie le délai avant la
+     * prochaine tentative possible si l'un des deux seaux est vide.
+     */
+    public Optional<Duration> tryAcquire(String ip, String email) {
+        long wait = byIp.tryAcquire(ip);
+        if (wait == 0 && email != null && !email.isBlank()) {
+            wait = byEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+        }
+        return wait == 0 ? Optional.empty() : Optional.of(Duration.ofNanos(wait));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        byIp.bindTo(registry, "ip");
+        byEmail.bindTo(registry, "email");
+    }
+
+    private static final class Buckets {
+        private final long interval;   // durée de recharge d'un jeton
+        private final long tolerance;  // rafale admise : (capacité - 1) intervalles
+        private final LongSupplier nanoTime;
+        private final Cache<String, AtomicLong> arrivals;
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private Buckets(int capacity, Duration refill, long maxKeys, LongSupplier nanoTime) {
+            this.interval = refill.toNanos();
+            this.tolerance = interval * (Math.max(capacity, 1) - 1);
+            this.nanoTime = nanoTime;
+            // Un seau inactif pendant capacité × recharge est de nouveau plein : inutile de le garder
+            this.arrivals = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(interval + tolerance, TimeUnit.NANOSECONDS)
+                    .ticker(nanoTime::getAsLong)
+                    .build();
+        }
+
+        // 0 si accepté, sinon nanosecondes à attendre
+        private long tryAcquire(String key) {
+            long now = nanoTime.getAsLong();
+            AtomicLong theoreticalArrival = arrivals.get(key, k -> new AtomicLong(now - interval - tolerance));
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long next = Math.max(tat, now) + interval;
+                long excess = next - now - interval - tolerance;
+                if (excess > 0) {
+                    rejected.increment();
+                    return excess;
+                }
+                if (theoreticalArrival.compareAndSet(tat, next)) {
+                    allowed.increment();
+                    return 0;
+                }
+            }
+        }
+
+        private void bindTo(MeterRegistry registry, String scope) {
+            FunctionCounter.builder("security.login.attempts", allowed, LongAdder::sum)
+                    .description("Tentatives de login admises par le limiteur")
+                    .tags("scope", scope, "result", "allowed")
+                    .register(registry);
+            FunctionCounter.builder("security.login.attempts", rejected, LongAdder::sum)
+                    .description("Tentatives de login refusées (429) par le limiteur")
+                    .tags("scope", scope, "result", "rejected")
+                    .register(registry);
+            Gauge.builder("security.login.tracked", arrivals, Cache::estimatedSize)
+                    .description("Clés suivies par le limiteur de login")
+                    .tags("scope", scope)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.demo.security;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Construction de l'encodeur de mots de passe. Les hash sont préfixés par leur algorithme
+ * ({bcrypt}, {pbkdf2}, {argon2}). Les anciens hash BCrypt sans préfixe restent acceptés.
+ * upgradeEncoding signale un hash fait avec un autre algorithme ou un coût BCrypt plus faible ;
+ * AuthenticationService le refait alors au login suivant.
+ */
+final class PasswordHashing {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashing.class);
+
+    static final String BCRYPT = "bcrypt";
+    static final String PBKDF2 = "pbkdf2";
+    static final String ARGON2 = "argon2";
+
+    // Coût de référence mesuré : assez rapide pour le démarrage, assez lent pour être mesurable
+    private static final int PROBE_STRENGTH = 6;
+    private static final int PROBE_RUNS = 3;
+
+    private PasswordHashing() {
+    }
+
+    static PasswordEncoder encoder(String idForEncode, int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        // Argon2 repose sur BouncyCastle, absent par défaut
+        if (ClassUtils.isPresent("org.bouncycastle.crypto.params.Argon2Parameters", PasswordHashing.class.getClassLoader())) {
+            encoders.put(ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        }
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalStateException("Algorithme de hachage indisponible : " + idForEncode);
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    /**
+     * Exécute encode et matches sur un petit pool de threads plateforme. Un thread virtuel ne rend son
+     * thread porteur qu'en se bloquant : un BCrypt de 250 ms l'occuperait tout entier et retarderait
+     * les autres requêtes. Ici l'appelant attend le résultat en se garant, sans occuper de porteur.
+     * La file d'attente est bornée : au-delà de queueCapacity hachages en attente, l'appel échoue
+     * aussitôt avec PasswordHashingBusyException (503) au lieu d'accumuler requêtes et mémoire.
+     */
+    static PasswordEncoder offloaded(PasswordEncoder delegate, int threads, int queueCapacity) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        return new OffloadedPasswordEncoder(delegate, executor);
+    }
+
+    /**
+     * Plus petit coût BCrypt dont une vérification dure au moins la cible sur cette machine, borné par
+     * [min, max]. On chronomètre un coût faible puis on extrapole : chaque +1 double le temps.
+     */
+    static int calibrateBCryptStrength(Duration target, int min, int max) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        String hash = probe.encode("calibration");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_RUNS; i++) {
+            long start = System.nanoTime();
+            probe.matches("calibration", hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        int strength = strengthFor(target.toNanos(), Math.max(best, 1), min, max);
+        logger.info("Coût BCrypt calibré : {} (référence {} µs au coût {}, cible {} ms)",
+                strength, best / 1000, PROBE_STRENGTH, target.toMillis());
+        return strength;
+    }
+
+    static int strengthFor(long targetNanos, long probeNanos, int min, int max) {
+        int strength = PROBE_STRENGTH;
+        long estimate = probeNanos;
+        while (estimate < targetNanos && strength < max) {
+            strength++;
+            estimate *= 2;
+        }
+        return Math.max(min, Math.min(max, strength));
+    }
+
+    private static final class OffloadedPasswordEncoder implements PasswordEncoder {
+
+        private final PasswordEncoder delegate;
+        private final ExecutorService executor;
+
+        OffloadedPasswordEncoder(PasswordEncoder delegate, ExecutorService executor) {
+            this.delegate = delegate;
+            this.executor = executor;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return await(() -> delegate.encode(rawPassword));
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return await(() -> delegate.matches(rawPassword, encodedPassword));
+        }
+
+        // Simple lecture du préfixe et du coût : reste sur le thread appelant
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+
+        private <T> T await(Supplier<T> call) {
+            try {
+                return CompletableFuture.supplyAsync(call, executor).join();
+            } catch (RejectedExecutionException e) {
+                throw new PasswordHashingBusyException();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+    }
+}
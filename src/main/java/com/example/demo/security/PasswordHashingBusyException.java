@@ -0,0 +1,12 @@
+package com.example.demo.security;
+
+/**
+ * File du pool de hachage pleine : la requête est refusée tout de suite plutôt que mise en attente.
+ * Traduite en 503 avec Retry-After par PasswordHashingExceptionHandler.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Password hashing queue is full");
+    }
+}
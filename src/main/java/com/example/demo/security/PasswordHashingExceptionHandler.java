@@ -0,0 +1,26 @@
+package com.example.demo.security;
+
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Login, inscription ou réinitialisation pendant une saturation du pool de hachage : 503 et Retry-After,
+ * comme le refus de LoginRateLimitFilter, au lieu d'une erreur 500.
+ */
+@RestControllerAdvice
+public class PasswordHashingExceptionHandler {
+
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, String>> handleBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(Map.of("message", "Serveur occupé. Réessayez dans un instant."));
+    }
+}
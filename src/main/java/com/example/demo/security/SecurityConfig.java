@@ -1,9 +1,17 @@
 package com.example.demo.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -12,20 +20,17 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
-import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -36,6 +41,50 @@ public class SecurityConfig {
     @Value("${jwt.secret}")
     private String secretKey;
 
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${security.password.algorithm:bcrypt}")
+    private String passwordAlgorithm;
+
+    @Value("${security.password.bcrypt-strength:0}")
+    private int bcryptStrength;
+
+    @Value("${security.password.target-time:PT0.25S}")
+    private Duration passwordTargetTime;
+
+    @Value("${security.password.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${security.password.max-strength:14}")
+    private int bcryptMaxStrength;
+
+    // Pool de hachage en mode threads virtuels ; 0 = un thread par cœur
+    @Value("${security.password.hash-threads:0}")
+    private int passwordHashThreads;
+
+    // Hachages en attente par thread du pool ; au-delà, 503 immédiat
+    @Value("${security.password.hash-queue-per-thread:16}")
+    private int passwordHashQueuePerThread;
+
+    @Value("${security.jwt-cache.max-size:10000}")
+    private long jwtCacheMaxSize;
+
+    @Value("${security.jwt-cache.max-ttl:PT1H}")
+    private Duration jwtCacheMaxTtl;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity httpSecurity) throws Exception {
         return httpSecurity
@@ -46,10 +95,17 @@ public class SecurityConfig {
                         .requestMatchers("/api/users/register" ,"/api/users/verify","/api/users/forgot-password",
                                 "/api/users/register-admin","/api/users/register-calculator",
                                 "/api/calculators/login","/api/calculators/register","/api/calculators/verify",
-                                "/api/calculators/forgot-password","/api/admins/register","/api/admins/register","/api/store-polynomial", "/api/users/**","/api/calculators/**").permitAll()
+                                "/api/calculators/forgot-password","/api/admins/register","/api/admins/register","/api/store-polynomial", "/api/store-polynomials", "/api/compute-polynomial", "/api/users/**","/api/calculators/**",
+                                "/api/auth/refresh").permitAll()
+                        // Tâches d'administration : rôle ADMIN porté par le claim scope du jeton
+                        .requestMatchers("/api/admins/recompute-roots").hasAuthority("SCOPE_ADMIN")
+                        // Sondes et scrape Prometheus, servis sur le port de management (management.server.port)
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
                         .anyRequest().authenticated()
                 )
-                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(jwtDecoder())))
+                // Limiteur de login avant tout traitement : un refus ne coûte ni requête SQL ni BCrypt
+                .addFilterBefore(new LoginRateLimitFilter(loginRateLimiter, objectMapper), BearerTokenAuthenticationFilter.class)
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(jwtDecoder()).jwtAuthenticationConverter(jwtDecoder())))
                 .build();
     }
 
@@ -68,13 +124,15 @@ public class SecurityConfig {
     @Bean
     public JwtEncoder jwtEncoder() {
 
-        return new NimbusJwtEncoder(new ImmutableSecret<>(secretKey.getBytes()));
+        return SecurityMetrics.timedJwtEncoder(new NimbusJwtEncoder(new ImmutableSecret<>(secretKey.getBytes())), meterRegistry);
     }
 
+    // Les jetons déjà vérifiés sont servis depuis le cache (voir CachingJwtDecoder) ; seuls les
+    // access tokens sont acceptés, et leur jti est contrôlé contre la liste de révocation
     @Bean
-    public JwtDecoder jwtDecoder() {
-        SecretKeySpec secretKeySpec = new SecretKeySpec(secretKey.getBytes(), "HmacSHA512");
-        return NimbusJwtDecoder.withSecretKey(secretKeySpec).macAlgorithm(MacAlgorithm.HS512).build();
+    public CachingJwtDecoder jwtDecoder() {
+        JwtDecoder nimbus = SecurityMetrics.timedJwtDecoder(TokenService.decoder(secretKey, TokenService.ACCESS), meterRegistry);
+        return new CachingJwtDecoder(nimbus, revocationList::isRevoked, jwtCacheMaxSize, jwtCacheMaxTtl);
     }
 
     @Bean
@@ -85,8 +143,16 @@ public class SecurityConfig {
         return new ProviderManager(daoAuthenticationProvider);
     }
 
+    // Coût BCrypt fixé par security.password.bcrypt-strength, sinon calibré au démarrage sur la cible
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder() {
+        int strength = bcryptStrength > 0 ? bcryptStrength
+                : PasswordHashing.calibrateBCryptStrength(passwordTargetTime, bcryptMinStrength, bcryptMaxStrength);
+        PasswordEncoder encoder = PasswordHashing.encoder(passwordAlgorithm, strength);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            int threads = passwordHashThreads > 0 ? passwordHashThreads : Runtime.getRuntime().availableProcessors();
+            encoder = PasswordHashing.offloaded(encoder, threads, threads * passwordHashQueuePerThread);
+        }
+        return SecurityMetrics.timedPasswordEncoder(encoder, meterRegistry);
     }
 }
@@ -0,0 +1,84 @@
+package com.example.demo.security;
+
+import java.util.function.Supplier;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Décorateurs chronométrés des primitives coûteuses de la sécurité : hash de mot de passe
+ * (security.password.hash) et signature/vérification des JWT (security.jwt.encode, security.jwt.verify).
+ * Une fabrique nommée par type : JwtEncoder et JwtDecoder sont fonctionnels, des surcharges timed(...) seraient ambiguës.
+ * Le tag outcome distingue les appels réussis des exceptions ; un mot de passe incorrect est un succès.
+ */
+final class SecurityMetrics {
+
+    static final String PASSWORD_TIMER = "security.password.hash";
+    static final String JWT_ENCODE_TIMER = "security.jwt.encode";
+    static final String JWT_VERIFY_TIMER = "security.jwt.verify";
+
+    private SecurityMetrics() {
+    }
+
+    static PasswordEncoder timedPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry) {
+        return new TimedPasswordEncoder(delegate, registry);
+    }
+
+    static JwtEncoder timedJwtEncoder(JwtEncoder delegate, MeterRegistry registry) {
+        return parameters -> record(registry, JWT_ENCODE_TIMER, "Signature des JWT", () -> delegate.encode(parameters));
+    }
+
+    // À placer sous CachingJwtDecoder : seules les vérifications réelles (défauts de cache) sont mesurées
+    static JwtDecoder timedJwtDecoder(JwtDecoder delegate, MeterRegistry registry) {
+        return token -> record(registry, JWT_VERIFY_TIMER, "Vérification de signature des JWT", () -> delegate.decode(token));
+    }
+
+    private static <T> T record(MeterRegistry registry, String name, String description, Supplier<T> call, String... tags) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .description(description)
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    private static final class TimedPasswordEncoder implements PasswordEncoder {
+
+        private final PasswordEncoder delegate;
+        private final MeterRegistry registry;
+
+        TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry) {
+            this.delegate = delegate;
+            this.registry = registry;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return record(registry, PASSWORD_TIMER, "Hash des mots de passe", () -> delegate.encode(rawPassword),
+                    "operation", "encode");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return record(registry, PASSWORD_TIMER, "Hash des mots de passe", () -> delegate.matches(rawPassword, encodedPassword),
+                    "operation", "matches");
+        }
+
+        // Simple lecture du préfixe et du coût : non chronométré
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+    }
+}
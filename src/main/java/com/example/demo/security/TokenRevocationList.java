@@ -0,0 +1,167 @@
+package com.example.demo.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.entity.RevokedToken;
+import com.example.demo.repository.RevokedTokenRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Liste des jti révoqués, consultée à chaque requête authentifiée. Un filtre de Bloom écarte en O(1)
+ * la quasi-totalité des jetons valides ; seuls ses faux positifs passent par l'ensemble exact.
+ * Chaque révocation est écrite en base (revoked_token). Le contenu est rechargé au démarrage puis
+ * périodiquement, ce qui propage aussi les révocations faites par les autres instances. Seuls les
+ * jetons non expirés sont conservés.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository repository;
+    private final int expectedTokens;
+    private volatile Snapshot snapshot;
+
+    public TokenRevocationList(RevokedTokenRepository repository,
+                               @Value("${security.revocation.expected-tokens:100000}") int expectedTokens) {
+        this.repository = repository;
+        this.expectedTokens = expectedTokens;
+        this.snapshot = new Snapshot(expectedTokens);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        return current.bloom.mightContain(jti) && current.exact.containsKey(jti);
+    }
+
+    // Effet immédiat sur cette instance, puis persistance pour les redémarrages et les autres instances.
+    // Renvoie false si le jti était déjà révoqué (refresh token rejoué), y compris par une autre instance
+    // dont la révocation n'est pas encore rechargée ici : l'INSERT est alors refusé par la clé primaire.
+    public boolean revoke(String jti, Instant expiresAt) {
+        if (!snapshot.add(jti, expiresAt)) {
+            return false;
+        }
+        try {
+            repository.saveAndFlush(new RevokedToken(jti, expiresAt));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return snapshot.exact.size();
+    }
+
+    // Reconstruit le filtre (qui ne sait pas retirer d'élément) sans les jetons expirés
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${security.revocation.reload-interval:PT5M}",
+               initialDelayString = "${security.revocation.reload-interval:PT5M}")
+    public void reload() {
+        Instant now = Instant.now();
+        int purged = repository.deleteExpired(now);
+        List<RevokedToken> rows = repository.findByExpiresAtAfter(now);
+        Snapshot previous = snapshot;
+        Snapshot fresh = new Snapshot(Math.max(expectedTokens, 2 * (rows.size() + previous.exact.size())));
+        for (RevokedToken row : rows) {
+            fresh.add(row.getJti(), row.getExpiresAt());
+        }
+        // Révocations locales faites pendant le rechargement : pas forcément visibles dans la requête ci-dessus
+        for (Map.Entry<String, Instant> entry : previous.exact.entrySet()) {
+            if (entry.getValue().isAfter(now)) {
+                fresh.add(entry.getKey(), entry.getValue());
+            }
+        }
+        snapshot = fresh;
+        logger.debug("Jetons révoqués chargés : {}, expirés purgés : {}", fresh.exact.size(), purged);
+    }
+
+    private static final class Snapshot {
+        private final BloomFilter bloom;
+        private final Map<String, Instant> exact = new ConcurrentHashMap<>();
+
+        private Snapshot(int expected) {
+            this.bloom = new BloomFilter(expected, FALSE_POSITIVE_RATE);
+        }
+
+        private boolean add(String jti, Instant expiresAt) {
+            bloom.put(jti);
+            return exact.putIfAbsent(jti, expiresAt) == null;
+        }
+    }
+
+    // Filtre de Bloom sans verrou : double hachage (Kirsch-Mitzenmacher) sur un hash 64 bits
+    static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expected, double falsePositiveRate) {
+            int n = Math.max(expected, 1);
+            long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+            this.bitCount = 64L * words.length();
+            this.hashCount = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        }
+
+        void put(String key) {
+            long hash = hash64(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                while (((current = words.get(word)) & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                    // réessai : un autre thread a modifié le même mot
+                }
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash64(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a puis mélange final de MurmurHash3
+        private static long hash64(String key) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb93fe53ccd49L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.demo.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Émission des jetons. L'access token est court (15 min par défaut) et le refresh token long
+ * (14 jours). Les deux sont des JWT HS512 avec un jti. Le claim token_use empêche d'utiliser un
+ * refresh token comme access token, et inversement. Un refresh token ne sert qu'une fois : il est
+ * révoqué lorsqu'il est échangé contre une nouvelle paire. La déconnexion révoque les deux jetons
+ * dans TokenRevocationList.
+ */
+@Service
+public class TokenService {
+
+    public static final String TOKEN_USE = "token_use";
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    private final JwtEncoder jwtEncoder;
+    private final JwtDecoder refreshDecoder;
+    private final TokenRevocationList revocationList;
+    private final UserDetailsService userDetailsService;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+
+    public TokenService(JwtEncoder jwtEncoder, TokenRevocationList revocationList, UserDetailsService userDetailsService,
+                        @Value("${jwt.secret}") String secretKey,
+                        @Value("${security.jwt.access-ttl:PT15M}") Duration accessTtl,
+                        @Value("${security.jwt.refresh-ttl:P14D}") Duration refreshTtl) {
+        this.jwtEncoder = jwtEncoder;
+        this.refreshDecoder = decoder(secretKey, REFRESH);
+        this.revocationList = revocationList;
+        this.userDetailsService = userDetailsService;
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+    }
+
+    // Décodeur HS512 qui n'accepte que le type de jeton demandé. Les anciens jetons sans token_use
+    // restent acceptés comme access tokens jusqu'à leur expiration.
+    public static NimbusJwtDecoder decoder(String secretKey, String tokenUse) {
+        SecretKeySpec secretKeySpec = new SecretKeySpec(secretKey.getBytes(), "HmacSHA512");
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(secretKeySpec).macAlgorithm(MacAlgorithm.HS512).build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(JwtValidators.createDefault(),
+                new JwtClaimValidator<String>(TOKEN_USE, use -> tokenUse.equals(use) || (use == null && ACCESS.equals(tokenUse)))));
+        return decoder;
+    }
+
+    public static List<String> roles(Collection<? extends GrantedAuthority> authorities) {
+        return authorities.stream()
+                .map(authority -> authority.getAuthority().replace("ROLE_", ""))
+                .collect(Collectors.toList());
+    }
+
+    public TokenPair issue(Long userId, String email, Collection<? extends GrantedAuthority> authorities) {
+        Instant now = Instant.now();
+        List<String> roles = roles(authorities);
+        String accessToken = encode(JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(email)
+                .issuedAt(now)
+                .expiresAt(now.plus(accessTtl))
+                .claim(TOKEN_USE, ACCESS)
+                .claim("scope", roles)
+                .claim("id", userId)
+                .build());
+        String refreshToken = encode(JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(email)
+                .issuedAt(now)
+                .expiresAt(now.plus(refreshTtl))
+                .claim(TOKEN_USE, REFRESH)
+                .claim("id", userId)
+                .build());
+        return new TokenPair(accessToken, refreshToken, accessTtl.toSeconds(), roles);
+    }
+
+    // Rotation : l'ancien refresh token est révoqué. Les rôles sont relus (principal en cache),
+    // donc un changement de rôle s'applique au plus tard au prochain rafraîchissement.
+    // Un jeton déjà échangé sur une autre instance est refusé par la clé primaire de revoked_token.
+    public TokenPair refresh(String refreshToken) {
+        Jwt refresh = refreshDecoder.decode(refreshToken);
+        if (!revocationList.revoke(refresh.getId(), refresh.getExpiresAt())) {
+            throw new BadJwtException("Refresh token revoked");
+        }
+        UserDetails user = userDetailsService.loadUserByUsername(refresh.getSubject());
+        Number userId = refresh.getClaim("id");
+        return issue(userId != null ? userId.longValue() : null, refresh.getSubject(), user.getAuthorities());
+    }
+
+    // Révoque l'access token courant et, s'il est fourni et appartient au même utilisateur, le refresh token
+    public void logout(Jwt accessToken, String refreshToken) {
+        if (accessToken.getId() != null && accessToken.getExpiresAt() != null) {
+            revocationList.revoke(accessToken.getId(), accessToken.getExpiresAt());
+        }
+        if (refreshToken == null) {
+            return;
+        }
+        try {
+            Jwt refresh = refreshDecoder.decode(refreshToken);
+            if (refresh.getSubject() != null && refresh.getSubject().equals(accessToken.getSubject())) {
+                revocationList.revoke(refresh.getId(), refresh.getExpiresAt());
+            }
+        } catch (JwtException e) {
+            // refresh token déjà invalide : rien à révoquer
+        }
+    }
+
+    private String encode(JwtClaimsSet claims) {
+        return jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS512).build(), claims)).getTokenValue();
+    }
+
+    public static final class TokenPair {
+        private final String accessToken;
+        private final String refreshToken;
+        private final long expiresIn;
+        private final List<String> roles;
+
+        public TokenPair(String accessToken, String refreshToken, long expiresIn, List<String> roles) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+            this.expiresIn = expiresIn;
+            this.roles = roles;
+        }
+
+        public String getAccessToken() {
+            return accessToken;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        // Durée de validité de l'access token, en secondes
+        public long getExpiresIn() {
+            return expiresIn;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+    }
+}
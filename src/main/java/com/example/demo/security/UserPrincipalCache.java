@@ -0,0 +1,204 @@
+package com.example.demo.security;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.entity.Admin;
+import com.example.demo.entity.Calculator;
+import com.example.demo.entity.User;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache borné des principaux Spring Security par email. Les logins le lisent d'abord (getUser) et ne vont
+ * en base qu'en son absence ; CustomUserDetailsService le relit aussi. UserService l'invalide
+ * à chaque écriture : changement de mot de passe, vérification, changement de rôle ou suppression.
+ * On mémorise un instantané détaché de l'entité ; chaque lecture renvoie une nouvelle copie (User ou UserDetails),
+ * car le login peut modifier l'utilisateur (nouveau hash) et l'AuthenticationManager efface le mot de passe
+ * du principal une fois l'authentification terminée. Un index id → email rend l'invalidation par id directe.
+ * Le chargement depuis la base se fait hors du verrou de Caffeine : seul un futur est inséré pendant
+ * le calcul, le premier appelant le complète puis les autres l'attendent sans épingler de thread porteur.
+ */
+@Component
+public class UserPrincipalCache implements MeterBinder {
+
+    private final AsyncCache<String, Principal> loading;
+    private final Cache<String, Principal> principals;
+    private final ConcurrentMap<Long, String> emailsById = new ConcurrentHashMap<>();
+
+    public UserPrincipalCache(@Value("${security.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${security.principal-cache.ttl:PT10M}") Duration ttl) {
+        this.loading = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                // Taille ou durée dépassée : l'index suit ; les invalidations explicites le mettent à jour elles-mêmes
+                .<String, Principal>evictionListener((email, principal, cause) -> {
+                    if (principal != null && principal.id != null) {
+                        emailsById.remove(principal.id, email);
+                    }
+                })
+                .buildAsync();
+        this.principals = loading.synchronous();
+    }
+
+    // Un échec (utilisateur inconnu) retire le futur : rien n'est mis en cache
+    public UserDetails get(String email, Function<String, User> loader) {
+        CompletableFuture<Principal> created = new CompletableFuture<>();
+        CompletableFuture<Principal> pending = loading.get(email, (key, executor) -> created);
+        if (pending == created) {
+            try {
+                Principal principal = Principal.of(loader.apply(email));
+                created.complete(principal);
+                index(principal.id, email);
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return pending.join().toUserDetails();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Login : copie de l'utilisateur en cache, sinon chargée par {@code loader} (la base) puis mise en cache.
+     * Un compte en cache d'un autre type que {@code type} (login Calculator d'un simple User) est introuvable,
+     * comme dans la table de ce type.
+     */
+    public <T extends User> Optional<T> getUser(String email, Class<T> type, Function<String, Optional<T>> loader) {
+        Principal principal = principals.getIfPresent(email);
+        if (principal == null) {
+            Optional<T> loaded = loader.apply(email);
+            loaded.ifPresent(this::put);
+            return loaded;
+        }
+        return type.isInstance(principal.user) ? Optional.of(type.cast(snapshot(principal.user))) : Optional.empty();
+    }
+
+    public Optional<UserDetails> getIfPresent(String email) {
+        return Optional.ofNullable(principals.getIfPresent(email)).map(Principal::toUserDetails);
+    }
+
+    public void put(User user) {
+        if (user.getEmail() != null) {
+            principals.put(user.getEmail(), Principal.of(user));
+            index(user.getId(), user.getEmail());
+        }
+    }
+
+    // Un id n'a qu'un email : une entrée sous un ancien email est périmée
+    private void index(Long id, String email) {
+        if (id != null) {
+            String previous = emailsById.put(id, email);
+            if (previous != null && !previous.equals(email)) {
+                principals.invalidate(previous);
+            }
+        }
+    }
+
+    // L'email a pu changer : on retire aussi toute entrée portant le même id
+    public void evict(User user) {
+        if (user.getEmail() != null) {
+            principals.invalidate(user.getEmail());
+        }
+        evictById(user.getId());
+    }
+
+    public void evictById(Long id) {
+        if (id != null) {
+            String email = emailsById.remove(id);
+            if (email != null) {
+                principals.invalidate(email);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        principals.invalidateAll();
+        emailsById.clear();
+    }
+
+    public CacheStats stats() {
+        return principals.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, loading, "security.principals");
+    }
+
+    // Rôles séparés par des virgules dans User.role, préfixés ROLE_ comme l'attend Spring Security
+    static List<GrantedAuthority> authorities(User user) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (user.getRole() != null) {
+            for (String role : user.getRole().split(",")) {
+                authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+            }
+        }
+        return List.copyOf(authorities);
+    }
+
+    // Copie sans lien avec la session JPA, du même type que l'entité
+    private static User snapshot(User user) {
+        User copy;
+        if (user instanceof Calculator calculator) {
+            Calculator calculatorCopy = new Calculator();
+            calculatorCopy.setDepartment(calculator.getDepartment());
+            copy = calculatorCopy;
+        } else if (user instanceof Admin) {
+            copy = new Admin();
+        } else {
+            copy = new User();
+        }
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setEmail(user.getEmail());
+        copy.setPassword(user.getPassword());
+        copy.setTelephone(user.getTelephone());
+        copy.setVerified(user.isVerified());
+        copy.setRole(user.getRole());
+        return copy;
+    }
+
+    private static final class Principal {
+        private final Long id;
+        private final User user;
+        private final List<GrantedAuthority> authorities;
+
+        private Principal(User user, List<GrantedAuthority> authorities) {
+            this.id = user.getId();
+            this.user = user;
+            this.authorities = authorities;
+        }
+
+        static Principal of(User user) {
+            return new Principal(snapshot(user), authorities(user));
+        }
+
+        UserDetails toUserDetails() {
+            return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(), authorities);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.demo.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.entity.EmailMessage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Dépile la table outbox : réserve des lots de messages dus, les envoie sur un exécuteur borné
+ * (une connexion SMTP par lot) et planifie les échecs avec un délai exponentiel.
+ * Au-delà de email.outbox.max-attempts, le message passe en DEAD. Le corps d'un message SENT ou DEAD est vidé
+ * et la ligne supprimée après email.outbox.retention.
+ * Métriques : email.send (durée d'un lot SMTP) et email.messages{result=sent|failed}.
+ * Avec spring.threads.virtual.enabled (Java 21+), les lots partent sur des threads virtuels ;
+ * l'exécuteur garde la même borne, qui protège le serveur SMTP et le pool de connexions.
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private final EmailService emailService;
+    private final JavaMailSender mailSender;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public EmailDispatcher(EmailService emailService,
+                           JavaMailSender mailSender,
+                           @Value("${email.outbox.batch-size:20}") int batchSize,
+                           @Value("${email.outbox.threads:2}") int threads,
+                           @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+                           @Value("${email.outbox.initial-backoff:PT30S}") Duration initialBackoff,
+                           @Value("${email.outbox.max-backoff:PT1H}") Duration maxBackoff,
+                           @Value("${email.outbox.lease:PT5M}") Duration lease,
+                           @Value("${email.outbox.retention:P7D}") Duration retention,
+                           Environment environment,
+                           MeterRegistry meterRegistry) {
+        this.emailService = emailService;
+        this.mailSender = mailSender;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.retention = retention;
+        // File bornée : au plus 2 x threads lots en vol, le reste attend en base
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads), threadFactory(environment));
+        this.sendTimer = Timer.builder("email.send")
+                .description("Envoi SMTP d'un lot de l'outbox")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("email.messages").tag("result", "sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("email.messages").tag("result", "failed").register(meterRegistry);
+    }
+
+    private static ThreadFactory threadFactory(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor("email-dispatcher-").getVirtualThreadFactory();
+        }
+        return new CustomizableThreadFactory("email-dispatcher-");
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval:PT2S}")
+    public void poll() {
+        while (executor.getQueue().remainingCapacity() > 0) {
+            Instant now = Instant.now();
+            List<EmailMessage> batch = emailService.claimBatch(batchSize, now, now.plus(lease));
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                executor.execute(() -> deliver(batch));
+            } catch (RejectedExecutionException e) {
+                return; // Le bail expirera et le lot sera repris sans compter de tentative
+            }
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.purge-interval:PT1H}",
+               initialDelayString = "${email.outbox.purge-interval:PT1H}")
+    public void purge() {
+        int purged = emailService.purgeFinished(Instant.now().minus(retention));
+        logger.debug("Emails envoyés ou abandonnés purgés de l'outbox : {}", purged);
+    }
+
+    void deliver(List<EmailMessage> batch) {
+        Map<MimeMessage, EmailMessage> prepared = new LinkedHashMap<>(); // Ordre du lot conservé
+        for (EmailMessage message : batch) {
+            try {
+                prepared.put(toMimeMessage(message), message);
+            } catch (MessagingException e) {
+                fail(message, e);
+            }
+        }
+        if (prepared.isEmpty()) {
+            return;
+        }
+
+        Map<EmailMessage, Exception> failures = new IdentityHashMap<>();
+        Timer.Sample sample = Timer.start();
+        try {
+            mailSender.send(prepared.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            for (Map.Entry<Object, Exception> entry : e.getFailedMessages().entrySet()) {
+                EmailMessage message = prepared.get(entry.getKey());
+                if (message != null) {
+                    failures.put(message, entry.getValue());
+                }
+            }
+            if (failures.isEmpty()) {
+                prepared.values().forEach(message -> failures.put(message, e)); // Résultat inconnu : on préfère renvoyer que perdre
+            }
+        } catch (MailException e) {
+            prepared.values().forEach(message -> failures.put(message, e));
+        } finally {
+            sample.stop(sendTimer);
+        }
+        failures.forEach(this::fail);
+
+        List<Long> sent = new ArrayList<>(prepared.size());
+        for (EmailMessage message : prepared.values()) {
+            if (!failures.containsKey(message)) {
+                sent.add(message.getId());
+            }
+        }
+        emailService.markSent(sent, Instant.now());
+        sentCounter.increment(sent.size());
+    }
+
+    private MimeMessage toMimeMessage(EmailMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);  // 'true' pour activer le contenu HTML
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), true);
+        return mimeMessage;
+    }
+
+    private void fail(EmailMessage message, Exception error) {
+        int attempts = message.getAttempts() + 1;
+        Instant retryAt = nextAttempt(attempts, Instant.now());
+        if (retryAt == null) {
+            logger.error("Email {} abandonné après {} tentatives : {}", message.getId(), attempts, error.getMessage());
+        } else {
+            logger.warn("Échec de l'envoi de l'email {} (tentative {}), nouvel essai à {}", message.getId(), attempts, retryAt);
+        }
+        emailService.markFailed(message.getId(), error.getMessage(), retryAt);
+        failedCounter.increment();
+    }
+
+    // Délai initial x 2^(tentatives - 1), plafonné ; null quand le nombre maximal de tentatives est atteint
+    Instant nextAttempt(int attempts, Instant now) {
+        if (attempts >= maxAttempts) {
+            return null;
+        }
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return now.plus(delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -1,30 +1,39 @@
 package com.example.demo.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.example.demo.entity.EmailMessage;
+import com.example.demo.entity.EmailMessage.Status;
+import com.example.demo.repository.EmailMessageRepository;
 
+/**
+ * Mise en file des emails dans la table outbox. Aucun appel SMTP n'est fait sur le thread de la requête :
+ * EmailDispatcher réserve des lots, les envoie et enregistre le résultat via les méthodes ci-dessous.
+ */
 @Service
 public class EmailService {
 
+    private static final List<Status> DUE_STATUSES = List.of(Status.PENDING, Status.SENDING);
+    private static final List<Status> FINISHED_STATUSES = List.of(Status.SENT, Status.DEAD);
+
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailMessageRepository emailMessageRepository;
 
-    // Fonction pour envoyer un email avec du contenu HTML
-    public void sendEmail(String to, String subject, String body) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true);  // 'true' pour activer le contenu HTML
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(body, true); // 'true' pour envoyer le message en HTML
-        mailSender.send(message);
+    // Fonction pour mettre en file un email avec du contenu HTML
+    public EmailMessage sendEmail(String to, String subject, String body) {
+        return emailMessageRepository.save(new EmailMessage(to, subject, body, Instant.now()));
     }
 
     // Envoi d'un email de vérification
-    public void sendVerificationEmail(String email, String username) throws MessagingException {
+    public void sendVerificationEmail(String email, String username) {
         String subject = "Vérification de votre adresse e-mail";
         String body = "Bonjour " + username + ",<br><br>" +
                       "Veuillez vérifier votre adresse e-mail en cliquant sur le lien suivant :<br>" +
@@ -33,15 +42,62 @@ public class EmailService {
     }
 
     // Autres fonctions (login, réinitialisation du mot de passe, etc.)
-    public void sendLoginNotification(String email, String username) throws MessagingException {
+    public void sendLoginNotification(String email, String username) {
         String subject = "Notification de Connexion";
         String body = "Bonjour " + username + ",<br><br>Vous vous êtes connecté avec succès.";
         sendEmail(email, subject, body);
     }
 
-    public void sendPasswordResetEmail(String email, String newPassword) throws MessagingException {
+    public void sendPasswordResetEmail(String email, String newPassword) {
         String subject = "Réinitialisation de votre mot de passe";
         String body = "Votre mot de passe a été réinitialisé. Voici votre nouveau mot de passe : " + newPassword;
         sendEmail(email, subject, body);
     }
+
+    /**
+     * Réserve jusqu'à {@code size} messages dus. Un message SENDING dont le bail a expiré
+     * (dispatcher arrêté en cours d'envoi) redevient éligible.
+     */
+    @Transactional
+    public List<EmailMessage> claimBatch(int size, Instant now, Instant leaseUntil) {
+        List<EmailMessage> batch = emailMessageRepository.findDueForUpdate(DUE_STATUSES, now, Limit.of(size));
+        for (EmailMessage message : batch) {
+            message.setStatus(Status.SENDING);
+            message.setNextAttemptAt(leaseUntil);
+        }
+        return batch;
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> ids, Instant now) {
+        if (!ids.isEmpty()) {
+            emailMessageRepository.markSent(ids, now);
+        }
+    }
+
+    // retryAt nul : le message part en lettre morte, sans son corps (voir markSent)
+    @Transactional
+    public void markFailed(Long id, String error, Instant retryAt) {
+        Optional<EmailMessage> found = emailMessageRepository.findById(id);
+        if (found.isEmpty()) {
+            return;
+        }
+        EmailMessage message = found.get();
+        message.setAttempts(message.getAttempts() + 1);
+        message.setLastError(error != null && error.length() > EmailMessage.MAX_ERROR_LENGTH
+                ? error.substring(0, EmailMessage.MAX_ERROR_LENGTH) : error);
+        if (retryAt == null) {
+            message.setStatus(Status.DEAD);
+            message.setBody("");
+        } else {
+            message.setStatus(Status.PENDING);
+            message.setNextAttemptAt(retryAt);
+        }
+    }
+
+    // Rétention de l'outbox : les messages SENT et DEAD créés avant {@code before} sont supprimés
+    @Transactional
+    public int purgeFinished(Instant before) {
+        return emailMessageRepository.deleteByStatusCreatedBefore(FINISHED_STATUSES, before);
+    }
 }
@@ -0,0 +1,33 @@
+package com.example.demo.service;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Jeton de pagination opaque et stable : encode le dernier id renvoyé (pagination par clé).
+ */
+public final class PolynomialCursor {
+
+    private PolynomialCursor() {
+    }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(lastId).array());
+    }
+
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+        if (bytes.length != Long.BYTES) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
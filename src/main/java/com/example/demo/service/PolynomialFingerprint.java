@@ -0,0 +1,72 @@
+package com.example.demo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.example.demo.entity.Root;
+import com.example.demo.solver.PolynomialFormatter;
+
+/**
+ * Empreinte canonique d'un polynôme stocké : SHA-256 de l'expression simplifiée,
+ * de la forme factorisée et des racines triées, arrondies, plus l'id utilisateur.
+ * Elle sert de clé de déduplication (index unique user_id + fingerprint).
+ */
+public final class PolynomialFingerprint {
+
+    public static final int LENGTH = 64;
+
+    private static final char SEPARATOR = '\u001F';
+
+    private PolynomialFingerprint() {
+    }
+
+    public static String compute(String simplifiedExpression, String factoredExpression, List<Root> roots, Long userId) {
+        StringBuilder canonical = new StringBuilder(128);
+        canonical.append(userId).append(SEPARATOR)
+                .append(normalize(simplifiedExpression)).append(SEPARATOR)
+                .append(normalize(factoredExpression)).append(SEPARATOR);
+
+        if (roots != null) {
+            // Forme arrondie à l'affichage, multiplicités cumulées par valeur : [1, 1] et 1 (x2) donnent tous deux "1^2"
+            Map<String, Long> multiplicities = new TreeMap<>();
+            for (Root root : roots) {
+                multiplicities.merge(PolynomialFormatter.formatRoot(root.getRe(), root.getIm()),
+                        (long) root.getMultiplicity(), Long::sum);
+            }
+            for (Map.Entry<String, Long> root : multiplicities.entrySet()) {
+                canonical.append(root.getKey()).append('^').append(root.getValue()).append(';');
+            }
+        }
+
+        return HexFormat.of().formatHex(sha256().digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Supprime les espaces et ignore la casse : "X^2 + 1" et "x^2+1" ont la même empreinte
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
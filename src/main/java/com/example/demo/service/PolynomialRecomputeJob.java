@@ -0,0 +1,378 @@
+package com.example.demo.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.entity.PolynomialSolution;
+import com.example.demo.entity.RecomputeProgress;
+import com.example.demo.entity.RootListConverter;
+import com.example.demo.solver.PolynomialParser;
+import com.example.demo.solver.SparsePolynomial;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Recalcul des racines et de la forme factorisée de toute la table polynomial, déclenché par un admin
+ * après une évolution du solveur :
+ * <ul>
+ *   <li>lecture par tranches d'id (id > last_id ORDER BY id), sans jamais charger la table entière ;</li>
+ *   <li>résolution lot par lot (polynomial.recompute.batch-size) sur un ForkJoinPool dimensionné au nombre de cœurs ;</li>
+ *   <li>écriture du lot et avancée du point de reprise (recompute_checkpoint) dans la même transaction.</li>
+ * </ul>
+ * updated_at sert de bail, renouvelé à chaque lot : après un arrêt brutal, il expire au bout de
+ * polynomial.recompute.lease et le démarrage suivant reprend après le dernier lot validé. Chaque prise de bail
+ * inscrit un identifiant dans lease_owner ; toute écriture du point de reprise en dépend, si bien qu'une instance
+ * dont le bail a été repris s'arrête sans rien valider ni écraser le statut de la nouvelle. Une ligne illisible est comptée en échec et laissée telle quelle.
+ * L'empreinte de déduplication n'est pas recalculée : elle identifie la soumission d'origine.
+ * Les racines sont recalculées depuis simplified_expression, forme canonique sans perte depuis que le solveur
+ * la stocke telle quelle. Une ligne dont le texte n'est pas sa propre forme canonique a été écrite autrement
+ * (forme d'affichage arrondie à 6 décimales, saisie client) : elle est recalculée depuis ce texte et comptée à part.
+ * Métriques : polynomial.recompute.rows{result=updated|failed}, polynomial.recompute.non_canonical.
+ */
+@Component
+public class PolynomialRecomputeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolynomialRecomputeJob.class);
+
+    static final String JOB = "roots";
+
+    // En dessous, une sous-tranche est résolue sans nouvelle division
+    private static final int SPLIT_THRESHOLD = 16;
+
+    private static final String SELECT_CHUNK =
+            "SELECT id, simplified_expression FROM polynomial WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String UPDATE_ROW =
+            "UPDATE polynomial SET factored_expression = ?, root_data = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PolynomialSolverService solverService;
+    private final PolynomialResultCache resultCache;
+    private final int chunkSize;
+    private final int batchSize;
+    private final Duration lease;
+    private final ForkJoinPool pool;
+    private final ExecutorService coordinator;
+    private final RootListConverter rootConverter = new RootListConverter();
+    private final Counter updatedCounter;
+    private final Counter failedCounter;
+    private final Counter nonCanonicalCounter;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+    // Débit mesuré sur l'exécution locale en cours
+    private volatile long runStartedNanos;
+    private final AtomicLong runProcessed = new AtomicLong();
+    private final AtomicLong runNonCanonical = new AtomicLong();
+
+    public PolynomialRecomputeJob(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  PolynomialSolverService solverService,
+                                  PolynomialResultCache resultCache,
+                                  @Value("${polynomial.recompute.chunk-size:1000}") int chunkSize,
+                                  @Value("${polynomial.recompute.batch-size:100}") int batchSize,
+                                  @Value("${polynomial.recompute.parallelism:0}") int parallelism,
+                                  @Value("${polynomial.recompute.lease:PT2M}") Duration lease,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.solverService = solverService;
+        this.resultCache = resultCache;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        // 0 : un thread de calcul par cœur
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.coordinator = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("root-recompute-"));
+        this.updatedCounter = Counter.builder("polynomial.recompute.rows").tag("result", "updated").register(meterRegistry);
+        this.failedCounter = Counter.builder("polynomial.recompute.rows").tag("result", "failed").register(meterRegistry);
+        this.nonCanonicalCounter = Counter.builder("polynomial.recompute.non_canonical").register(meterRegistry);
+    }
+
+    /**
+     * Lance le recalcul en arrière-plan. Reprend au point de reprise si la tâche précédente n'est pas terminée,
+     * repart de zéro si elle l'est ou si restart est demandé.
+     *
+     * @return false si la tâche tourne déjà, ici ou sur une autre instance dont le bail est valide
+     */
+    public boolean start(boolean restart) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            Checkpoint checkpoint = claim(restart);
+            if (checkpoint == null) {
+                running.set(false);
+                return false;
+            }
+            coordinator.execute(() -> run(checkpoint));
+            return true;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public RecomputeProgress progress() {
+        Checkpoint checkpoint = read();
+        String status = checkpoint.status;
+        if ("RUNNING".equals(status) && !running.get() && checkpoint.updatedAt != null
+                && checkpoint.updatedAt.isBefore(Instant.now().minus(lease))) {
+            status = "INTERRUPTED"; // Instance arrêtée en cours de tâche : reprise au prochain démarrage
+        }
+        Double rowsPerSecond = null;
+        Long etaSeconds = null;
+        long done = runProcessed.get();
+        double seconds = (System.nanoTime() - runStartedNanos) / 1e9;
+        if (running.get() && done > 0 && seconds > 0) {
+            rowsPerSecond = done / seconds;
+            etaSeconds = (long) Math.ceil(Math.max(0, checkpoint.total - checkpoint.processed) / rowsPerSecond);
+        }
+        return new RecomputeProgress(status, checkpoint.lastId, checkpoint.processed, checkpoint.failed, checkpoint.total,
+                checkpoint.startedAt, checkpoint.updatedAt, rowsPerSecond, etaSeconds);
+    }
+
+    // Prise du bail par mise à jour conditionnelle : une seule instance gagne
+    private Checkpoint claim(boolean restart) {
+        Checkpoint previous = read();
+        Instant now = Instant.now();
+        String owner = UUID.randomUUID().toString();
+        int claimed = jdbcTemplate.update(
+                "UPDATE recompute_checkpoint SET status = 'RUNNING', updated_at = ?, lease_owner = ? "
+                        + "WHERE job = ? AND (status <> 'RUNNING' OR updated_at < ?)",
+                Timestamp.from(now), owner, JOB, Timestamp.from(now.minus(lease)));
+        if (claimed == 0) {
+            return null;
+        }
+
+        Checkpoint checkpoint = previous;
+        if (restart || "IDLE".equals(previous.status) || "COMPLETED".equals(previous.status)) {
+            checkpoint.lastId = 0;
+            checkpoint.processed = 0;
+            checkpoint.failed = 0;
+            checkpoint.startedAt = now;
+        } else {
+            logger.info("Reprise du recalcul des racines après l'id {} ({} lignes déjà traitées)",
+                    checkpoint.lastId, checkpoint.processed);
+        }
+        Long remaining = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM polynomial WHERE id > ?", Long.class,
+                checkpoint.lastId);
+        checkpoint.total = checkpoint.processed + (remaining != null ? remaining : 0);
+        checkpoint.status = "RUNNING";
+        checkpoint.updatedAt = now;
+        checkpoint.owner = owner;
+        int updated = jdbcTemplate.update("UPDATE recompute_checkpoint SET last_id = ?, processed = ?, failed = ?, "
+                        + "total = ?, started_at = ? WHERE job = ? AND lease_owner = ?",
+                checkpoint.lastId, checkpoint.processed, checkpoint.failed, checkpoint.total,
+                Timestamp.from(checkpoint.startedAt != null ? checkpoint.startedAt : now), JOB, owner);
+        return updated == 1 ? checkpoint : null;
+    }
+
+    private void run(Checkpoint checkpoint) {
+        runProcessed.set(0);
+        runNonCanonical.set(0);
+        runStartedNanos = System.nanoTime();
+        String outcome = "COMPLETED";
+        try {
+            while (!stopping) {
+                List<Row> rows = jdbcTemplate.query(SELECT_CHUNK,
+                        (rs, i) -> new Row(rs.getLong(1), rs.getString(2)), checkpoint.lastId, chunkSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (int from = 0; from < rows.size() && !stopping; from += batchSize) {
+                    int to = Math.min(from + batchSize, rows.size());
+                    pool.invoke(new SolveRange(rows, from, to));
+                    write(rows.subList(from, to), checkpoint);
+                }
+            }
+            if (stopping) {
+                outcome = "PAUSED";
+            }
+            logger.info("Recalcul des racines {} : {} lignes traitées, {} en échec",
+                    outcome, checkpoint.processed, checkpoint.failed);
+            if (runNonCanonical.get() > 0) {
+                logger.warn("{} lignes stockées sous une forme non canonique, recalculées depuis ce texte : "
+                        + "un coefficient arrondi à l'affichage avant stockage n'est pas récupérable", runNonCanonical.get());
+            }
+        } catch (LeaseLostException e) {
+            outcome = null;
+            logger.warn("Recalcul des racines arrêté après l'id {} : bail repris par une autre instance", checkpoint.lastId);
+        } catch (RuntimeException e) {
+            outcome = "FAILED";
+            logger.error("Recalcul des racines interrompu après l'id {} : {}", checkpoint.lastId, e.getMessage(), e);
+        } finally {
+            try {
+                if (outcome != null) {
+                    jdbcTemplate.update("UPDATE recompute_checkpoint SET status = ?, updated_at = ? "
+                            + "WHERE job = ? AND lease_owner = ?", outcome, Timestamp.from(Instant.now()), JOB,
+                            checkpoint.owner);
+                }
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+
+    // Un lot de mises à jour, l'avancée du point de reprise et le renouvellement du bail sont validés ensemble ;
+    // bail perdu : la transaction est annulée
+    private void write(List<Row> rows, Checkpoint checkpoint) {
+        List<Row> solved = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.solution != null) {
+                solved.add(row);
+            }
+        }
+        long failed = rows.size() - solved.size();
+        long lastId = rows.get(rows.size() - 1).id;
+        transactionTemplate.executeWithoutResult(status -> {
+            int renewed = jdbcTemplate.update("UPDATE recompute_checkpoint SET last_id = ?, processed = processed + ?, "
+                            + "failed = failed + ?, updated_at = ? WHERE job = ? AND lease_owner = ?",
+                    lastId, rows.size(), failed, Timestamp.from(Instant.now()), JOB, checkpoint.owner);
+            if (renewed == 0) {
+                throw new LeaseLostException();
+            }
+            jdbcTemplate.batchUpdate(UPDATE_ROW, solved, batchSize, (ps, row) -> {
+                ps.setString(1, row.solution.getFactoredExpression());
+                ps.setBytes(2, rootConverter.convertToDatabaseColumn(row.solution.getRoots()));
+                ps.setLong(3, row.id);
+            });
+        });
+
+        checkpoint.lastId = lastId;
+        checkpoint.processed += rows.size();
+        checkpoint.failed += failed;
+        runProcessed.addAndGet(rows.size());
+        for (Row row : solved) {
+            resultCache.invalidate(row.expression);
+        }
+        updatedCounter.increment(solved.size());
+        failedCounter.increment(failed);
+    }
+
+    private void solve(Row row) {
+        try {
+            double[] ascending = PolynomialParser.parse(row.expression);
+            if (!SparsePolynomial.of(ascending).canonical().equals(row.expression)) {
+                runNonCanonical.incrementAndGet();
+                nonCanonicalCounter.increment();
+            }
+            PolynomialSolution solution = solverService.solveAscending(ascending);
+            if (PolynomialService.fitsColumns(null, solution.getFactoredExpression())) {
+                row.solution = solution;
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Polynôme {} ignoré par le recalcul : {}", row.id, e.getMessage());
+        }
+    }
+
+    private Checkpoint read() {
+        return jdbcTemplate.queryForObject("SELECT status, last_id, processed, failed, total, started_at, updated_at "
+                + "FROM recompute_checkpoint WHERE job = ?", PolynomialRecomputeJob::checkpoint, JOB);
+    }
+
+    private static Checkpoint checkpoint(ResultSet rs, int rowNum) throws SQLException {
+        Checkpoint checkpoint = new Checkpoint();
+        checkpoint.status = rs.getString("status");
+        checkpoint.lastId = rs.getLong("last_id");
+        checkpoint.processed = rs.getLong("processed");
+        checkpoint.failed = rs.getLong("failed");
+        checkpoint.total = rs.getLong("total");
+        checkpoint.startedAt = instant(rs.getTimestamp("started_at"));
+        checkpoint.updatedAt = instant(rs.getTimestamp("updated_at"));
+        return checkpoint;
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true; // La tranche en cours est validée, puis la tâche passe en PAUSED
+        coordinator.shutdown();
+        coordinator.awaitTermination(30, TimeUnit.SECONDS);
+        pool.shutdown();
+    }
+
+    private static final class Checkpoint {
+        private String status;
+        private long lastId;
+        private long processed;
+        private long failed;
+        private long total;
+        private Instant startedAt;
+        private Instant updatedAt;
+        private String owner;
+    }
+
+    private static final class LeaseLostException extends RuntimeException {
+        private LeaseLostException() {
+            super("Bail du recalcul repris par une autre instance", null, false, false);
+        }
+    }
+
+    private static final class Row {
+        private final long id;
+        private final String expression;
+        private PolynomialSolution solution; // null : ligne en échec
+
+        private Row(long id, String expression) {
+            this.id = id;
+            this.expression = expression;
+        }
+    }
+
+    // Découpe récursive de la tranche en moitiés jusqu'à SPLIT_THRESHOLD lignes
+    private final class SolveRange extends RecursiveAction {
+        private final List<Row> rows;
+        private final int from;
+        private final int to;
+
+        private SolveRange(List<Row> rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    solve(rows.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SolveRange(rows, from, middle), new SolveRange(rows, middle, to));
+        }
+    }
+}
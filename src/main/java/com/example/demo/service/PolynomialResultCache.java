@@ -0,0 +1,118 @@
+package com.example.demo.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.entity.PolynomialSolution;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache borné (W-TinyLFU, taille + TTL) devant PolynomialService et PolynomialSolverService :
+ * <ul>
+ *   <li>résultats calculés par le solveur (forme factorisée, racines) par forme canonique de l'expression ;</li>
+ *   <li>résultats enregistrés par les clients, dans un cache séparé : une donnée client n'est jamais
+ *       servie comme résultat du solveur, et inversement ;</li>
+ *   <li>empreintes déjà enregistrées par utilisateur, pour répondre au contrôle de doublon sans requête.</li>
+ * </ul>
+ * Seules des présences sont mémorisées pour les empreintes : une absence est toujours vérifiée en base.
+ */
+@Component
+public class PolynomialResultCache implements MeterBinder {
+
+    private final Cache<String, PolynomialSolution> results;
+    private final Cache<String, PolynomialSolution> storedResults;
+    private final Cache<String, Boolean> storedFingerprints;
+
+    public PolynomialResultCache(@Value("${polynomial.cache.max-size:10000}") long maxSize,
+                                 @Value("${polynomial.cache.ttl:PT30M}") Duration ttl) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.storedResults = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.storedFingerprints = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // Résultat du solveur : ne dépend que de l'expression, aucune écriture ne l'invalide
+    public Optional<PolynomialSolution> getComputedSolution(String simplifiedExpression) {
+        return copyOf(results.getIfPresent(key(simplifiedExpression)));
+    }
+
+    public void putComputedSolution(String simplifiedExpression, PolynomialSolution solution) {
+        results.put(key(simplifiedExpression), copy(solution));
+    }
+
+    // Première ligne enregistrée pour l'expression, telle que fournie par le client
+    public Optional<PolynomialSolution> getStoredSolution(String simplifiedExpression) {
+        return copyOf(storedResults.getIfPresent(key(simplifiedExpression)));
+    }
+
+    public void putStoredSolution(String simplifiedExpression, PolynomialSolution solution) {
+        storedResults.put(key(simplifiedExpression), copy(solution));
+    }
+
+    public boolean isStored(Long userId, String fingerprint) {
+        return storedFingerprints.getIfPresent(userId + ":" + fingerprint) != null;
+    }
+
+    public void markStored(Long userId, String fingerprint) {
+        storedFingerprints.put(userId + ":" + fingerprint, Boolean.TRUE);
+    }
+
+    // Appelé à chaque écriture : la ligne mémorisée pour cette expression n'est plus fiable
+    public void invalidate(String simplifiedExpression) {
+        storedResults.invalidate(key(simplifiedExpression));
+    }
+
+    public void invalidateAll() {
+        results.invalidateAll();
+        storedResults.invalidateAll();
+        storedFingerprints.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return results.stats();
+    }
+
+    public CacheStats storedStats() {
+        return storedResults.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, results, "polynomial.results");
+        CaffeineCacheMetrics.monitor(registry, storedResults, "polynomial.stored-results");
+        CaffeineCacheMetrics.monitor(registry, storedFingerprints, "polynomial.fingerprints");
+    }
+
+    // Copies : le statut et l'id d'enregistrement ne doivent pas fuiter d'un appel à l'autre
+    private static Optional<PolynomialSolution> copyOf(PolynomialSolution cached) {
+        return Optional.ofNullable(cached).map(PolynomialResultCache::copy);
+    }
+
+    private static PolynomialSolution copy(PolynomialSolution solution) {
+        return new PolynomialSolution(solution.getSimplifiedExpression(), solution.getFactoredExpression(), solution.getRoots());
+    }
+
+    private static String key(String simplifiedExpression) {
+        return PolynomialFingerprint.normalize(simplifiedExpression);
+    }
+}
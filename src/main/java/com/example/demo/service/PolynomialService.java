@@ -1,45 +1,204 @@
 package com.example.demo.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import com.example.demo.entity.Polynomial;
+import com.example.demo.entity.PolynomialDTO;
+import com.example.demo.entity.PolynomialPage;
+import com.example.demo.entity.PolynomialSolution;
+import com.example.demo.entity.PolynomialStoreResult;
+import com.example.demo.entity.PolynomialStoreResult.Status;
+import com.example.demo.entity.User;
 import com.example.demo.repository.PolynomialRepository;
+import com.example.demo.solver.PolynomialParser;
 
 @Service
 public class PolynomialService {
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    // Largeur des colonnes simplified_expression et factored_expression (varchar(255), la première est indexée)
+    public static final int MAX_EXPRESSION_LENGTH = 255;
+
+    // Taille maximale d'une clause IN pour la recherche groupée des doublons
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
     @Autowired
     private PolynomialRepository polynomialRepository;
 
-    public void savePolynomial(Polynomial polynomialData) {
-        Optional<Polynomial> existingPolynomial = findDuplicatePolynomial(
-                polynomialData.getSimplifiedExpression(),
-                polynomialData.getFactoredExpression(),
-                polynomialData.getRoots(),
-                polynomialData.getUser().getId()
-        );
+    @Autowired
+    private PolynomialResultCache resultCache;
+
+    public PolynomialStoreResult savePolynomial(Polynomial polynomialData) {
+        return savePolynomials(polynomialData.getUser(), List.of(polynomialData)).get(0);
+    }
+
+    /**
+     * Enregistre un lot de polynômes pour un même utilisateur : déduplication en mémoire,
+     * une recherche groupée des empreintes existantes puis un insert par lot.
+     * L'expression simplifiée est stockée sous forme canonique ; une expression illisible, ou trop longue
+     * pour ses colonnes une fois canonique, est INVALID.
+     */
+    public List<PolynomialStoreResult> savePolynomials(User user, List<Polynomial> polynomials) {
+        Long userId = user.getId();
+        PolynomialStoreResult[] results = new PolynomialStoreResult[polynomials.size()];
+        Map<String, Integer> candidates = new HashMap<>();
+
+        for (int i = 0; i < polynomials.size(); i++) {
+            Polynomial polynomial = polynomials.get(i);
+            String canonical = polynomial == null ? null : canonicalExpression(polynomial.getSimplifiedExpression());
+            if (canonical == null || !fitsColumns(canonical, polynomial.getFactoredExpression())) {
+                results[i] = new PolynomialStoreResult(i, Status.INVALID, null);
+                continue;
+            }
+            polynomial.setSimplifiedExpression(canonical);
+            polynomial.setUser(user);
+            String fingerprint = PolynomialFingerprint.compute(
+                    polynomial.getSimplifiedExpression(),
+                    polynomial.getFactoredExpression(),
+                    polynomial.getRoots(),
+                    userId
+            );
+            polynomial.setFingerprint(fingerprint);
+            if (resultCache.isStored(userId, fingerprint) || candidates.putIfAbsent(fingerprint, i) != null) {
+                results[i] = new PolynomialStoreResult(i, Status.DUPLICATE, null); // Doublon connu ou dans le lot
+            }
+        }
+
+        Set<String> existing = candidates.isEmpty() ? Set.of() : findExistingFingerprints(userId, candidates.keySet());
+        List<Polynomial> toInsert = new ArrayList<>(candidates.size());
+        List<Integer> insertIndexes = new ArrayList<>(candidates.size());
+        for (int i = 0; i < polynomials.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            Polynomial polynomial = polynomials.get(i);
+            if (existing.contains(polynomial.getFingerprint())) {
+                results[i] = new PolynomialStoreResult(i, Status.DUPLICATE, null);
+            } else {
+                toInsert.add(polynomial);
+                insertIndexes.add(i);
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            insert(toInsert, insertIndexes, results);
+        }
+        return List.of(results);
+    }
+
+    public static boolean fitsColumns(String simplifiedExpression, String factoredExpression) {
+        return (simplifiedExpression == null || simplifiedExpression.length() <= MAX_EXPRESSION_LENGTH)
+                && (factoredExpression == null || factoredExpression.length() <= MAX_EXPRESSION_LENGTH);
+    }
+
+    // Forme canonique, ou null si l'expression n'est pas un polynôme en x
+    static String canonicalExpression(String expression) {
+        if (expression == null) {
+            return null;
+        }
+        try {
+            return PolynomialParser.canonicalize(expression);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Set<String> findExistingFingerprints(Long userId, Set<String> fingerprints) {
+        Set<String> existing = new HashSet<>();
+        List<String> pending = new ArrayList<>(fingerprints);
+        for (int from = 0; from < pending.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = pending.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, pending.size()));
+            existing.addAll(polynomialRepository.findExistingFingerprints(userId, chunk));
+        }
+        for (String fingerprint : existing) {
+            resultCache.markStored(userId, fingerprint);
+        }
+        return existing;
+    }
+
+    private void insert(List<Polynomial> toInsert, List<Integer> insertIndexes, PolynomialStoreResult[] results) {
+        try {
+            polynomialRepository.saveAll(toInsert);
+            for (int j = 0; j < toInsert.size(); j++) {
+                int index = insertIndexes.get(j);
+                results[index] = new PolynomialStoreResult(index, Status.STORED, toInsert.get(j).getId());
+                onStored(toInsert.get(j));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Un insert concurrent a gagné pour au moins une empreinte : le lot a été annulé, on reprend ligne par ligne
+            for (int j = 0; j < toInsert.size(); j++) {
+                int index = insertIndexes.get(j);
+                results[index] = insertOne(index, toInsert.get(j));
+            }
+        }
+    }
 
-        if (existingPolynomial.isEmpty()) {
-            polynomialRepository.save(polynomialData); // Enregistrer seulement si pas de doublon
+    private PolynomialStoreResult insertOne(int index, Polynomial polynomial) {
+        Long userId = polynomial.getUser().getId();
+        polynomial.setId(null);
+        if (polynomialRepository.existsDuplicate(userId, polynomial.getFingerprint())) {
+            resultCache.markStored(userId, polynomial.getFingerprint());
+            return new PolynomialStoreResult(index, Status.DUPLICATE, null);
+        }
+        try {
+            Long id = polynomialRepository.save(polynomial).getId();
+            onStored(polynomial);
+            return new PolynomialStoreResult(index, Status.STORED, id);
+        } catch (DataIntegrityViolationException e) {
+            // La contrainte unique garantit un seul enregistrement en cas d'insert concurrent
+            if (!polynomialRepository.existsDuplicate(userId, polynomial.getFingerprint())) {
+                throw e;
+            }
+            return new PolynomialStoreResult(index, Status.DUPLICATE, null);
         }
     }
 
-    private Optional<Polynomial> findDuplicatePolynomial(String simplifiedExpression, String factoredExpression, List<String> roots, Long userId) {
-        return polynomialRepository.findDuplicate(simplifiedExpression, factoredExpression, roots, userId);
+    private void onStored(Polynomial polynomial) {
+        resultCache.markStored(polynomial.getUser().getId(), polynomial.getFingerprint());
+        resultCache.invalidate(polynomial.getSimplifiedExpression());
     }
 
-    public List<Polynomial> getAllPolynomials() {
-        return polynomialRepository.findAll();
+    // Résultat connu pour une expression : servi depuis le cache, la base n'est consultée qu'en cas d'absence
+    public Optional<PolynomialSolution> findSolution(String expression) {
+        String canonical = canonicalExpression(expression);
+        String simplifiedExpression = canonical != null ? canonical : expression; // Lignes antérieures à la forme canonique
+        Optional<PolynomialSolution> cached = resultCache.getStoredSolution(simplifiedExpression);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<PolynomialSolution> stored = polynomialRepository.findFirstBySimplifiedExpressionOrderByIdAsc(simplifiedExpression)
+                .map(p -> new PolynomialSolution(p.getSimplifiedExpression(), p.getFactoredExpression(), p.getRoots()));
+        stored.ifPresent(solution -> resultCache.putStoredSolution(simplifiedExpression, solution));
+        return stored;
+    }
+
+    public PolynomialPage getPolynomialPage(String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<PolynomialDTO> items = polynomialRepository.findDTOPageAfter(PolynomialCursor.decode(cursor), Limit.of(pageSize));
+
+        String nextCursor = items.size() < pageSize
+                ? null
+                : PolynomialCursor.encode(items.get(items.size() - 1).getId());
+        return new PolynomialPage(items, nextCursor);
     }
 
     public Optional<Polynomial> getPolynomialById(Long id) {
         return polynomialRepository.findById(id);
     }
-    public List<Polynomial> getPolynomialsByUserId(Long userId) {
-        return polynomialRepository.findByUserId(userId);
+    public List<PolynomialDTO> getPolynomialsByUserId(Long userId) {
+        return polynomialRepository.findDTOsByUserId(userId);
     }
 }
@@ -0,0 +1,132 @@
+package com.example.demo.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.entity.Polynomial;
+import com.example.demo.entity.PolynomialEvaluation;
+import com.example.demo.entity.PolynomialSolution;
+import com.example.demo.entity.PolynomialStoreResult;
+import com.example.demo.entity.User;
+import com.example.demo.solver.ExactFactorizer;
+import com.example.demo.solver.Factorization;
+import com.example.demo.solver.PolynomialEvaluator;
+import com.example.demo.solver.PolynomialFormatter;
+import com.example.demo.solver.PolynomialParser;
+import com.example.demo.solver.RootFinder;
+import com.example.demo.solver.SparsePolynomial;
+
+@Service
+public class PolynomialSolverService {
+
+    // Points par requête d'évaluation : 1e6 points complexes, soit 32 Mo de tableaux aller-retour
+    public static final int MAX_EVALUATION_POINTS = 1_000_000;
+
+    @Autowired
+    private PolynomialService polynomialService;
+
+    @Autowired
+    private PolynomialResultCache resultCache;
+
+    // Les énoncés fréquents (exercices, cas de régression) sont servis depuis le cache, clé canonique
+    public PolynomialSolution solve(String expression) {
+        SparsePolynomial polynomial = PolynomialParser.parseSparse(expression);
+        Optional<PolynomialSolution> cached = resultCache.getComputedSolution(polynomial.canonical());
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        PolynomialSolution solution = solveAscending(polynomial.toAscending());
+        resultCache.putComputedSolution(polynomial.canonical(), solution);
+        return solution;
+    }
+
+    // Coefficients par degré décroissant, comme saisis côté client : [1, 0, -4] pour x^2 - 4
+    public PolynomialSolution solve(List<? extends Number> coefficients) {
+        if (coefficients == null || coefficients.isEmpty()) {
+            throw new IllegalArgumentException("Coefficients are required.");
+        }
+        int size = coefficients.size();
+        double[] ascending = new double[size];
+        for (int i = 0; i < size; i++) {
+            Number coefficient = coefficients.get(size - 1 - i);
+            if (coefficient == null) {
+                throw new IllegalArgumentException("Coefficients must not be null.");
+            }
+            ascending[i] = coefficient.doubleValue();
+        }
+        return solveAscending(ascending);
+    }
+
+    // Forme factorisée exacte sur Q quand ExactFactorizer aboutit, sinon produit des racines approchées.
+    // L'expression simplifiée est la forme canonique sans perte : c'est elle qui est stockée et relue
+    // par PolynomialRecomputeJob, un coefficient sous 1e-6 ne doit donc pas disparaître à l'arrondi.
+    public PolynomialSolution solveAscending(double[] coefficients) {
+        int degree = RootFinder.degree(coefficients);
+        double[][] roots = RootFinder.findRoots(coefficients);
+        double[] trimmed = Arrays.copyOf(coefficients, degree + 1);
+        String factored = ExactFactorizer.factor(trimmed)
+                .map(Factorization::format)
+                .orElseGet(() -> PolynomialFormatter.formatFactored(coefficients[degree], roots[0], roots[1]));
+        return new PolynomialSolution(
+                SparsePolynomial.of(trimmed).canonical(),
+                factored,
+                PolynomialFormatter.toRoots(roots[0], roots[1]));
+    }
+
+    public PolynomialEvaluation evaluate(String expression, double[] re, double[] im) {
+        return evaluate(PolynomialParser.parse(expression), re, im);
+    }
+
+    // Coefficients par degré décroissant, comme pour solve(List)
+    public PolynomialEvaluation evaluateDescending(double[] coefficients, double[] re, double[] im) {
+        double[] ascending = new double[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            ascending[i] = coefficients[coefficients.length - 1 - i];
+        }
+        return evaluate(ascending, re, im);
+    }
+
+    // Horner sur tableaux primitifs (vectoriel si disponible) ; im null : points réels
+    public PolynomialEvaluation evaluate(double[] ascending, double[] re, double[] im) {
+        if (re == null) {
+            throw new IllegalArgumentException("Evaluation points are required.");
+        }
+        if (im != null && im.length != re.length) {
+            throw new IllegalArgumentException("re and im must have the same length.");
+        }
+        if (re.length > MAX_EVALUATION_POINTS) {
+            throw new IllegalArgumentException("Too many evaluation points (max " + MAX_EVALUATION_POINTS + ").");
+        }
+        for (double coefficient : ascending) {
+            if (!Double.isFinite(coefficient)) {
+                throw new IllegalArgumentException("Coefficients must be finite numbers.");
+            }
+        }
+        String simplified = PolynomialFormatter.formatPolynomial(ascending);
+        double[] outRe = new double[re.length];
+        if (im == null) {
+            PolynomialEvaluator.evaluate(ascending, re, outRe);
+            return new PolynomialEvaluation(simplified, outRe, null);
+        }
+        double[] outIm = new double[re.length];
+        PolynomialEvaluator.evaluate(ascending, re, im, outRe, outIm);
+        return new PolynomialEvaluation(simplified, outRe, outIm);
+    }
+
+    // Persistance via l'entité Polynomial existante et le pipeline de déduplication
+    public PolynomialSolution store(PolynomialSolution solution, User user) {
+        Polynomial polynomial = new Polynomial();
+        polynomial.setSimplifiedExpression(solution.getSimplifiedExpression());
+        polynomial.setFactoredExpression(solution.getFactoredExpression());
+        polynomial.setRoots(solution.getRoots());
+
+        PolynomialStoreResult result = polynomialService.savePolynomials(user, List.of(polynomial)).get(0);
+        solution.setStatus(result.getStatus());
+        solution.setId(result.getId());
+        return solution;
+    }
+}
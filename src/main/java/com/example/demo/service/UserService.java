@@ -1,9 +1,12 @@
 package com.example.demo.service;
 
+import java.text.Collator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import com.example.demo.entity.Admin;
@@ -12,9 +15,13 @@ import com.example.demo.entity.User;
 import com.example.demo.repository.AdminRepository;
 import com.example.demo.repository.CalculatorRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.UserRepository.Identity;
+import com.example.demo.security.UserPrincipalCache;
 @Service
 public class UserService {
 
+    public enum SaveResult { SAVED, USERNAME_TAKEN, EMAIL_TAKEN }
+
     @Autowired
     private UserRepository userRepository;
 
@@ -24,8 +31,60 @@ public class UserService {
     @Autowired
     private CalculatorRepository calculatorRepository;
 
+    // Toute écriture invalide le principal en cache ; un login le relit ou le (re)charge
+    @Autowired
+    private UserPrincipalCache principalCache;
+
     public void saveUser(User user) {
         userRepository.save(user);
+        principalCache.evict(user);
+    }
+
+    /**
+     * Insère ou met à jour un compte (User, Admin ou Calculator) en laissant les contraintes uniques
+     * uk_user_username et uk_user_email arbitrer : un seul aller-retour quand il n'y a pas de conflit,
+     * et aucune fenêtre entre contrôle et insertion sous accès concurrents.
+     */
+    public SaveResult saveUnique(User user) {
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            SaveResult conflict = classifyConflict(e, user);
+            if (conflict == null) {
+                throw e; // Autre violation (colonne obligatoire, clé étrangère...)
+            }
+            return conflict;
+        }
+        principalCache.evict(user);
+        return SaveResult.SAVED;
+    }
+
+    // Nom de la contrainte d'abord ; sinon relecture des comptes en conflit, comparés comme la collation MySQL
+    // (insensible à la casse et aux accents) : "Alice" et "alice" sont le même nom d'utilisateur
+    private SaveResult classifyConflict(DataIntegrityViolationException e, User user) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage() == null ? "" : cause.getMessage().toLowerCase(Locale.ROOT);
+            if (message.contains("uk_user_username")) {
+                return SaveResult.USERNAME_TAKEN;
+            }
+            if (message.contains("uk_user_email")) {
+                return SaveResult.EMAIL_TAKEN;
+            }
+        }
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        List<Identity> conflicts = userRepository.findConflicts(user.getUsername(), user.getEmail(), user.getId());
+        if (conflicts.stream().anyMatch(other -> sameKey(collator, other.getUsername(), user.getUsername()))) {
+            return SaveResult.USERNAME_TAKEN;
+        }
+        if (conflicts.stream().anyMatch(other -> sameKey(collator, other.getEmail(), user.getEmail()))) {
+            return SaveResult.EMAIL_TAKEN;
+        }
+        return null;
+    }
+
+    private static boolean sameKey(Collator collator, String first, String second) {
+        return first != null && second != null && collator.compare(first, second) == 0;
     }
 
     public Optional<User> findUserById(Long id) {
@@ -34,6 +93,7 @@ public class UserService {
 
     public void saveAdmin(Admin admin) {
         adminRepository.save(admin);
+        principalCache.evict(admin);
     }
 
     public Optional<Admin> findAdminById(Long id) {
@@ -42,6 +102,7 @@ public class UserService {
 
     public void saveCalculator(Calculator calculator) {
         calculatorRepository.save(calculator);
+        principalCache.evict(calculator);
     }
 
     public Optional<Calculator> findCalculatorById(Long id) {
@@ -72,6 +133,7 @@ public class UserService {
 
     public void deleteCalculatorById(Long id) {
         calculatorRepository.deleteById(id);
+        principalCache.evictById(id);
     }
 
     public Optional<Admin> findAdminByEmail(String email) {
@@ -79,9 +141,35 @@ public class UserService {
 }
     public void deleteUserById(Long id) {
         userRepository.deleteById(id);
+        principalCache.evictById(id);
     }
     public void deleteAdminById(Long id) {
         adminRepository.deleteById(id);
+        principalCache.evictById(id);
+    }
+
+    // Nouveau hash (algorithme ou coût plus récent) calculé au login ; sans effet si le mot de passe a changé entre-temps
+    public boolean rehashPassword(User user, String newHash) {
+        if (userRepository.updatePasswordHash(user.getId(), user.getPassword(), newHash) == 0) {
+            return false;
+        }
+        user.setPassword(newHash);
+        principalCache.evict(user);
+        return true;
+    }
+
+    // Logins : copie détachée lue dans le cache des principaux, la base seulement en son absence.
+    // À ne pas enregistrer : les écritures passent par find*ByEmail et les entités gérées.
+    public Optional<User> findUserForLogin(String email) {
+        return principalCache.getUser(email, User.class, userRepository::findByEmail);
+    }
+
+    public Optional<Calculator> findCalculatorForLogin(String email) {
+        return principalCache.getUser(email, Calculator.class, calculatorRepository::findByEmail);
+    }
+
+    public Optional<Admin> findAdminForLogin(String email) {
+        return principalCache.getUser(email, Admin.class, adminRepository::findByEmail);
     }
 
 
@@ -0,0 +1,235 @@
+package com.example.demo.solver;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factorisation exacte sur Q d'un polynôme à coefficients décimaux ou entiers, en BigInteger :
+ * <ol>
+ *   <li>dénominateurs chassés, extraction du contenu et des racines nulles (facteur x^k) ;</li>
+ *   <li>décomposition sans facteur carré (Yun) ;</li>
+ *   <li>test des racines rationnelles p/q (p divise a0, q divise an), en long quand les coefficients y tiennent ;</li>
+ *   <li>Zassenhaus (factorisation modulaire, relèvement de Hensel, recombinaison) pour le reste.</li>
+ * </ol>
+ * Le produit des facteurs est recalculé et comparé au polynôme d'origine avant d'être renvoyé.
+ * Au-delà de {@link #MAX_DEGREE}, de {@link #MAX_SCALE} décimales, de {@link #MAX_COEFFICIENT_BITS} bits
+ * par coefficient entier, du budget de recombinaison ou du budget de temps, aucune factorisation n'est proposée :
+ * l'appelant garde la forme flottante.
+ */
+public final class ExactFactorizer {
+
+    public static final int MAX_DEGREE = 100;
+    // Un seul coefficient comme 1e-300 ferait passer tous les numérateurs à des centaines de chiffres
+    public static final int MAX_SCALE = 20;
+    public static final int MAX_COEFFICIENT_BITS = 256;
+
+    private static final long TIME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private static final int SUBSET_BUDGET = 20_000;
+    // Test des racines rationnelles limité aux a0 et an de 32 bits : diviseurs par division d'essai
+    private static final int RATIONAL_ROOT_BITS = 32;
+    private static final int MAX_CANDIDATES = 20_000;
+
+    private ExactFactorizer() {
+    }
+
+    // Coefficients par degré croissant, lus exactement via leur écriture décimale (0.1 vaut 1/10)
+    public static Optional<Factorization> factor(double[] ascending) {
+        BigDecimal[] decimals = new BigDecimal[ascending.length];
+        int scale = 0;
+        for (int i = 0; i < ascending.length; i++) {
+            if (!Double.isFinite(ascending[i])) {
+                return Optional.empty();
+            }
+            decimals[i] = BigDecimal.valueOf(ascending[i]).stripTrailingZeros();
+            scale = Math.max(scale, decimals[i].scale());
+        }
+        if (scale > MAX_SCALE) {
+            return Optional.empty();
+        }
+        BigInteger[] numerators = new BigInteger[ascending.length];
+        for (int i = 0; i < ascending.length; i++) {
+            numerators[i] = decimals[i].setScale(scale).unscaledValue();
+        }
+        return factor(numerators, BigInteger.TEN.pow(scale));
+    }
+
+    public static Optional<Factorization> factor(BigInteger[] ascending) {
+        return factor(ascending, BigInteger.ONE);
+    }
+
+    private static Optional<Factorization> factor(BigInteger[] numerators, BigInteger denominator) {
+        BigInteger[] f = IntPolynomials.trim(numerators);
+        int degree = IntPolynomials.degree(f);
+        if (degree < 1) {
+            throw new IllegalArgumentException("Polynomial must have degree >= 1.");
+        }
+        if (degree > MAX_DEGREE) {
+            return Optional.empty();
+        }
+        for (BigInteger c : f) {
+            if (c.bitLength() > MAX_COEFFICIENT_BITS) {
+                return Optional.empty();
+            }
+        }
+        long deadline = System.nanoTime() + TIME_BUDGET_NANOS;
+
+        BigInteger content = IntPolynomials.content(f);
+        if (IntPolynomials.leading(f).signum() < 0) {
+            content = content.negate();
+        }
+        BigInteger[] primitive = IntPolynomials.divide(f, content);
+
+        List<Factorization.Factor> factors = new ArrayList<>();
+        int low = 0;
+        while (primitive[low].signum() == 0) {
+            low++;
+        }
+        if (low > 0) {
+            factors.add(new Factorization.Factor(IntPolynomials.of(0, 1), low));
+        }
+        BigInteger[] rest = Arrays.copyOfRange(primitive, low, primitive.length);
+
+        Zassenhaus zassenhaus = new Zassenhaus(SUBSET_BUDGET, deadline);
+        List<BigInteger[]> parts = squareFree(rest);
+        for (int i = 0; i < parts.size(); i++) {
+            BigInteger[] part = parts.get(i);
+            if (IntPolynomials.degree(part) < 1) {
+                continue;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                return Optional.empty();
+            }
+            List<BigInteger[]> irreducibles = new ArrayList<>();
+            BigInteger[] remaining = rationalRoots(part, irreducibles);
+            if (IntPolynomials.degree(remaining) >= 1) {
+                List<BigInteger[]> split = zassenhaus.factor(remaining);
+                if (split == null) {
+                    return Optional.empty();
+                }
+                irreducibles.addAll(split);
+            }
+            for (BigInteger[] irreducible : irreducibles) {
+                factors.add(new Factorization.Factor(irreducible, i + 1));
+            }
+        }
+
+        verify(primitive, factors);
+        BigInteger gcd = content.gcd(denominator);
+        return Optional.of(new Factorization(content.divide(gcd), denominator.divide(gcd), factors));
+    }
+
+    /**
+     * Décomposition de Yun d'un polynôme primitif de coefficient dominant positif :
+     * l'élément i est le produit des facteurs de multiplicité i + 1 (éventuellement constant).
+     */
+    static List<BigInteger[]> squareFree(BigInteger[] f) {
+        List<BigInteger[]> parts = new ArrayList<>();
+        if (IntPolynomials.degree(f) < 1) {
+            return parts;
+        }
+        BigInteger[] derivative = IntPolynomials.derivative(f);
+        BigInteger[] c = IntPolynomials.gcd(f, IntPolynomials.primitivePart(derivative));
+        if (IntPolynomials.degree(c) == 0) {
+            parts.add(f);
+            return parts;
+        }
+        BigInteger[] w = IntPolynomials.divideExact(f, c);
+        BigInteger[] y = IntPolynomials.divideExact(derivative, c);
+        BigInteger[] z = IntPolynomials.subtract(y, IntPolynomials.derivative(w));
+        while (IntPolynomials.degree(w) > 0) {
+            BigInteger[] g = IntPolynomials.gcd(w, IntPolynomials.primitivePart(z));
+            parts.add(g);
+            w = IntPolynomials.divideExact(w, g);
+            y = IntPolynomials.divideExact(z, g);
+            z = IntPolynomials.subtract(y, IntPolynomials.derivative(w));
+        }
+        return parts;
+    }
+
+    /**
+     * Retire de g (sans facteur carré, g(0) non nul) ses facteurs linéaires q·x - p et renvoie le quotient.
+     * Filtres avant évaluation : (q - p) divise g(1) et (q + p) divise g(-1).
+     */
+    static BigInteger[] rationalRoots(BigInteger[] g, List<BigInteger[]> linear) {
+        BigInteger constant = g[0].abs();
+        BigInteger lead = IntPolynomials.leading(g);
+        if (IntPolynomials.degree(g) < 1 || constant.bitLength() > RATIONAL_ROOT_BITS
+                || lead.bitLength() > RATIONAL_ROOT_BITS) {
+            return g;
+        }
+        long[] numerators = divisors(constant.longValue());
+        long[] denominators = divisors(lead.longValue());
+        if ((long) numerators.length * denominators.length > MAX_CANDIDATES) {
+            return g;
+        }
+        BigInteger atOne = IntPolynomials.evaluate(g, BigInteger.ONE);
+        BigInteger atMinusOne = IntPolynomials.evaluate(g, BigInteger.ONE.negate());
+        for (long q : denominators) {
+            for (long magnitude : numerators) {
+                if (IntPolynomials.gcd(magnitude, q) != 1) {
+                    continue;
+                }
+                for (long p : new long[] {magnitude, -magnitude}) {
+                    if (IntPolynomials.degree(g) < 1
+                            || !divides(q - p, atOne) || !divides(q + p, atMinusOne)
+                            || !IntPolynomials.hasRoot(g, p, q)) {
+                        continue;
+                    }
+                    BigInteger[] factor = IntPolynomials.of(-p, q);
+                    linear.add(factor);
+                    g = IntPolynomials.divideExact(g, factor);
+                    atOne = IntPolynomials.evaluate(g, BigInteger.ONE);
+                    atMinusOne = IntPolynomials.evaluate(g, BigInteger.ONE.negate());
+                }
+            }
+        }
+        return g;
+    }
+
+    private static boolean divides(long divisor, BigInteger value) {
+        if (value.signum() == 0) {
+            return true;
+        }
+        return divisor != 0 && value.remainder(BigInteger.valueOf(divisor)).signum() == 0;
+    }
+
+    // Diviseurs positifs de n > 0 par division d'essai (n < 2^32 : au plus 65 536 essais)
+    static long[] divisors(long n) {
+        List<Long> small = new ArrayList<>();
+        List<Long> large = new ArrayList<>();
+        for (long d = 1; d * d <= n; d++) {
+            if (n % d == 0) {
+                small.add(d);
+                if (d != n / d) {
+                    large.add(n / d);
+                }
+            }
+        }
+        long[] result = new long[small.size() + large.size()];
+        int k = 0;
+        for (long d : small) {
+            result[k++] = d;
+        }
+        for (int i = large.size() - 1; i >= 0; i--) {
+            result[k++] = large.get(i);
+        }
+        return result;
+    }
+
+    // Certificat : le produit des facteurs redonne exactement la partie primitive
+    private static void verify(BigInteger[] primitive, List<Factorization.Factor> factors) {
+        BigInteger[] product = {BigInteger.ONE};
+        for (Factorization.Factor factor : factors) {
+            product = IntPolynomials.multiply(product, IntPolynomials.pow(factor.getCoefficients(), factor.getMultiplicity()));
+        }
+        if (!Arrays.equals(IntPolynomials.trim(product), primitive)) {
+            throw new IllegalStateException("Factorisation incohérente : " + factors.size() + " facteurs");
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.demo.solver;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Factorisation exacte sur Q produite par {@link ExactFactorizer} : une constante rationnelle
+ * et des facteurs irréductibles primitifs de Z[x], chacun avec sa multiplicité.
+ * La forme texte suit celle de {@link PolynomialFormatter#formatFactored} : facteurs linéaires
+ * unitaires ("(x - 1/3)"), facteurs de degré supérieur en coefficients entiers ("(x^2 + 1)"),
+ * triés par moyenne de leurs racines puis par degré décroissant.
+ */
+public final class Factorization {
+
+    private final BigInteger unitNumerator;
+    private final BigInteger unitDenominator;
+    private final List<Factor> factors;
+
+    Factorization(BigInteger unitNumerator, BigInteger unitDenominator, List<Factor> factors) {
+        this.unitNumerator = unitNumerator;
+        this.unitDenominator = unitDenominator;
+        this.factors = List.copyOf(factors);
+    }
+
+    public List<Factor> getFactors() {
+        return factors;
+    }
+
+    // Constante devant le produit des facteurs primitifs : numérateur et dénominateur (positif)
+    public BigInteger getUnitNumerator() {
+        return unitNumerator;
+    }
+
+    public BigInteger getUnitDenominator() {
+        return unitDenominator;
+    }
+
+    public String format() {
+        List<Factor> ordered = new ArrayList<>(factors);
+        ordered.sort(Comparator.comparingDouble(Factor::rootMean)
+                .thenComparing(Comparator.comparingInt(Factor::getDegree).reversed()));
+
+        // Les facteurs linéaires sont écrits unitaires : leur coefficient dominant passe dans la constante
+        BigInteger numerator = unitNumerator;
+        BigInteger denominator = unitDenominator;
+        StringBuilder text = new StringBuilder();
+        for (Factor factor : ordered) {
+            BigInteger[] c = factor.coefficients;
+            if (factor.getDegree() == 1) {
+                numerator = numerator.multiply(c[1].pow(factor.multiplicity));
+                text.append(linearFactor(c[0].negate(), c[1]));
+            } else {
+                text.append('(').append(formatPolynomial(c)).append(')');
+            }
+            if (factor.multiplicity > 1) {
+                text.append('^').append(factor.multiplicity);
+            }
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        numerator = numerator.divide(gcd);
+        denominator = denominator.divide(gcd);
+
+        String unit;
+        if (denominator.equals(BigInteger.ONE) && numerator.abs().equals(BigInteger.ONE)) {
+            unit = numerator.signum() < 0 ? "-" : "";
+        } else {
+            unit = formatRational(numerator, denominator);
+            if (unit.indexOf('/') >= 0) {
+                unit = "(" + unit + ")";
+            }
+        }
+        return unit + text;
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    // Racine r = p/q : "x", "(x - 2)", "(x + 0.5)", "(x - 1/3)"
+    private static String linearFactor(BigInteger p, BigInteger q) {
+        if (p.signum() == 0) {
+            return "x";
+        }
+        return "(x " + (p.signum() < 0 ? "+ " : "- ") + formatRational(p.abs(), q) + ")";
+    }
+
+    // Entier, décimal exact si le dénominateur n'a que 2 et 5 comme facteurs premiers, sinon fraction
+    static String formatRational(BigInteger numerator, BigInteger denominator) {
+        BigInteger gcd = numerator.gcd(denominator);
+        numerator = numerator.divide(gcd);
+        denominator = denominator.divide(gcd);
+        if (denominator.equals(BigInteger.ONE)) {
+            return numerator.toString();
+        }
+        BigInteger rest = denominator;
+        int twos = rest.getLowestSetBit();
+        rest = rest.shiftRight(twos);
+        BigInteger five = BigInteger.valueOf(5);
+        while (rest.mod(five).signum() == 0) {
+            rest = rest.divide(five);
+        }
+        if (rest.equals(BigInteger.ONE)) {
+            return new BigDecimal(numerator).divide(new BigDecimal(denominator)).stripTrailingZeros().toPlainString();
+        }
+        return numerator + "/" + denominator;
+    }
+
+    // Même rendu que PolynomialFormatter.formatPolynomial, en entiers exacts
+    static String formatPolynomial(BigInteger[] coefficients) {
+        StringBuilder builder = new StringBuilder();
+        for (int degree = coefficients.length - 1; degree >= 0; degree--) {
+            BigInteger coefficient = coefficients[degree];
+            if (coefficient.signum() == 0) {
+                continue;
+            }
+            boolean negative = coefficient.signum() < 0;
+            if (builder.length() == 0) {
+                builder.append(negative ? "-" : "");
+            } else {
+                builder.append(negative ? " - " : " + ");
+            }
+            BigInteger magnitude = coefficient.abs();
+            if (degree == 0 || !magnitude.equals(BigInteger.ONE)) {
+                builder.append(magnitude);
+            }
+            if (degree > 0) {
+                builder.append('x');
+            }
+            if (degree > 1) {
+                builder.append('^').append(degree);
+            }
+        }
+        return builder.length() == 0 ? "0" : builder.toString();
+    }
+
+    public static final class Factor {
+        private final BigInteger[] coefficients;
+        private final int multiplicity;
+
+        Factor(BigInteger[] coefficients, int multiplicity) {
+            this.coefficients = coefficients;
+            this.multiplicity = multiplicity;
+        }
+
+        // Coefficients entiers par degré croissant, primitifs, coefficient dominant positif
+        public BigInteger[] getCoefficients() {
+            return coefficients.clone();
+        }
+
+        public int getMultiplicity() {
+            return multiplicity;
+        }
+
+        public int getDegree() {
+            return coefficients.length - 1;
+        }
+
+        // Moyenne des racines complexes : -a(d-1) / (d · a(d)) ; la racine elle-même pour un facteur linéaire
+        double rootMean() {
+            int d = getDegree();
+            BigDecimal sum = new BigDecimal(coefficients[d - 1].negate());
+            return sum.divide(new BigDecimal(coefficients[d].multiply(BigInteger.valueOf(d))), MathContext.DECIMAL64)
+                    .doubleValue();
+        }
+    }
+}
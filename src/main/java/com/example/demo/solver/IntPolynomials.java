@@ -0,0 +1,261 @@
+package com.example.demo.solver;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Opérations sur les polynômes à coefficients entiers, représentés par des tableaux de BigInteger
+ * par degré croissant, sans zéro de tête (le polynôme nul est le tableau vide). Les calculs de contenu
+ * et d'évaluation restent en long tant que les coefficients y tiennent.
+ */
+final class IntPolynomials {
+
+    static final BigInteger[] ZERO = new BigInteger[0];
+
+    private IntPolynomials() {
+    }
+
+    static BigInteger[] trim(BigInteger[] a) {
+        int length = a.length;
+        while (length > 0 && a[length - 1].signum() == 0) {
+            length--;
+        }
+        return length == a.length ? a : Arrays.copyOf(a, length);
+    }
+
+    static int degree(BigInteger[] a) {
+        return a.length - 1;
+    }
+
+    static BigInteger leading(BigInteger[] a) {
+        return a[a.length - 1];
+    }
+
+    static BigInteger[] of(long... ascending) {
+        BigInteger[] a = new BigInteger[ascending.length];
+        for (int i = 0; i < ascending.length; i++) {
+            a[i] = BigInteger.valueOf(ascending[i]);
+        }
+        return trim(a);
+    }
+
+    // PGCD positif des coefficients ; en long tant que tous les coefficients tiennent sur 63 bits
+    static BigInteger content(BigInteger[] a) {
+        boolean fitsLong = true;
+        for (BigInteger c : a) {
+            if (c.bitLength() > 62) {
+                fitsLong = false;
+                break;
+            }
+        }
+        if (fitsLong) {
+            long gcd = 0;
+            for (BigInteger c : a) {
+                gcd = gcd(gcd, Math.abs(c.longValue()));
+                if (gcd == 1) {
+                    break;
+                }
+            }
+            return BigInteger.valueOf(gcd);
+        }
+        BigInteger gcd = BigInteger.ZERO;
+        for (BigInteger c : a) {
+            gcd = gcd.gcd(c);
+            if (gcd.equals(BigInteger.ONE)) {
+                break;
+            }
+        }
+        return gcd;
+    }
+
+    static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    // Partie primitive de coefficient dominant positif
+    static BigInteger[] primitivePart(BigInteger[] a) {
+        if (a.length == 0) {
+            return a;
+        }
+        BigInteger content = content(a);
+        if (leading(a).signum() < 0) {
+            content = content.negate();
+        }
+        return divide(a, content);
+    }
+
+    static BigInteger[] divide(BigInteger[] a, BigInteger scalar) {
+        if (scalar.equals(BigInteger.ONE)) {
+            return a;
+        }
+        BigInteger[] result = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i].divide(scalar);
+        }
+        return result;
+    }
+
+    static BigInteger[] multiply(BigInteger[] a, BigInteger scalar) {
+        BigInteger[] result = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i].multiply(scalar);
+        }
+        return trim(result);
+    }
+
+    static BigInteger[] multiply(BigInteger[] a, BigInteger[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return ZERO;
+        }
+        BigInteger[] result = new BigInteger[a.length + b.length - 1];
+        Arrays.fill(result, BigInteger.ZERO);
+        for (int i = 0; i < a.length; i++) {
+            if (a[i].signum() == 0) {
+                continue;
+            }
+            for (int j = 0; j < b.length; j++) {
+                result[i + j] = result[i + j].add(a[i].multiply(b[j]));
+            }
+        }
+        return result;
+    }
+
+    static BigInteger[] pow(BigInteger[] a, int exponent) {
+        BigInteger[] result = {BigInteger.ONE};
+        for (int i = 0; i < exponent; i++) {
+            result = multiply(result, a);
+        }
+        return result;
+    }
+
+    static BigInteger[] subtract(BigInteger[] a, BigInteger[] b) {
+        BigInteger[] result = new BigInteger[Math.max(a.length, b.length)];
+        for (int i = 0; i < result.length; i++) {
+            BigInteger x = i < a.length ? a[i] : BigInteger.ZERO;
+            BigInteger y = i < b.length ? b[i] : BigInteger.ZERO;
+            result[i] = x.subtract(y);
+        }
+        return trim(result);
+    }
+
+    static BigInteger[] derivative(BigInteger[] a) {
+        if (a.length <= 1) {
+            return ZERO;
+        }
+        BigInteger[] result = new BigInteger[a.length - 1];
+        for (int i = 1; i < a.length; i++) {
+            result[i - 1] = a[i].multiply(BigInteger.valueOf(i));
+        }
+        return trim(result);
+    }
+
+    // Quotient exact dans Z[x], ou null si b ne divise pas a
+    static BigInteger[] divideExact(BigInteger[] a, BigInteger[] b) {
+        if (b.length == 0) {
+            throw new ArithmeticException("Division by the zero polynomial");
+        }
+        if (a.length < b.length) {
+            return a.length == 0 ? ZERO : null;
+        }
+        BigInteger[] remainder = a.clone();
+        BigInteger[] quotient = new BigInteger[a.length - b.length + 1];
+        BigInteger lead = leading(b);
+        for (int k = quotient.length - 1; k >= 0; k--) {
+            BigInteger[] qr = remainder[k + b.length - 1].divideAndRemainder(lead);
+            if (qr[1].signum() != 0) {
+                return null;
+            }
+            quotient[k] = qr[0];
+            if (qr[0].signum() != 0) {
+                for (int j = 0; j < b.length; j++) {
+                    remainder[k + j] = remainder[k + j].subtract(qr[0].multiply(b[j]));
+                }
+            }
+        }
+        for (int i = 0; i < b.length - 1; i++) {
+            if (remainder[i].signum() != 0) {
+                return null;
+            }
+        }
+        return trim(quotient);
+    }
+
+    // lc(b)^(deg a - deg b + 1) · a mod b, sans division rationnelle
+    static BigInteger[] pseudoRemainder(BigInteger[] a, BigInteger[] b) {
+        BigInteger[] remainder = a.clone();
+        BigInteger lead = leading(b);
+        int db = degree(b);
+        for (int dr = degree(remainder); dr >= db && remainder.length > 0; dr = degree(remainder)) {
+            BigInteger coefficient = leading(remainder);
+            for (int i = 0; i < remainder.length; i++) {
+                remainder[i] = remainder[i].multiply(lead);
+            }
+            int shift = dr - db;
+            for (int j = 0; j < b.length; j++) {
+                remainder[shift + j] = remainder[shift + j].subtract(coefficient.multiply(b[j]));
+            }
+            remainder = trim(remainder);
+        }
+        return remainder;
+    }
+
+    // PGCD primitif par suites de restes primitifs ; a et b supposés primitifs
+    static BigInteger[] gcd(BigInteger[] a, BigInteger[] b) {
+        if (degree(a) < degree(b)) {
+            BigInteger[] t = a;
+            a = b;
+            b = t;
+        }
+        while (b.length > 0) {
+            BigInteger[] r = primitivePart(pseudoRemainder(a, b));
+            a = b;
+            b = r;
+        }
+        return primitivePart(a);
+    }
+
+    // Valeur de q^n · a(p/q), nulle si et seulement si p/q est racine ; en long tant que rien ne déborde
+    static boolean hasRoot(BigInteger[] a, long p, long q) {
+        try {
+            long sum = 0;
+            long pPower = 1;
+            long[] qPowers = new long[a.length];
+            qPowers[0] = 1;
+            for (int i = 1; i < a.length; i++) {
+                qPowers[i] = Math.multiplyExact(qPowers[i - 1], q);
+            }
+            for (int i = 0; i < a.length; i++) {
+                if (a[i].bitLength() > 62) {
+                    throw new ArithmeticException();
+                }
+                long term = Math.multiplyExact(Math.multiplyExact(a[i].longValue(), pPower), qPowers[a.length - 1 - i]);
+                sum = Math.addExact(sum, term);
+                if (i + 1 < a.length) {
+                    pPower = Math.multiplyExact(pPower, p);
+                }
+            }
+            return sum == 0;
+        } catch (ArithmeticException overflow) {
+            BigInteger bp = BigInteger.valueOf(p);
+            BigInteger bq = BigInteger.valueOf(q);
+            BigInteger sum = BigInteger.ZERO;
+            for (int i = a.length - 1; i >= 0; i--) {
+                sum = sum.multiply(bp).add(a[i].multiply(bq.pow(a.length - 1 - i)));
+            }
+            return sum.signum() == 0;
+        }
+    }
+
+    static BigInteger evaluate(BigInteger[] a, BigInteger x) {
+        BigInteger sum = BigInteger.ZERO;
+        for (int i = a.length - 1; i >= 0; i--) {
+            sum = sum.multiply(x).add(a[i]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.demo.solver;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Polynômes sur Z/pZ pour un petit premier impair p (p < 2^31, les produits tiennent en long) :
+ * tableaux de long par degré croissant, sans zéro de tête. Fournit la factorisation complète
+ * d'un polynôme unitaire sans facteur carré : degrés distincts puis Cantor–Zassenhaus.
+ */
+final class ModularPolynomials {
+
+    private static final long[] ZERO = new long[0];
+
+    private final long p;
+    // Graine fixe : la factorisation est reproductible d'un appel à l'autre
+    private final SplittableRandom random = new SplittableRandom(0x5EED);
+
+    ModularPolynomials(long p) {
+        this.p = p;
+    }
+
+    long prime() {
+        return p;
+    }
+
+    long[] reduce(BigInteger[] a) {
+        BigInteger modulus = BigInteger.valueOf(p);
+        long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i].mod(modulus).longValue();
+        }
+        return trim(result);
+    }
+
+    static long[] trim(long[] a) {
+        int length = a.length;
+        while (length > 0 && a[length - 1] == 0) {
+            length--;
+        }
+        return length == a.length ? a : Arrays.copyOf(a, length);
+    }
+
+    static int degree(long[] a) {
+        return a.length - 1;
+    }
+
+    long inverse(long a) {
+        return BigInteger.valueOf(a).modInverse(BigInteger.valueOf(p)).longValue();
+    }
+
+    long[] monic(long[] a) {
+        long inverse = inverse(a[a.length - 1]);
+        return scale(a, inverse);
+    }
+
+    long[] scale(long[] a, long scalar) {
+        long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] * scalar % p;
+        }
+        return trim(result);
+    }
+
+    long[] add(long[] a, long[] b) {
+        long[] result = new long[Math.max(a.length, b.length)];
+        for (int i = 0; i < result.length; i++) {
+            long x = i < a.length ? a[i] : 0;
+            long y = i < b.length ? b[i] : 0;
+            result[i] = (x + y) % p;
+        }
+        return trim(result);
+    }
+
+    long[] subtract(long[] a, long[] b) {
+        long[] result = new long[Math.max(a.length, b.length)];
+        for (int i = 0; i < result.length; i++) {
+            long x = i < a.length ? a[i] : 0;
+            long y = i < b.length ? b[i] : 0;
+            result[i] = (x - y + p) % p;
+        }
+        return trim(result);
+    }
+
+    long[] multiply(long[] a, long[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return ZERO;
+        }
+        long[] result = new long[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == 0) {
+                continue;
+            }
+            for (int j = 0; j < b.length; j++) {
+                result[i + j] = (result[i + j] + a[i] * b[j]) % p;
+            }
+        }
+        return trim(result);
+    }
+
+    // {quotient, reste}
+    long[][] divide(long[] a, long[] b) {
+        if (a.length < b.length) {
+            return new long[][] {ZERO, a};
+        }
+        long[] remainder = a.clone();
+        long[] quotient = new long[a.length - b.length + 1];
+        long inverse = inverse(b[b.length - 1]);
+        for (int k = quotient.length - 1; k >= 0; k--) {
+            long coefficient = remainder[k + b.length - 1] * inverse % p;
+            quotient[k] = coefficient;
+            if (coefficient != 0) {
+                for (int j = 0; j < b.length; j++) {
+                    remainder[k + j] = (remainder[k + j] - coefficient * b[j] % p + p) % p;
+                }
+            }
+        }
+        return new long[][] {trim(quotient), trim(Arrays.copyOf(remainder, b.length - 1))};
+    }
+
+    long[] remainder(long[] a, long[] b) {
+        return divide(a, b)[1];
+    }
+
+    // PGCD unitaire
+    long[] gcd(long[] a, long[] b) {
+        while (b.length > 0) {
+            long[] r = remainder(a, b);
+            a = b;
+            b = r;
+        }
+        return a.length == 0 ? a : monic(a);
+    }
+
+    // {s, t} tels que s·a + t·b = 1, pour a et b premiers entre eux
+    long[][] bezout(long[] a, long[] b) {
+        long[] r0 = a;
+        long[] r1 = b;
+        long[] s0 = {1};
+        long[] s1 = ZERO;
+        long[] t0 = ZERO;
+        long[] t1 = {1};
+        while (r1.length > 0) {
+            long[][] qr = divide(r0, r1);
+            long[] r2 = qr[1];
+            long[] s2 = subtract(s0, multiply(qr[0], s1));
+            long[] t2 = subtract(t0, multiply(qr[0], t1));
+            r0 = r1;
+            r1 = r2;
+            s0 = s1;
+            s1 = s2;
+            t0 = t1;
+            t1 = t2;
+        }
+        long inverse = inverse(r0[0]); // r0 est une constante non nulle
+        return new long[][] {scale(s0, inverse), scale(t0, inverse)};
+    }
+
+    long[] powMod(long[] base, BigInteger exponent, long[] modulus) {
+        long[] result = {1};
+        long[] square = remainder(base, modulus);
+        for (int bit = 0; bit < exponent.bitLength(); bit++) {
+            if (exponent.testBit(bit)) {
+                result = remainder(multiply(result, square), modulus);
+            }
+            square = remainder(multiply(square, square), modulus);
+        }
+        return result;
+    }
+
+    long[] derivative(long[] a) {
+        if (a.length <= 1) {
+            return ZERO;
+        }
+        long[] result = new long[a.length - 1];
+        for (int i = 1; i < a.length; i++) {
+            result[i - 1] = a[i] * (i % p) % p;
+        }
+        return trim(result);
+    }
+
+    boolean isSquareFree(long[] a) {
+        long[] derivative = derivative(a);
+        return derivative.length > 0 && degree(gcd(a, derivative)) == 0;
+    }
+
+    // Factorisation en degrés distincts : {facteur produit des irréductibles de degré d, d}
+    List<long[]> distinctDegree(long[] f, List<Integer> degrees) {
+        List<long[]> products = new ArrayList<>();
+        long[] x = {0, 1};
+        long[] h = x;
+        BigInteger prime = BigInteger.valueOf(p);
+        for (int d = 1; 2 * d <= degree(f); d++) {
+            h = powMod(h, prime, f);
+            long[] g = gcd(f, subtract(h, x));
+            if (degree(g) > 0) {
+                products.add(g);
+                degrees.add(d);
+                f = divide(f, g)[0];
+                h = remainder(h, f);
+            }
+        }
+        if (degree(f) > 0) {
+            products.add(monic(f));
+            degrees.add(degree(f));
+        }
+        return products;
+    }
+
+    // Cantor–Zassenhaus : scinde un produit d'irréductibles tous de degré d
+    void equalDegree(long[] f, int d, List<long[]> factors) {
+        if (degree(f) == d) {
+            factors.add(monic(f));
+            return;
+        }
+        BigInteger exponent = BigInteger.valueOf(p).pow(d).subtract(BigInteger.ONE).shiftRight(1);
+        while (true) {
+            long[] a = new long[degree(f)];
+            for (int i = 0; i < a.length; i++) {
+                a[i] = random.nextLong(p);
+            }
+            a = trim(a);
+            if (degree(a) < 1) {
+                continue;
+            }
+            long[] g = gcd(f, subtract(powMod(a, exponent, f), new long[] {1}));
+            if (degree(g) > 0 && degree(g) < degree(f)) {
+                equalDegree(g, d, factors);
+                equalDegree(divide(f, g)[0], d, factors);
+                return;
+            }
+        }
+    }
+
+    // Facteurs irréductibles unitaires d'un polynôme unitaire sans facteur carré
+    List<long[]> factor(long[] f) {
+        List<Integer> degrees = new ArrayList<>();
+        List<long[]> products = distinctDegree(f, degrees);
+        List<long[]> factors = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            equalDegree(products.get(i), degrees.get(i), factors);
+        }
+        return factors;
+    }
+
+    // Nombre de facteurs irréductibles, sans les calculer : sert à choisir le premier
+    int countFactors(long[] f) {
+        List<Integer> degrees = new ArrayList<>();
+        List<long[]> products = distinctDegree(f, degrees);
+        int count = 0;
+        for (int i = 0; i < products.size(); i++) {
+            count += degree(products.get(i)) / degrees.get(i);
+        }
+        return count;
+    }
+}
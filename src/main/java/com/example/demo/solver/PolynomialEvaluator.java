@@ -0,0 +1,105 @@
+package com.example.demo.solver;
+
+import java.util.Arrays;
+
+/**
+ * Évaluation d'un polynôme en N points réels ou complexes par le schéma de Horner, sur des tableaux de doubles
+ * (parties réelles et imaginaires séparées). Coefficients par degré croissant, comme {@link RootFinder}.
+ *
+ * <p>Chemin vectoriel ({@link VectorHorner}, API jdk.incubator.vector) quand la JVM est lancée avec
+ * {@code --add-modules jdk.incubator.vector} et que le matériel offre au moins deux voies double ;
+ * sinon chemin scalaire. Les deux chemins font les mêmes opérations (Math.fma) dans le même ordre :
+ * les résultats sont identiques au bit près.</p>
+ */
+public final class PolynomialEvaluator {
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && VectorHorner.lanes() > 1;
+
+    private PolynomialEvaluator() {
+    }
+
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    public static void evaluate(double[] coefficients, double[] x, double[] out) {
+        if (VECTORIZED) {
+            VectorHorner.evaluate(coefficients, RootFinder.degree(coefficients), x, out);
+        } else {
+            evaluateScalar(coefficients, x, out);
+        }
+    }
+
+    public static void evaluate(double[] coefficients, double[] re, double[] im, double[] outRe, double[] outIm) {
+        if (VECTORIZED) {
+            VectorHorner.evaluate(coefficients, RootFinder.degree(coefficients), re, im, outRe, outIm);
+        } else {
+            evaluateScalar(coefficients, re, im, outRe, outIm);
+        }
+    }
+
+    public static void evaluateScalar(double[] coefficients, double[] x, double[] out) {
+        evaluateScalar(coefficients, RootFinder.degree(coefficients), x, out, 0, x.length);
+    }
+
+    public static void evaluateScalar(double[] coefficients, double[] re, double[] im, double[] outRe, double[] outIm) {
+        evaluateScalar(coefficients, RootFinder.degree(coefficients), re, im, outRe, outIm, 0, re.length);
+    }
+
+    // Chemin vectoriel imposé (comparaisons et benchmarks) ; IllegalStateException si le module est absent
+    public static void evaluateVector(double[] coefficients, double[] x, double[] out) {
+        requireVector();
+        VectorHorner.evaluate(coefficients, RootFinder.degree(coefficients), x, out);
+    }
+
+    public static void evaluateVector(double[] coefficients, double[] re, double[] im, double[] outRe, double[] outIm) {
+        requireVector();
+        VectorHorner.evaluate(coefficients, RootFinder.degree(coefficients), re, im, outRe, outIm);
+    }
+
+    private static void requireVector() {
+        if (!VECTORIZED) {
+            throw new IllegalStateException("Vector API unavailable: start the JVM with --add-modules jdk.incubator.vector.");
+        }
+    }
+
+    // Points [from, to) ; sert aussi à la fin de tableau du chemin vectoriel
+    static void evaluateScalar(double[] c, int degree, double[] x, double[] out, int from, int to) {
+        if (degree < 0) {
+            Arrays.fill(out, from, to, 0.0);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            double xi = x[i];
+            double y = c[degree];
+            for (int k = degree - 1; k >= 0; k--) {
+                y = Math.fma(y, xi, c[k]);
+            }
+            out[i] = y;
+        }
+    }
+
+    // (yr + i·yi)(zr + i·zi) + c : mêmes fma que VectorHorner
+    static void evaluateScalar(double[] c, int degree, double[] re, double[] im, double[] outRe, double[] outIm,
+                               int from, int to) {
+        if (degree < 0) {
+            Arrays.fill(outRe, from, to, 0.0);
+            Arrays.fill(outIm, from, to, 0.0);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            double zr = re[i];
+            double zi = im[i];
+            double yr = c[degree];
+            double yi = 0.0;
+            for (int k = degree - 1; k >= 0; k--) {
+                double nr = Math.fma(yr, zr, Math.fma(-yi, zi, c[k]));
+                yi = Math.fma(yr, zi, yi * zr);
+                yr = nr;
+            }
+            outRe[i] = yr;
+            outIm[i] = yi;
+        }
+    }
+}
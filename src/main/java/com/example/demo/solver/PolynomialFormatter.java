@@ -0,0 +1,188 @@
+package com.example.demo.solver;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.example.demo.entity.Root;
+
+/**
+ * Mise en forme textuelle des coefficients et des racines calculés par {@link RootFinder}.
+ */
+public final class PolynomialFormatter {
+
+    private static final int DECIMALS = 6;
+
+    private PolynomialFormatter() {
+    }
+
+    public static String formatNumber(double value) {
+        double rounded = Math.rint(value);
+        if (Math.abs(value - rounded) <= 1e-9 * Math.max(1.0, Math.abs(value)) && Math.abs(rounded) < 1e15) {
+            return Long.toString((long) rounded);
+        }
+        String text = BigDecimal.valueOf(value).setScale(DECIMALS, RoundingMode.HALF_EVEN).stripTrailingZeros().toPlainString();
+        return "-0".equals(text) ? "0" : text;
+    }
+
+    // Forme développée par degré décroissant : "x^2 - 4", "-2x^3 + x"
+    public static String formatPolynomial(double[] coefficients) {
+        StringBuilder builder = new StringBuilder();
+        for (int degree = coefficients.length - 1; degree >= 0; degree--) {
+            appendTerm(builder, coefficients[degree], degree);
+        }
+        return builder.length() == 0 ? "0" : builder.toString();
+    }
+
+    /**
+     * Forme canonique sans perte : coefficients écrits exactement (plus courte écriture décimale qui relit
+     * le même double, sans notation scientifique), tous les termes non nuls conservés.
+     * Sert de clé (stockage, empreinte, cache) ; l'affichage passe par {@link #formatPolynomial(double[])}.
+     */
+    public static String formatCanonical(SparsePolynomial polynomial) {
+        StringBuilder builder = new StringBuilder(polynomial.terms() * 8);
+        for (int t = 0; t < polynomial.terms(); t++) {
+            double coefficient = polynomial.coefficientAt(t);
+            String magnitude = BigDecimal.valueOf(Math.abs(coefficient)).stripTrailingZeros().toPlainString();
+            appendTerm(builder, magnitude, coefficient < 0, polynomial.degreeAt(t));
+        }
+        return builder.length() == 0 ? "0" : builder.toString();
+    }
+
+    // Les coefficients nuls une fois arrondis sont omis
+    private static void appendTerm(StringBuilder builder, double coefficient, int degree) {
+        String magnitude = formatNumber(Math.abs(coefficient));
+        if ("0".equals(magnitude)) {
+            return;
+        }
+        appendTerm(builder, magnitude, coefficient < 0, degree);
+    }
+
+    private static void appendTerm(StringBuilder builder, String magnitude, boolean negative, int degree) {
+        if (builder.length() == 0) {
+            builder.append(negative ? "-" : "");
+        } else {
+            builder.append(negative ? " - " : " + ");
+        }
+        if (degree == 0 || !"1".equals(magnitude)) {
+            builder.append(magnitude);
+        }
+        if (degree > 0) {
+            builder.append('x');
+        }
+        if (degree > 1) {
+            builder.append('^').append(degree);
+        }
+    }
+
+    public static String formatRoot(double re, double im) {
+        String real = formatNumber(re);
+        String imaginary = formatNumber(Math.abs(im));
+        if ("0".equals(imaginary)) {
+            return real;
+        }
+        String imaginaryPart = "1".equals(imaginary) ? "i" : imaginary + "i";
+        if ("0".equals(real)) {
+            return (im < 0 ? "-" : "") + imaginaryPart;
+        }
+        return real + (im < 0 ? "-" : "+") + imaginaryPart;
+    }
+
+    // Racines triées par partie réelle puis imaginaire, répétées selon leur multiplicité
+    public static List<String> formatRoots(double[] re, double[] im) {
+        int[] order = sortedOrder(re, im);
+        List<String> roots = new ArrayList<>(order.length);
+        for (int k : order) {
+            roots.add(formatRoot(re[k], im[k]));
+        }
+        return roots;
+    }
+
+    // Racines distinctes triées avec leur multiplicité ; les parties imaginaires non significatives sont ramenées à 0
+    public static List<Root> toRoots(double[] re, double[] im) {
+        int[] order = sortedOrder(re, im);
+        List<Root> roots = new ArrayList<>();
+        int i = 0;
+        while (i < order.length) {
+            int k = order[i];
+            String key = formatRoot(re[k], im[k]);
+            int multiplicity = 1;
+            while (i + multiplicity < order.length
+                    && key.equals(formatRoot(re[order[i + multiplicity]], im[order[i + multiplicity]]))) {
+                multiplicity++;
+            }
+            i += multiplicity;
+            double imaginary = "0".equals(formatNumber(Math.abs(im[k]))) ? 0.0 : im[k];
+            roots.add(new Root(re[k], imaginary, multiplicity));
+        }
+        return roots;
+    }
+
+    /**
+     * Forme factorisée sur les réels : facteurs linéaires pour les racines réelles,
+     * facteurs quadratiques pour chaque paire de racines complexes conjuguées.
+     */
+    public static String formatFactored(double leadingCoefficient, double[] re, double[] im) {
+        int[] order = sortedOrder(re, im);
+        StringBuilder factors = new StringBuilder();
+        int i = 0;
+        while (i < order.length) {
+            int k = order[i];
+            String key = formatRoot(re[k], im[k]);
+            int multiplicity = 1;
+            while (i + multiplicity < order.length
+                    && key.equals(formatRoot(re[order[i + multiplicity]], im[order[i + multiplicity]]))) {
+                multiplicity++;
+            }
+            i += multiplicity;
+
+            String factor;
+            if ("0".equals(formatNumber(Math.abs(im[k])))) {
+                factor = linearFactor(re[k]);
+            } else if (im[k] > 0) {
+                double[] quadratic = {re[k] * re[k] + im[k] * im[k], -2 * re[k], 1.0};
+                factor = "(" + formatPolynomial(quadratic) + ")";
+            } else {
+                continue; // Le conjugué de partie imaginaire positive porte déjà le facteur quadratique
+            }
+            factors.append(factor);
+            if (multiplicity > 1) {
+                factors.append('^').append(multiplicity);
+            }
+        }
+
+        String leading = formatNumber(leadingCoefficient);
+        if ("1".equals(leading)) {
+            leading = "";
+        } else if ("-1".equals(leading)) {
+            leading = "-";
+        }
+        return factors.length() == 0 ? formatNumber(leadingCoefficient) : leading + factors;
+    }
+
+    private static String linearFactor(double root) {
+        String magnitude = formatNumber(Math.abs(root));
+        if ("0".equals(magnitude)) {
+            return "x";
+        }
+        return "(x " + (root < 0 ? "+ " : "- ") + magnitude + ")";
+    }
+
+    private static int[] sortedOrder(double[] re, double[] im) {
+        Integer[] boxed = new Integer[re.length];
+        for (int k = 0; k < re.length; k++) {
+            boxed[k] = k;
+        }
+        Arrays.sort(boxed, (a, b) -> {
+            int byRe = Double.compare(re[a], re[b]);
+            return byRe != 0 ? byRe : Double.compare(im[b], im[a]);
+        });
+        int[] order = new int[re.length];
+        for (int k = 0; k < re.length; k++) {
+            order[k] = boxed[k];
+        }
+        return order;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.demo.solver;
+
+import java.util.Arrays;
+
+/**
+ * Analyse une expression polynomiale développée en x ("3x^2 - 2*x + 1", "x^3 - 1", "-x + 0.5")
+ * et renvoie ses coefficients par degré croissant, ou sa forme creuse ({@link SparsePolynomial}).
+ * Les nombres et exposants sont lus directement dans la chaîne, sans sous-chaîne intermédiaire ;
+ * seuls les nombres de plus de 15 chiffres significatifs passent par Double.parseDouble.
+ */
+public final class PolynomialParser {
+
+    // Puissances de 10 exactes en double : mantisse (< 2^53) / 10^k est correctement arrondi
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final int MAX_FAST_DIGITS = 15;
+
+    private final String input;
+    private final int length;
+    private int position;
+
+    private PolynomialParser(String input) {
+        this.input = input;
+        this.length = input.length();
+    }
+
+    public static double[] parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Expression is required.");
+        }
+        return new PolynomialParser(expression).parseExpression();
+    }
+
+    public static SparsePolynomial parseSparse(String expression) {
+        return SparsePolynomial.of(parse(expression));
+    }
+
+    // Forme canonique : "1 + 2*x + x^2", "x^2+2x+1" et "X^2 + 2X + 1" donnent toutes "x^2 + 2x + 1"
+    public static String canonicalize(String expression) {
+        return parseSparse(expression).canonical();
+    }
+
+    private double[] parseExpression() {
+        double[] coefficients = new double[8];
+        int maxDegree = 0;
+        boolean first = true;
+        skipWhitespace();
+        while (position < length) {
+            double sign = 1.0;
+            char c = input.charAt(position);
+            if (c == '+' || c == '-') {
+                sign = c == '-' ? -1.0 : 1.0;
+                position++;
+                skipWhitespace();
+            } else if (!first) {
+                throw error("Expected '+' or '-'");
+            }
+
+            double coefficient = 1.0;
+            boolean hasNumber = false;
+            if (position < length && isNumberStart(input.charAt(position))) {
+                coefficient = parseNumber();
+                hasNumber = true;
+                skipWhitespace();
+                if (position < length && input.charAt(position) == '*') {
+                    position++;
+                    skipWhitespace();
+                    if (!isVariable()) {
+                        throw error("Expected 'x' after '*'");
+                    }
+                }
+            }
+
+            int degree = 0;
+            if (isVariable()) {
+                position++;
+                degree = 1;
+                skipWhitespace();
+                if (position < length && input.charAt(position) == '^') {
+                    position++;
+                    skipWhitespace();
+                    degree = parseExponent();
+                }
+            } else if (!hasNumber) {
+                throw error("Expected a number or 'x'");
+            }
+
+            if (degree >= coefficients.length) {
+                coefficients = Arrays.copyOf(coefficients, Math.max(degree + 1, coefficients.length * 2));
+            }
+            coefficients[degree] += sign * coefficient;
+            maxDegree = Math.max(maxDegree, degree);
+            first = false;
+            skipWhitespace();
+        }
+        if (first) {
+            throw error("Empty expression");
+        }
+        return Arrays.copyOf(coefficients, maxDegree + 1);
+    }
+
+    // Chemin rapide : chiffres ASCII, au plus un point, 15 chiffres significatifs et 22 décimales
+    private double parseNumber() {
+        int start = position;
+        long mantissa = 0;
+        int significantDigits = 0;
+        int decimals = 0;
+        int dots = 0;
+        boolean digits = false;
+        boolean fast = true;
+        while (position < length && isNumberStart(input.charAt(position))) {
+            char c = input.charAt(position++);
+            if (c == '.') {
+                dots++;
+            } else if (c >= '0' && c <= '9') {
+                digits = true;
+                if (mantissa != 0 || c != '0') {
+                    significantDigits++;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (dots > 0) {
+                    decimals++;
+                }
+            } else {
+                fast = false; // Chiffre non ASCII : Double.parseDouble décide
+            }
+            if (significantDigits > MAX_FAST_DIGITS) {
+                fast = false;
+            }
+        }
+        if (fast && digits && dots <= 1 && decimals < POWERS_OF_TEN.length) {
+            return mantissa / POWERS_OF_TEN[decimals];
+        }
+        try {
+            return Double.parseDouble(input.substring(start, position));
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("Invalid number");
+        }
+    }
+
+    private int parseExponent() {
+        int start = position;
+        long exponent = 0;
+        while (position < length && Character.isDigit(input.charAt(position))) {
+            int digit = Character.digit(input.charAt(position), 10);
+            exponent = Math.min(exponent * 10 + digit, Integer.MAX_VALUE);
+            position++;
+        }
+        if (start == position) {
+            throw error("Expected an integer exponent");
+        }
+        if (exponent > RootFinder.MAX_DEGREE) {
+            position = start;
+            throw error("Exponent exceeds " + RootFinder.MAX_DEGREE);
+        }
+        return (int) exponent;
+    }
+
+    private boolean isVariable() {
+        return position < length && (input.charAt(position) == 'x' || input.charAt(position) == 'X');
+    }
+
+    private static boolean isNumberStart(char c) {
+        return Character.isDigit(c) || c == '.';
+    }
+
+    private void skipWhitespace() {
+        while (position < length && Character.isWhitespace(input.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " in '" + input + "'.");
+    }
+}
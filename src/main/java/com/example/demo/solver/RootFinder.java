@@ -0,0 +1,406 @@
+package com.example.demo.solver;
+
+import java.util.Arrays;
+
+/**
+ * Recherche simultanée de toutes les racines complexes d'un polynôme à coefficients réels
+ * par la méthode d'Aberth–Ehrlich, suivie d'un polissage de Newton sur le polynôme d'origine.
+ *
+ * <p>Les coefficients sont donnés par degré croissant ({@code coefficients[i]} multiplie x^i).
+ * Tout le calcul se fait sur des tableaux de doubles (parties réelles et imaginaires séparées),
+ * sans objet complexe intermédiaire.</p>
+ *
+ * <p>Quand l'évaluation directe déborde (degré élevé, |z| grand : Infinity puis NaN), p et p' sont évalués
+ * sur le polynôme réciproque en 1/z, où |z|^n n'est jamais formé.</p>
+ */
+public final class RootFinder {
+
+    public static final int MAX_DEGREE = 1000;
+
+    private static final int MAX_ITERATIONS = 500;
+    private static final int POLISH_STEPS = 3;
+    private static final double EPSILON = 1e-14;
+
+    private RootFinder() {
+    }
+
+    /**
+     * @return les racines sous la forme {re[], im[]}, de longueur égale au degré
+     */
+    public static double[][] findRoots(double[] coefficients) {
+        int degree = degree(coefficients);
+        if (degree < 1) {
+            throw new IllegalArgumentException("Polynomial must have degree >= 1.");
+        }
+        if (degree > MAX_DEGREE) {
+            throw new IllegalArgumentException("Polynomial degree must not exceed " + MAX_DEGREE + ".");
+        }
+        for (int i = 0; i <= degree; i++) {
+            if (!Double.isFinite(coefficients[i])) {
+                throw new IllegalArgumentException("Coefficients must be finite numbers.");
+            }
+        }
+
+        double[] re = new double[degree];
+        double[] im = new double[degree];
+
+        // Racines nulles : on retire les coefficients de plus bas degré qui sont nuls
+        int low = 0;
+        while (coefficients[low] == 0.0) {
+            low++;
+        }
+        int reducedDegree = degree - low;
+        double[] reduced = Arrays.copyOfRange(coefficients, low, degree + 1);
+
+        if (reducedDegree == 1) {
+            re[0] = -reduced[0] / reduced[1];
+        } else if (reducedDegree == 2) {
+            solveQuadratic(reduced, re, im);
+        } else if (reducedDegree > 2) {
+            aberth(reduced, reducedDegree, re, im);
+            for (int k = 0; k < reducedDegree; k++) {
+                polish(reduced, reducedDegree, re, im, k);
+            }
+            mergeMultipleRoots(reduced, reducedDegree, re, im);
+        }
+        for (int k = 0; k < reducedDegree; k++) {
+            if (!Double.isFinite(re[k]) || !Double.isFinite(im[k])) {
+                throw new IllegalArgumentException("Polynomial roots exceed the representable range.");
+            }
+        }
+        cleanUp(re, im, reducedDegree);
+        return new double[][] {re, im};
+    }
+
+    public static int degree(double[] coefficients) {
+        int degree = coefficients.length - 1;
+        while (degree >= 0 && coefficients[degree] == 0.0) {
+            degree--;
+        }
+        return degree;
+    }
+
+    // Formule stable (évite l'annulation catastrophique de -b + sqrt(delta))
+    private static void solveQuadratic(double[] c, double[] re, double[] im) {
+        double a = c[2];
+        double b = c[1];
+        double d = c[0];
+        double delta = b * b - 4 * a * d;
+        if (delta >= 0) {
+            double sqrt = Math.sqrt(delta);
+            double q = -0.5 * (b + Math.copySign(sqrt, b));
+            if (q == 0.0) {
+                re[0] = 0.0;
+                re[1] = 0.0;
+            } else {
+                re[0] = q / a;
+                re[1] = d / q;
+            }
+        } else {
+            double sqrt = Math.sqrt(-delta);
+            re[0] = -b / (2 * a);
+            re[1] = re[0];
+            im[0] = sqrt / (2 * a);
+            im[1] = -im[0];
+        }
+    }
+
+    private static void aberth(double[] c, int n, double[] re, double[] im) {
+        // Estimations initiales sur un cercle centré sur le barycentre des racines
+        double center = -c[n - 1] / (n * c[n]);
+        if (!Double.isFinite(center)) {
+            center = 0.0;
+        }
+        double radius = initialRadius(c, n, center);
+        for (int k = 0; k < n; k++) {
+            double angle = 2 * Math.PI * k / n + 0.4;
+            re[k] = center + radius * Math.cos(angle);
+            im[k] = radius * Math.sin(angle);
+        }
+
+        double[] w = new double[2];
+        double[] correction = new double[2];
+        boolean[] converged = new boolean[n];
+        int remaining = n;
+        for (int iteration = 0; iteration < MAX_ITERATIONS && remaining > 0; iteration++) {
+            for (int k = 0; k < n; k++) {
+                if (converged[k]) {
+                    continue;
+                }
+                double zr = re[k];
+                double zi = im[k];
+
+                // w = p / p' ; point critique : petite perturbation pour sortir du point stationnaire
+                if (!newtonStep(c, n, zr, zi, w)) {
+                    re[k] += radius * 1e-3;
+                    im[k] += radius * 1e-3;
+                    continue;
+                }
+                double wr = w[0];
+                double wi = w[1];
+
+                // s = somme des 1 / (z_k - z_j)
+                double sr = 0.0;
+                double si = 0.0;
+                for (int j = 0; j < n; j++) {
+                    if (j == k) {
+                        continue;
+                    }
+                    double ur = zr - re[j];
+                    double ui = zi - im[j];
+                    double uu = ur * ur + ui * ui;
+                    if (uu == 0.0) {
+                        continue;
+                    }
+                    sr += ur / uu;
+                    si -= ui / uu;
+                }
+
+                // correction = w / (1 - w * s)
+                double denr = 1.0 - (wr * sr - wi * si);
+                double deni = -(wr * si + wi * sr);
+                double den = denr * denr + deni * deni;
+                if (den == 0.0) {
+                    correction[0] = wr;
+                    correction[1] = wi;
+                } else if (Double.isFinite(den)) {
+                    correction[0] = (wr * denr + wi * deni) / den;
+                    correction[1] = (wi * denr - wr * deni) / den;
+                } else {
+                    divide(wr, wi, denr, deni, correction);
+                }
+                double cr = correction[0];
+                double ci = correction[1];
+                if (!Double.isFinite(cr) || !Double.isFinite(ci)) {
+                    // Itéré non représentable : on garde z et on le décale, comme pour un point stationnaire
+                    re[k] += radius * 1e-3;
+                    im[k] += radius * 1e-3;
+                    continue;
+                }
+                re[k] = zr - cr;
+                im[k] = zi - ci;
+
+                if (Math.hypot(cr, ci) <= EPSILON * Math.max(1.0, Math.hypot(re[k], im[k]))) {
+                    converged[k] = true;
+                    remaining--;
+                }
+            }
+        }
+    }
+
+    /*
+     * Pas de Newton w = p(z) / p'(z) dans out ; false si p'(z) = 0 ou si le pas n'est pas fini.
+     * Évaluation directe tant qu'elle reste finie : une même grappe de racines multiples est ainsi évaluée
+     * par un seul schéma, ce qui garde son polygone régulier. Sinon (|z| > 1), avec y = 1/z et
+     * q(y) = y^n p(1/y) (coefficients inversés) : p(z) / p'(z) = z / (n - y q'(y) / q(y)), |y| < 1.
+     */
+    private static boolean newtonStep(double[] c, int n, double zr, double zi, double[] out) {
+        // Horner : p(z) et p'(z) en une seule passe
+        double pr = c[n];
+        double pi = 0.0;
+        double dr = 0.0;
+        double di = 0.0;
+        for (int i = n - 1; i >= 0; i--) {
+            double ndr = dr * zr - di * zi + pr;
+            di = dr * zi + di * zr + pi;
+            dr = ndr;
+            double npr = pr * zr - pi * zi + c[i];
+            pi = pr * zi + pi * zr;
+            pr = npr;
+        }
+        if (Double.isFinite(pr) && Double.isFinite(pi) && Double.isFinite(dr) && Double.isFinite(di)) {
+            if (pr == 0.0 && pi == 0.0) {
+                out[0] = 0.0;
+                out[1] = 0.0;
+                return true;
+            }
+            if (dr == 0.0 && di == 0.0) {
+                return false;
+            }
+            double dd = dr * dr + di * di;
+            if (Double.isFinite(dd)) {
+                out[0] = (pr * dr + pi * di) / dd;
+                out[1] = (pi * dr - pr * di) / dd;
+            } else {
+                divide(pr, pi, dr, di, out);
+            }
+            return Double.isFinite(out[0]) && Double.isFinite(out[1]);
+        }
+        if (Math.hypot(zr, zi) <= 1.0) {
+            return false; // Coefficients eux-mêmes proches de MAX_VALUE : pas de forme plus sûre
+        }
+        divide(1.0, 0.0, zr, zi, out);
+        double yr = out[0];
+        double yi = out[1];
+        double qr = c[0];
+        double qi = 0.0;
+        dr = 0.0;
+        di = 0.0;
+        for (int i = 1; i <= n; i++) {
+            double ndr = dr * yr - di * yi + qr;
+            di = dr * yi + di * yr + qi;
+            dr = ndr;
+            double nqr = qr * yr - qi * yi + c[i];
+            qi = qr * yi + qi * yr;
+            qr = nqr;
+        }
+        if (qr == 0.0 && qi == 0.0) {
+            out[0] = 0.0;
+            out[1] = 0.0;
+            return true;
+        }
+        divide(dr, di, qr, qi, out); // q'/q
+        double tr = n - (yr * out[0] - yi * out[1]);
+        double ti = -(yr * out[1] + yi * out[0]);
+        if (tr == 0.0 && ti == 0.0) {
+            return false;
+        }
+        divide(zr, zi, tr, ti, out);
+        return Double.isFinite(out[0]) && Double.isFinite(out[1]);
+    }
+
+    // Division complexe de Smith : pas de |b|^2, donc pas de dépassement pour des modules proches de MAX_VALUE
+    private static void divide(double ar, double ai, double br, double bi, double[] out) {
+        if (Math.abs(br) >= Math.abs(bi)) {
+            double ratio = bi / br;
+            double den = br + bi * ratio;
+            out[0] = (ar + ai * ratio) / den;
+            out[1] = (ai - ar * ratio) / den;
+        } else {
+            double ratio = br / bi;
+            double den = br * ratio + bi;
+            out[0] = (ar * ratio + ai) / den;
+            out[1] = (ai * ratio - ar) / den;
+        }
+    }
+
+    private static double initialRadius(double[] c, int n, double center) {
+        // Borne de Fujiwara centrée approximativement : max |a_i / a_n|^(1/(n-i)) ;
+        // en logarithmes quand le quotient déborde (1e300 / 1e-300)
+        double radius = 0.0;
+        for (int i = 0; i < n; i++) {
+            double ratio = Math.abs(c[i] / c[n]);
+            if (ratio == Double.POSITIVE_INFINITY) {
+                radius = Math.max(radius, Math.exp((Math.log(Math.abs(c[i])) - Math.log(Math.abs(c[n]))) / (n - i)));
+            } else if (ratio > 0) {
+                radius = Math.max(radius, Math.pow(ratio, 1.0 / (n - i)));
+            }
+        }
+        radius = Math.max(radius - Math.abs(center), radius * 0.5);
+        return radius > 0 && Double.isFinite(radius) ? radius : 1.0;
+    }
+
+    // Quelques pas de Newton, conservés seulement s'ils diminuent l'erreur inverse en z
+    private static void polish(double[] c, int n, double[] re, double[] im, int k) {
+        double[] w = new double[2];
+        double zr = re[k];
+        double zi = im[k];
+        double best = backwardError(c, n, zr, zi, w);
+        for (int step = 0; step < POLISH_STEPS && best > 0; step++) {
+            if (!newtonStep(c, n, zr, zi, w)) {
+                break;
+            }
+            double nr = zr - w[0];
+            double ni = zi - w[1];
+            double candidate = backwardError(c, n, nr, ni, w);
+            if (!(candidate < best)) {
+                break;
+            }
+            best = candidate;
+            zr = nr;
+            zi = ni;
+        }
+        re[k] = zr;
+        im[k] = zi;
+    }
+
+    /*
+     * Une racine de multiplicité m n'est obtenue qu'à ~eps^(1/m) près, sous forme d'un petit
+     * polygone d'approximations. Leur barycentre est bien plus précis : on le retient si son résidu
+     * n'est pas pire que celui des membres (ce qui écarte deux racines distinctes mais proches).
+     */
+    private static void mergeMultipleRoots(double[] c, int n, double[] re, double[] im) {
+        double[] scratch = new double[2];
+        boolean[] assigned = new boolean[n];
+        int[] members = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (assigned[i]) {
+                continue;
+            }
+            double tolerance = 1e-4 * Math.max(1.0, Math.hypot(re[i], im[i]));
+            int count = 0;
+            double sumRe = 0.0;
+            double sumIm = 0.0;
+            double worst = 0.0;
+            for (int j = i; j < n; j++) {
+                if (!assigned[j] && Math.hypot(re[j] - re[i], im[j] - im[i]) <= tolerance) {
+                    members[count++] = j;
+                    sumRe += re[j];
+                    sumIm += im[j];
+                    worst = Math.max(worst, backwardError(c, n, re[j], im[j], scratch));
+                }
+            }
+            if (count < 2) {
+                continue;
+            }
+            double meanRe = sumRe / count;
+            double meanIm = sumIm / count;
+            // 8n·eps : erreur d'arrondi attendue de Horner ; au-delà, le résidu n'est plus du bruit
+            if (backwardError(c, n, meanRe, meanIm, scratch) <= Math.max(worst, 8 * n * Math.ulp(1.0))) {
+                for (int m = 0; m < count; m++) {
+                    re[members[m]] = meanRe;
+                    im[members[m]] = meanIm;
+                    assigned[members[m]] = true;
+                }
+            }
+        }
+    }
+
+    /*
+     * Erreur inverse relative |p(z)| / Σ|c_i|·|z|^i : indépendante de l'échelle des coefficients.
+     * Si l'évaluation directe déborde (|z| > 1), même quotient sur le polynôme réciproque en 1/z
+     * (numérateur et dénominateur divisés par |z|^n).
+     */
+    private static double backwardError(double[] c, int n, double zr, double zi, double[] scratch) {
+        double modulus = Math.hypot(zr, zi);
+        double pr = c[n];
+        double pi = 0.0;
+        double scale = Math.abs(c[n]);
+        for (int i = n - 1; i >= 0; i--) {
+            double npr = pr * zr - pi * zi + c[i];
+            pi = pr * zi + pi * zr;
+            pr = npr;
+            scale = scale * modulus + Math.abs(c[i]);
+        }
+        if (Double.isFinite(scale) || modulus <= 1.0) {
+            return Math.hypot(pr, pi) / scale;
+        }
+        divide(1.0, 0.0, zr, zi, scratch);
+        double yr = scratch[0];
+        double yi = scratch[1];
+        double inverse = 1.0 / modulus;
+        pr = c[0];
+        pi = 0.0;
+        scale = Math.abs(c[0]);
+        for (int i = 1; i <= n; i++) {
+            double npr = pr * yr - pi * yi + c[i];
+            pi = pr * yi + pi * yr;
+            pr = npr;
+            scale = scale * inverse + Math.abs(c[i]);
+        }
+        return Math.hypot(pr, pi) / scale;
+    }
+
+    // Les coefficients étant réels, une partie imaginaire négligeable est du bruit numérique
+    private static void cleanUp(double[] re, double[] im, int count) {
+        for (int k = 0; k < count; k++) {
+            double scale = Math.max(1.0, Math.hypot(re[k], im[k]));
+            if (Math.abs(im[k]) <= 1e-9 * scale) {
+                im[k] = 0.0;
+            }
+            if (Math.abs(re[k]) <= 1e-12 * scale) {
+                re[k] = 0.0;
+            }
+        }
+    }
+}
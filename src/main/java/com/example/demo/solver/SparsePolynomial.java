@@ -0,0 +1,101 @@
+package com.example.demo.solver;
+
+import java.util.Arrays;
+
+/**
+ * Forme creuse et immuable d'un polynôme : les seuls termes non nuls, par degré décroissant.
+ * "x^50 - 1" tient en deux termes au lieu de 51 coefficients. Deux expressions équivalentes
+ * ("x^2+2x+1", "1 + 2*x + x^2") donnent des instances égales et la même forme canonique.
+ */
+public final class SparsePolynomial {
+
+    private static final SparsePolynomial ZERO = new SparsePolynomial(new int[0], new double[0]);
+
+    private final int[] degrees;
+    private final double[] coefficients;
+    private String canonical;
+
+    private SparsePolynomial(int[] degrees, double[] coefficients) {
+        this.degrees = degrees;
+        this.coefficients = coefficients;
+    }
+
+    // Coefficients par degré croissant, comme les renvoie PolynomialParser.parse
+    public static SparsePolynomial of(double[] ascending) {
+        int terms = 0;
+        for (double coefficient : ascending) {
+            if (coefficient != 0.0) {
+                terms++;
+            }
+        }
+        if (terms == 0) {
+            return ZERO;
+        }
+        int[] degrees = new int[terms];
+        double[] coefficients = new double[terms];
+        int t = 0;
+        for (int degree = ascending.length - 1; degree >= 0; degree--) {
+            if (ascending[degree] != 0.0) {
+                degrees[t] = degree;
+                coefficients[t++] = ascending[degree];
+            }
+        }
+        return new SparsePolynomial(degrees, coefficients);
+    }
+
+    public int terms() {
+        return degrees.length;
+    }
+
+    public int degreeAt(int term) {
+        return degrees[term];
+    }
+
+    public double coefficientAt(int term) {
+        return coefficients[term];
+    }
+
+    // Degré du terme dominant ; 0 pour le polynôme nul
+    public int degree() {
+        return degrees.length == 0 ? 0 : degrees[0];
+    }
+
+    public double[] toAscending() {
+        double[] ascending = new double[degree() + 1];
+        for (int t = 0; t < degrees.length; t++) {
+            ascending[degrees[t]] = coefficients[t];
+        }
+        return ascending;
+    }
+
+    // Forme canonique exacte (PolynomialFormatter.formatCanonical) ; calculée une fois
+    public String canonical() {
+        String text = canonical;
+        if (text == null) {
+            text = PolynomialFormatter.formatCanonical(this);
+            canonical = text;
+        }
+        return text;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SparsePolynomial that)) {
+            return false;
+        }
+        return Arrays.equals(degrees, that.degrees) && Arrays.equals(coefficients, that.coefficients);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(degrees) + Arrays.hashCode(coefficients);
+    }
+
+    @Override
+    public String toString() {
+        return canonical();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.solver;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Horner vectoriel : chaque voie SIMD porte un point, les coefficients sont diffusés à toutes les voies.
+ * Le polynôme entier est évalué en registres pour un bloc de points, en une seule passe sur les tableaux.
+ * Classe chargée uniquement quand le module jdk.incubator.vector est présent (voir {@link PolynomialEvaluator}).
+ */
+final class VectorHorner {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorHorner() {
+    }
+
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    static void evaluate(double[] c, int degree, double[] x, double[] out) {
+        int upper = degree < 0 ? 0 : SPECIES.loopBound(x.length);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector z = DoubleVector.fromArray(SPECIES, x, i);
+            DoubleVector y = DoubleVector.broadcast(SPECIES, c[degree]);
+            for (int k = degree - 1; k >= 0; k--) {
+                y = y.fma(z, DoubleVector.broadcast(SPECIES, c[k]));
+            }
+            y.intoArray(out, i);
+        }
+        PolynomialEvaluator.evaluateScalar(c, degree, x, out, i, x.length);
+    }
+
+    static void evaluate(double[] c, int degree, double[] re, double[] im, double[] outRe, double[] outIm) {
+        int upper = degree < 0 ? 0 : SPECIES.loopBound(re.length);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector zr = DoubleVector.fromArray(SPECIES, re, i);
+            DoubleVector zi = DoubleVector.fromArray(SPECIES, im, i);
+            DoubleVector yr = DoubleVector.broadcast(SPECIES, c[degree]);
+            DoubleVector yi = DoubleVector.zero(SPECIES);
+            for (int k = degree - 1; k >= 0; k--) {
+                DoubleVector nr = yr.fma(zr, yi.neg().fma(zi, DoubleVector.broadcast(SPECIES, c[k])));
+                yi = yr.fma(zi, yi.mul(zr));
+                yr = nr;
+            }
+            yr.intoArray(outRe, i);
+            yi.intoArray(outIm, i);
+        }
+        PolynomialEvaluator.evaluateScalar(c, degree, re, im, outRe, outIm, i, re.length);
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.demo.solver;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Factorisation d'un polynôme primitif sans facteur carré de Z[x] (algorithme de Zassenhaus) :
+ * passage à un polynôme unitaire, factorisation modulo un petit premier, relèvement de Hensel
+ * jusqu'à dépasser la borne de Mignotte, puis recombinaison des facteurs modulaires par sous-ensembles.
+ * La recombinaison est exponentielle dans le pire cas : au-delà d'un budget de produits essayés,
+ * ou une fois l'échéance passée, la factorisation est déclarée incomplète.
+ */
+final class Zassenhaus {
+
+    // Premiers candidats ; on garde celui qui donne le moins de facteurs parmi les premiers admissibles
+    private static final int[] PRIMES = {3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 53, 59, 61, 67, 71, 73,
+            79, 83, 89, 97, 101, 103, 107, 109, 113, 127, 131, 137, 139, 149, 151, 157, 163, 167, 173, 179, 181, 191,
+            193, 197, 199, 211, 223, 227, 229, 233, 239, 241, 251, 257, 263, 269, 271, 277, 281, 283, 293};
+    private static final int PRIMES_TRIED = 5;
+
+    private final int subsetBudget;
+    private final long deadline; // System.nanoTime()
+    private int subsetsTried;
+
+    Zassenhaus(int subsetBudget, long deadline) {
+        this.subsetBudget = subsetBudget;
+        this.deadline = deadline;
+    }
+
+    private boolean expired() {
+        return System.nanoTime() - deadline > 0;
+    }
+
+    /**
+     * @return les facteurs irréductibles primitifs de f, ou null si le budget de recombinaison ou de temps est épuisé
+     */
+    List<BigInteger[]> factor(BigInteger[] f) {
+        int n = IntPolynomials.degree(f);
+        List<BigInteger[]> result = new ArrayList<>();
+        if (n <= 1) {
+            result.add(f);
+            return result;
+        }
+
+        // G(x) = lc^(n-1) · f(x / lc) est unitaire ; un facteur h de G redonne pp(h(lc · x))
+        BigInteger lead = IntPolynomials.leading(f);
+        BigInteger[] monic = new BigInteger[n + 1];
+        BigInteger power = BigInteger.ONE;
+        for (int i = n - 1; i >= 0; i--) {
+            monic[i] = f[i].multiply(power);
+            power = power.multiply(lead);
+        }
+        monic[n] = BigInteger.ONE;
+
+        ModularPolynomials field = choosePrime(monic);
+        List<long[]> modular = field.factor(field.reduce(monic));
+        if (modular.size() == 1) {
+            result.add(f);
+            return result;
+        }
+
+        BigInteger prime = BigInteger.valueOf(field.prime());
+        BigInteger bound = mignotteBound(monic).shiftLeft(1);
+        BigInteger modulus = prime;
+        while (modulus.compareTo(bound) <= 0) {
+            modulus = modulus.multiply(prime);
+        }
+        List<BigInteger[]> lifted = new ArrayList<>(modular.size());
+        if (expired() || !lift(field, monic, modular, modulus, lifted)) {
+            return null;
+        }
+
+        List<BigInteger[]> monicFactors = recombine(monic, lifted, modulus);
+        if (monicFactors == null) {
+            return null;
+        }
+        for (BigInteger[] h : monicFactors) {
+            BigInteger[] scaled = new BigInteger[h.length];
+            BigInteger leadPower = BigInteger.ONE;
+            for (int i = 0; i < h.length; i++) {
+                scaled[i] = h[i].multiply(leadPower);
+                leadPower = leadPower.multiply(lead);
+            }
+            result.add(IntPolynomials.primitivePart(scaled));
+        }
+        return result;
+    }
+
+    private static ModularPolynomials choosePrime(BigInteger[] monic) {
+        ModularPolynomials best = null;
+        int bestCount = Integer.MAX_VALUE;
+        int admissible = 0;
+        for (int prime : PRIMES) {
+            ModularPolynomials field = new ModularPolynomials(prime);
+            long[] reduced = field.reduce(monic);
+            if (!field.isSquareFree(reduced)) {
+                continue;
+            }
+            int count = field.countFactors(reduced);
+            if (count < bestCount) {
+                best = field;
+                bestCount = count;
+            }
+            if (++admissible == PRIMES_TRIED || count == 1) {
+                break;
+            }
+        }
+        if (best == null) {
+            throw new IllegalStateException("Aucun premier admissible pour la factorisation");
+        }
+        return best;
+    }
+
+    // 2^n · ||G||_2 majore les coefficients de tout facteur de G (Mignotte)
+    private static BigInteger mignotteBound(BigInteger[] monic) {
+        BigInteger squares = BigInteger.ZERO;
+        for (BigInteger c : monic) {
+            squares = squares.add(c.multiply(c));
+        }
+        return squares.sqrt().add(BigInteger.ONE).shiftLeft(IntPolynomials.degree(monic));
+    }
+
+    /**
+     * Relèvement de Hensel en arbre : f ≡ A·B (mod p) est relevé jusqu'au module, puis chaque moitié
+     * est relevée récursivement à partir de son relevé. Facteurs unitaires, coefficients dans [0, module).
+     * Renvoie false si l'échéance est dépassée.
+     */
+    private boolean lift(ModularPolynomials field, BigInteger[] f, List<long[]> factors, BigInteger modulus,
+                         List<BigInteger[]> lifted) {
+        if (factors.size() == 1) {
+            lifted.add(reduce(f, modulus));
+            return true;
+        }
+        int half = factors.size() / 2;
+        List<long[]> left = factors.subList(0, half);
+        List<long[]> right = factors.subList(half, factors.size());
+        long[] a0 = product(field, left);
+        long[] b0 = product(field, right);
+        long[][] st = field.bezout(a0, b0);
+
+        BigInteger prime = BigInteger.valueOf(field.prime());
+        BigInteger[] a = toBig(a0);
+        BigInteger[] b = toBig(b0);
+        BigInteger m = prime;
+        while (m.compareTo(modulus) < 0) {
+            if (expired()) {
+                return false;
+            }
+            // e = (f - A·B) / m mod p ; A += m·(t·e mod A), B += m·(s·e mod B)
+            BigInteger[] error = IntPolynomials.subtract(f, IntPolynomials.multiply(a, b));
+            long[] e = field.reduce(IntPolynomials.divide(error, m));
+            long[] da = field.remainder(field.multiply(st[1], e), a0);
+            long[] db = field.remainder(field.multiply(st[0], e), b0);
+            a = addScaled(a, da, m);
+            b = addScaled(b, db, m);
+            m = m.multiply(prime);
+        }
+        return lift(field, a, left, modulus, lifted) && lift(field, b, right, modulus, lifted);
+    }
+
+    private List<BigInteger[]> recombine(BigInteger[] g, List<BigInteger[]> lifted, BigInteger modulus) {
+        List<BigInteger[]> factors = new ArrayList<>();
+        List<BigInteger[]> remaining = new ArrayList<>(lifted);
+        int size = 1;
+        while (2 * size <= remaining.size()) {
+            int[] subset = firstSubset(size);
+            boolean found = false;
+            do {
+                if (++subsetsTried > subsetBudget || expired()) {
+                    return null;
+                }
+                BigInteger[] candidate = symmetric(productOf(remaining, subset, modulus), modulus);
+                // Filtre rapide : le terme constant d'un facteur divise celui de g
+                if (candidate[0].signum() == 0 || g[0].remainder(candidate[0]).signum() != 0) {
+                    continue;
+                }
+                BigInteger[] quotient = IntPolynomials.divideExact(g, candidate);
+                if (quotient != null) {
+                    factors.add(candidate);
+                    g = quotient;
+                    for (int k = subset.length - 1; k >= 0; k--) {
+                        remaining.remove(subset[k]);
+                    }
+                    found = true;
+                    break;
+                }
+            } while (nextSubset(subset, remaining.size()));
+            if (!found) {
+                size++;
+            }
+        }
+        if (IntPolynomials.degree(g) > 0) {
+            factors.add(g); // Aucune combinaison plus petite : le reste est irréductible
+        }
+        return factors;
+    }
+
+    private static BigInteger[] productOf(List<BigInteger[]> factors, int[] subset, BigInteger modulus) {
+        BigInteger[] product = {BigInteger.ONE};
+        for (int index : subset) {
+            product = reduce(IntPolynomials.multiply(product, factors.get(index)), modulus);
+        }
+        return product;
+    }
+
+    private static int[] firstSubset(int size) {
+        int[] subset = new int[size];
+        for (int i = 0; i < size; i++) {
+            subset[i] = i;
+        }
+        return subset;
+    }
+
+    // Combinaison suivante dans l'ordre lexicographique ; false après la dernière
+    private static boolean nextSubset(int[] subset, int n) {
+        int k = subset.length - 1;
+        while (k >= 0 && subset[k] == n - subset.length + k) {
+            k--;
+        }
+        if (k < 0) {
+            return false;
+        }
+        subset[k]++;
+        for (int i = k + 1; i < subset.length; i++) {
+            subset[i] = subset[i - 1] + 1;
+        }
+        return true;
+    }
+
+    private static long[] product(ModularPolynomials field, List<long[]> factors) {
+        long[] product = {1};
+        for (long[] factor : factors) {
+            product = field.multiply(product, factor);
+        }
+        return product;
+    }
+
+    private static BigInteger[] toBig(long[] a) {
+        BigInteger[] result = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = BigInteger.valueOf(a[i]);
+        }
+        return result;
+    }
+
+    private static BigInteger[] addScaled(BigInteger[] a, long[] delta, BigInteger m) {
+        BigInteger[] result = a.clone();
+        for (int i = 0; i < delta.length; i++) {
+            result[i] = result[i].add(m.multiply(BigInteger.valueOf(delta[i])));
+        }
+        return result;
+    }
+
+    private static BigInteger[] reduce(BigInteger[] a, BigInteger modulus) {
+        BigInteger[] result = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i].mod(modulus);
+        }
+        return IntPolynomials.trim(result);
+    }
+
+    // Représentants dans ]-m/2, m/2]
+    private static BigInteger[] symmetric(BigInteger[] a, BigInteger modulus) {
+        BigInteger half = modulus.shiftRight(1);
+        BigInteger[] result = new BigInteger[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i].compareTo(half) > 0 ? a[i].subtract(modulus) : a[i];
+        }
+        return IntPolynomials.trim(result);
+    }
+}
@@ -0,0 +1,40 @@
+-- Mise à niveau d'une base créée par Hibernate (spring.jpa.hibernate.ddl-auto=create, avant Flyway)
+-- vers le schéma de V1. Exécuté une seule fois par LegacySchemaUpgrade, avant la ligne de base Flyway.
+-- Des emails ou noms d'utilisateur en double font échouer les contraintes d'unicité : à dédoublonner avant.
+
+alter table user add constraint uk_user_email unique (email);
+alter table user add constraint uk_user_username unique (username);
+
+-- L'ancienne colonne roots n'est pas convertible en SQL : root_data reste vide jusqu'au recalcul des racines
+-- (POST /api/admins/recompute-roots). Les lignes existantes n'ont pas d'empreinte et ne sont pas dédupliquées.
+alter table polynomial drop column roots;
+alter table polynomial add column fingerprint varchar(64);
+alter table polynomial add column root_data blob;
+alter table polynomial add constraint uk_polynomial_user_fingerprint unique (user_id, fingerprint);
+
+create index idx_polynomial_user_id on polynomial (user_id);
+create index idx_polynomial_simplified_expression on polynomial (simplified_expression);
+
+create table email_outbox (
+    id bigint not null auto_increment,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body text not null,
+    status varchar(16) not null,
+    attempts integer not null,
+    next_attempt_at datetime(6) not null,
+    created_at datetime(6) not null,
+    sent_at datetime(6),
+    last_error varchar(500),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_email_outbox_due on email_outbox (status, next_attempt_at);
+
+create table revoked_token (
+    jti varchar(36) not null,
+    expires_at datetime(6) not null,
+    primary key (jti)
+) engine=InnoDB;
+
+create index idx_revoked_token_expires on revoked_token (expires_at);
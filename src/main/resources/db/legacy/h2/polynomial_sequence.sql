@@ -0,0 +1,7 @@
+-- Forme de V2 : ids de polynomial fournis par polynomial_seq et non plus par une colonne identité.
+-- La séquence repart au-delà du plus grand id existant (marge d'un incrément de l'optimiseur pooled).
+alter table polynomial alter column id drop identity;
+
+create sequence polynomial_seq start with 1 increment by 50;
+
+alter sequence polynomial_seq restart with (select coalesce(max(id), 0) + 51 from polynomial);
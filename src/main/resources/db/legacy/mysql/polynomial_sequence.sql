@@ -0,0 +1,9 @@
+-- Forme de V2 : ids de polynomial fournis par polynomial_seq et non plus par auto_increment.
+-- La séquence repart au-delà du plus grand id existant (marge d'un incrément de l'optimiseur pooled).
+alter table polynomial modify id bigint not null;
+
+create table polynomial_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into polynomial_seq select coalesce(max(id), 0) + 51 from polynomial;
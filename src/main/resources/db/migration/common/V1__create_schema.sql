@@ -0,0 +1,72 @@
+-- Schéma initial. Hibernate ne fait plus que valider (spring.jpa.hibernate.ddl-auto=validate) :
+-- toute évolution des entités passe par une nouvelle migration V<n>__<description>.sql.
+
+create table user (
+    id bigint not null auto_increment,
+    dtype varchar(31) not null,
+    username varchar(255),
+    email varchar(255),
+    password varchar(255),
+    telephone varchar(255),
+    verified bit not null,
+    role varchar(255),
+    primary key (id),
+    -- Connexion par email et contrôle d'unicité à l'inscription
+    constraint uk_user_email unique (email),
+    constraint uk_user_username unique (username)
+) engine=InnoDB;
+
+create table admin (
+    id bigint not null,
+    primary key (id),
+    constraint fk_admin_user foreign key (id) references user (id)
+) engine=InnoDB;
+
+create table calculator (
+    id bigint not null,
+    department varchar(255),
+    primary key (id),
+    constraint fk_calculator_user foreign key (id) references user (id)
+) engine=InnoDB;
+
+create table polynomial (
+    id bigint not null,
+    user_id bigint,
+    fingerprint varchar(64),
+    simplified_expression varchar(255),
+    factored_expression varchar(255),
+    root_data blob,
+    primary key (id),
+    -- Déduplication : une empreinte par utilisateur, sonde unique sur (user_id, fingerprint)
+    constraint uk_polynomial_user_fingerprint unique (user_id, fingerprint),
+    constraint fk_polynomial_user foreign key (user_id) references user (id)
+) engine=InnoDB;
+
+-- Liste par utilisateur triée par id (pagination par clé)
+create index idx_polynomial_user_id on polynomial (user_id);
+create index idx_polynomial_simplified_expression on polynomial (simplified_expression);
+
+create table email_outbox (
+    id bigint not null auto_increment,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body text not null,
+    status varchar(16) not null,
+    attempts integer not null,
+    next_attempt_at datetime(6) not null,
+    created_at datetime(6) not null,
+    sent_at datetime(6),
+    last_error varchar(500),
+    primary key (id)
+) engine=InnoDB;
+
+-- Réservation des messages dus : WHERE status IN (...) AND next_attempt_at <= ?
+create index idx_email_outbox_due on email_outbox (status, next_attempt_at);
+
+create table revoked_token (
+    jti varchar(36) not null,
+    expires_at datetime(6) not null,
+    primary key (jti)
+) engine=InnoDB;
+
+create index idx_revoked_token_expires on revoked_token (expires_at);
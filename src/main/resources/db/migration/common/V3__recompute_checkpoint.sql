@@ -0,0 +1,16 @@
+-- Point de reprise du recalcul des racines (PolynomialRecomputeJob) : une ligne par tâche.
+-- last_id est écrit dans la même transaction que le lot de mises à jour : une reprise après arrêt
+-- brutal repart exactement après le dernier lot validé. updated_at sert de bail entre instances.
+create table recompute_checkpoint (
+    job varchar(32) not null,
+    status varchar(16) not null,
+    last_id bigint not null,
+    processed bigint not null,
+    failed bigint not null,
+    total bigint not null,
+    started_at datetime(6),
+    updated_at datetime(6),
+    primary key (job)
+) engine=InnoDB;
+
+insert into recompute_checkpoint (job, status, last_id, processed, failed, total) values ('roots', 'IDLE', 0, 0, 0, 0);
@@ -0,0 +1,3 @@
+-- Propriétaire du bail de recompute_checkpoint : identifiant tiré à chaque prise de bail.
+-- Les écritures du point de reprise et le statut final ne passent que pour ce propriétaire.
+alter table recompute_checkpoint add column lease_owner varchar(36);
@@ -0,0 +1,2 @@
+-- Séquence native ; incrément égal à allocationSize (optimiseur pooled de Polynomial)
+create sequence polynomial_seq start with 1 increment by 50;
@@ -0,0 +1,6 @@
+-- MySQL n'a pas de séquences : Hibernate émule polynomial_seq par une table à une ligne
+create table polynomial_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into polynomial_seq values (1);
@@ -0,0 +1,155 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.CoreMigrationType;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.example.demo.entity.Polynomial;
+import com.example.demo.entity.PolynomialStoreResult;
+import com.example.demo.entity.Root;
+import com.example.demo.entity.User;
+import com.example.demo.repository.PolynomialRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PolynomialRecomputeJob;
+import com.example.demo.service.PolynomialService;
+
+/**
+ * Démarrages successifs de l'application sur une base H2 fichier (mode MySQL) : les migrations Flyway
+ * ne sont appliquées qu'une fois, Hibernate se contente de valider et les données survivent au redémarrage.
+ */
+class SchemaMigrationTest {
+
+    @TempDir
+    Path dataDir;
+
+    private String url() {
+        return "jdbc:h2:file:" + dataDir.resolve("polynome") + ";MODE=MySQL;NON_KEYWORDS=USER,VALUE";
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(PolynomeApplication.class).run(
+                "--spring.datasource.url=" + url(),
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--debug=false",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--security.password.bcrypt-strength=4",
+                "--logging.level.root=WARN");
+    }
+
+    // --- Premier démarrage : schéma créé par Flyway, validé par Hibernate ---
+    // --- Second démarrage : aucune migration rejouée, données conservées ---
+    @Test
+    void testRestart_KeepsDataAndSkipsMigrations() {
+        Long storedId;
+        long users;
+        int history;
+        try (ConfigurableApplicationContext context = start()) {
+            assertEquals(0, pending(context));
+            assertEquals("4", context.getBean(Flyway.class).info().current().getVersion().getVersion());
+            history = history(context);
+
+            User owner = new User();
+            owner.setUsername("migration");
+            owner.setEmail("migration@example.com");
+            owner = context.getBean(UserRepository.class).save(owner);
+            List<PolynomialStoreResult> results = context.getBean(PolynomialService.class)
+                    .savePolynomials(owner, List.of(polynomial("x^2 - 4", List.of(new Root(2, 0), new Root(-2, 0)))));
+            storedId = results.get(0).getId();
+            users = context.getBean(UserRepository.class).count();
+        }
+
+        long startedAt = System.nanoTime();
+        try (ConfigurableApplicationContext context = start()) {
+            long startupMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            assertEquals(0, pending(context));
+            assertEquals(history, history(context)); // Aucune migration rejouée
+            assertTrue(startupMillis < 60_000, "Redémarrage trop lent : " + startupMillis + " ms");
+
+            PolynomialRepository polynomials = context.getBean(PolynomialRepository.class);
+            Polynomial stored = polynomials.findById(storedId).orElseThrow();
+            assertEquals("x^2 - 4", stored.getSimplifiedExpression());
+            assertEquals(2, stored.getRoots().size());
+            assertEquals(users, context.getBean(UserRepository.class).count()); // DataInitializer ne recrée rien
+        }
+    }
+
+    // --- Base créée par Hibernate (ddl-auto=create) sans historique Flyway : mise à niveau, ligne de base en V2,
+    // migrations suivantes, puis racines reconstruites par le recalcul ---
+    @Test
+    void testStart_UpgradesHibernateSchema() throws InterruptedException {
+        JdbcTemplate legacy = new JdbcTemplate(new DriverManagerDataSource(url(), "sa", ""));
+        legacy.execute("create table user (verified bit not null, id bigint not null auto_increment, dtype varchar(31) not null, "
+                + "email varchar(255), password varchar(255), role varchar(255), telephone varchar(255), "
+                + "username varchar(255), primary key (id))");
+        legacy.execute("create table admin (id bigint not null, primary key (id))");
+        legacy.execute("create table calculator (id bigint not null, department varchar(255), primary key (id))");
+        legacy.execute("create table polynomial (id bigint not null auto_increment, user_id bigint, "
+                + "factored_expression varchar(255), roots varchar(10000), simplified_expression varchar(255), primary key (id))");
+        legacy.execute("alter table admin add constraint FKadmin foreign key (id) references user (id)");
+        legacy.execute("alter table calculator add constraint FKcalculator foreign key (id) references user (id)");
+        legacy.execute("alter table polynomial add constraint FKpolynomial foreign key (user_id) references user (id)");
+        legacy.update("insert into user (id, dtype, username, email, verified) values (10, 'User', 'legacy', 'legacy@example.com', 1)");
+        legacy.update("insert into polynomial (id, user_id, simplified_expression, factored_expression, roots) "
+                + "values (7, 10, 'x^2 - 4', '(x - 2)(x + 2)', '2.0,-2.0')");
+
+        try (ConfigurableApplicationContext context = start()) {
+            Flyway flyway = context.getBean(Flyway.class);
+            assertEquals(0, pending(context));
+            assertEquals("4", flyway.info().current().getVersion().getVersion());
+            MigrationInfo baseline = flyway.info().applied()[0];
+            assertEquals(CoreMigrationType.BASELINE, baseline.getType());
+            assertEquals(LegacySchemaUpgrade.BASELINE_VERSION, baseline.getVersion().getVersion());
+
+            User owner = context.getBean(UserRepository.class).findById(10L).orElseThrow();
+            List<PolynomialStoreResult> results = context.getBean(PolynomialService.class)
+                    .savePolynomials(owner, List.of(polynomial("x^2 - 9", List.of(new Root(3, 0), new Root(-3, 0)))));
+            assertTrue(results.get(0).getId() > 7); // Séquence repartie après les ids existants
+
+            PolynomialRecomputeJob job = context.getBean(PolynomialRecomputeJob.class);
+            assertTrue(job.start(false));
+            long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+            while (job.isRunning() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertFalse(job.isRunning());
+            Polynomial upgraded = context.getBean(PolynomialRepository.class).findById(7L).orElseThrow();
+            assertEquals("x^2 - 4", upgraded.getSimplifiedExpression());
+            assertEquals(2, upgraded.getRoots().size());
+        }
+    }
+
+    private static int pending(ConfigurableApplicationContext context) {
+        return context.getBean(Flyway.class).info().pending().length;
+    }
+
+    private static int history(ConfigurableApplicationContext context) {
+        return context.getBean(JdbcTemplate.class)
+                .queryForObject("SELECT COUNT(*) FROM \"flyway_schema_history\"", Integer.class);
+    }
+
+    private static Polynomial polynomial(String expression, List<Root> roots) {
+        Polynomial polynomial = new Polynomial();
+        polynomial.setSimplifiedExpression(expression);
+        polynomial.setFactoredExpression("(x - 2)(x + 2)");
+        polynomial.setRoots(roots);
+        return polynomial;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.mock.env.MockEnvironment;
+
+class VirtualThreadsGuardTest {
+
+    private final MockEnvironment virtual = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+
+    // --- Profil virtual sur Java 17 : démarrage refusé avec un message explicite ---
+    @Test
+    void testCheck_VirtualThreadsBeforeJava21Rejected() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> VirtualThreadsGuard.check(virtual, JavaVersion.SEVENTEEN));
+
+        assertTrue(exception.getMessage().contains("Java 21"));
+    }
+
+    @Test
+    void testCheck_VirtualThreadsOnJava21Accepted() {
+        assertDoesNotThrow(() -> VirtualThreadsGuard.check(virtual, JavaVersion.TWENTY_ONE));
+    }
+
+    // --- Sans le profil : aucune contrainte de version ---
+    @Test
+    void testCheck_PlatformThreadsAccepted() {
+        assertDoesNotThrow(() -> VirtualThreadsGuard.check(new MockEnvironment(), JavaVersion.SEVENTEEN));
+    }
+}
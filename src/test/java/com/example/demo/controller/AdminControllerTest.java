@@ -3,12 +3,9 @@ package com.example.demo.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -23,26 +20,36 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.example.demo.entity.Admin;
+import com.example.demo.entity.RecomputeProgress;
+import com.example.demo.security.AuthenticationService;
+import com.example.demo.security.AuthenticationService.LoginResult;
+import com.example.demo.security.TokenService;
 import com.example.demo.service.EmailService;
+import com.example.demo.service.PolynomialRecomputeJob;
 import com.example.demo.service.UserService;
+import com.example.demo.service.UserService.SaveResult;
 
-import jakarta.mail.MessagingException;
 
 class AdminControllerTest {
 
     @Mock
     private UserService userService;
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
 
     @Mock
     private EmailService emailService;
     @Mock
-    private JwtEncoder jwtEncoder;
+    private TokenService tokenService;
+
+    @Mock
+    private AuthenticationService authenticationService;
+
+    @Mock
+    private PolynomialRecomputeJob recomputeJob;
 
     @InjectMocks
     private AdminController adminController;
@@ -58,19 +65,12 @@ class AdminControllerTest {
         admin.setEmail("admin@example.com");
         admin.setPassword("password123");
         admin.setVerified(true);
+        when(userService.saveUnique(any())).thenReturn(SaveResult.SAVED);
     }
 
     // Test pour l'enregistrement d'un admin (succès)
     @Test
     void testRegisterAdmin_Success() {
-        when(userService.findUserByUsername("adminUser")).thenReturn(Optional.empty());
-        
-        try {
-            doNothing().when(emailService).sendVerificationEmail(anyString(), anyString());
-        } catch (MessagingException e) {
-            fail("Exception inattendue lors de la configuration du mock.");
-        }
-
         ResponseEntity<String> response = adminController.registerAdmin(admin);
 
         assertEquals(201, response.getStatusCodeValue());
@@ -81,24 +81,33 @@ class AdminControllerTest {
     // Test pour l'enregistrement d'un admin (échec - nom d'utilisateur déjà pris)
     @Test
     void testRegisterAdmin_UsernameTaken() {
-        when(userService.findUserByUsername("adminUser")).thenReturn(Optional.of(admin));
+        when(userService.saveUnique(admin)).thenReturn(SaveResult.USERNAME_TAKEN);
 
         ResponseEntity<String> response = adminController.registerAdmin(admin);
 
         assertEquals(409, response.getStatusCodeValue());
         assertEquals("Nom d'utilisateur déjà pris.", response.getBody());
+        verify(emailService, never()).sendVerificationEmail(any(), any());
     }
 
-    // Test pour l'envoi d'email échoué lors de l'enregistrement
+    // Test pour l'enregistrement d'un admin (échec - email déjà utilisé, refusé par la contrainte unique)
     @Test
-    void testRegisterAdmin_EmailException() throws MessagingException {
-        when(userService.findUserByUsername("adminUser")).thenReturn(Optional.empty());
-        doThrow(new MessagingException("Email error")).when(emailService).sendVerificationEmail(anyString(), anyString());
+    void testRegisterAdmin_EmailTaken() {
+        when(userService.saveUnique(admin)).thenReturn(SaveResult.EMAIL_TAKEN);
+
+        ResponseEntity<String> response = adminController.registerAdmin(admin);
+
+        assertEquals(409, response.getStatusCodeValue());
+        assertEquals("Email déjà utilisé.", response.getBody());
+    }
 
+    // L'email de vérification est mis en file : l'enregistrement ne dépend pas du serveur SMTP
+    @Test
+    void testRegisterAdmin_EmailQueued() {
         ResponseEntity<String> response = adminController.registerAdmin(admin);
 
-        assertEquals(500, response.getStatusCodeValue());
-        assertEquals("Erreur lors de l'envoi de l'email de vérification.", response.getBody());
+        assertEquals(201, response.getStatusCodeValue());
+        verify(emailService).sendVerificationEmail("admin@example.com", "adminUser");
     }
 
 
@@ -107,7 +116,8 @@ class AdminControllerTest {
     @Test
     void testLoginAdmin_NotVerified() {
         admin.setVerified(false);
-        when(userService.findAdminByEmail("admin@example.com")).thenReturn(Optional.of(admin));
+        when(authenticationService.authenticate(eq("admin@example.com"), any(), any()))
+                .thenReturn(new LoginResult<>(AuthenticationService.Status.NOT_VERIFIED, admin));
 
         ResponseEntity<Map<String, String>> response = adminController.loginCalculator(admin);
 
@@ -121,7 +131,8 @@ class AdminControllerTest {
     // Test pour la connexion échouée (admin introuvable)
     @Test
     void testLoginAdmin_NotFound() {
-        when(userService.findAdminByEmail("notfound@example.com")).thenReturn(Optional.empty());
+        when(authenticationService.authenticate(eq("notfound@example.com"), any(), any()))
+                .thenReturn(new LoginResult<>(AuthenticationService.Status.NOT_FOUND, null));
 
         Admin loginRequest = new Admin();
         loginRequest.setEmail("notfound@example.com");
@@ -229,4 +240,30 @@ class AdminControllerTest {
         assertEquals("Utilisateur non trouvé.", response.getBody());
     }
 
-}
\ No newline at end of file
+    // Recalcul des racines : 202 au lancement, 409 si la tâche tourne déjà
+    @Test
+    void testStartRootRecompute() {
+        RecomputeProgress progress = new RecomputeProgress("RUNNING", 0, 0, 0, 10, null, null, null, null);
+        when(recomputeJob.progress()).thenReturn(progress);
+        when(recomputeJob.start(false)).thenReturn(true).thenReturn(false);
+
+        ResponseEntity<RecomputeProgress> started = adminController.startRootRecompute(false);
+        ResponseEntity<RecomputeProgress> conflict = adminController.startRootRecompute(false);
+
+        assertEquals(202, started.getStatusCodeValue());
+        assertEquals(10, started.getBody().getTotal());
+        assertEquals(409, conflict.getStatusCodeValue());
+    }
+
+    @Test
+    void testGetRootRecomputeProgress() {
+        RecomputeProgress progress = new RecomputeProgress("RUNNING", 500, 500, 2, 1000, null, null, 250.0, 2L);
+        when(recomputeJob.progress()).thenReturn(progress);
+
+        ResponseEntity<RecomputeProgress> response = adminController.getRootRecomputeProgress();
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(2L, response.getBody().getEtaSeconds());
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.example.demo.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.example.demo.security.TokenService;
+
+class AuthControllerTest {
+
+    @Mock
+    private TokenService tokenService;
+
+    @InjectMocks
+    private AuthController authController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testRefresh_Success() {
+        when(tokenService.refresh("refresh")).thenReturn(new TokenService.TokenPair("access-2", "refresh-2", 900, List.of()));
+
+        ResponseEntity<Map<String, String>> response = authController.refresh(Map.of("refreshToken", "refresh"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("access-2", response.getBody().get("token"));
+        assertEquals("refresh-2", response.getBody().get("refreshToken"));
+    }
+
+    @Test
+    void testRefresh_InvalidToken() {
+        when(tokenService.refresh("revoked")).thenThrow(new BadJwtException("Refresh token revoked"));
+
+        ResponseEntity<Map<String, String>> response = authController.refresh(Map.of("refreshToken", "revoked"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+    }
+
+    @Test
+    void testRefresh_MissingToken() {
+        ResponseEntity<Map<String, String>> response = authController.refresh(Map.of());
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testLogout_WithoutBody() {
+        Jwt jwt = mock(Jwt.class);
+
+        ResponseEntity<Map<String, String>> response = authController.logout(jwt, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(tokenService).logout(eq(jwt), isNull());
+    }
+}
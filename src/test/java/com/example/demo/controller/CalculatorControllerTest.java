@@ -6,13 +6,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -25,17 +25,16 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.example.demo.entity.Calculator;
+import com.example.demo.security.AuthenticationService;
+import com.example.demo.security.AuthenticationService.LoginResult;
+import com.example.demo.security.TokenService;
 import com.example.demo.service.EmailService;
 import com.example.demo.service.UserService;
+import com.example.demo.service.UserService.SaveResult;
 
-import jakarta.mail.MessagingException;
 import static org.mockito.Mockito.doThrow;
 
 class CalculatorControllerTest {
@@ -47,11 +46,11 @@ class CalculatorControllerTest {
     private EmailService emailService;
 
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
     @Mock
-    private JwtEncoder jwtEncoder;
+    private TokenService tokenService;
     @Mock
-    private AuthenticationManager authenticationManager;
+    private AuthenticationService authenticationService;
 
     @InjectMocks
     private CalculatorController calculatorController;
@@ -66,6 +65,7 @@ class CalculatorControllerTest {
         calculator.setEmail("calculator@example.com");
         calculator.setPassword("password123");
         calculator.setVerified(true);
+        when(userService.saveUnique(any())).thenReturn(SaveResult.SAVED);
     }
 
 
@@ -73,23 +73,21 @@ class CalculatorControllerTest {
 
 
     @Test
-    void testRegisterCalculator_Success() throws MessagingException {
-        when(userService.findCalculatorByUsername(anyString())).thenReturn(Optional.empty());
-        when(userService.findCalculatorByEmail(anyString())).thenReturn(Optional.empty());
+    void testRegisterCalculator_Success() {
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
 
         ResponseEntity<String> response = calculatorController.registerCalculator(calculator);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals("Calculator enregistré avec succès. Veuillez vérifier votre e-mail.", response.getBody());
-        verify(userService).saveCalculator(calculator);
+        verify(userService).saveUnique(calculator);
         verify(emailService).sendVerificationEmail(calculator.getEmail(), calculator.getUsername());
     }
 
     // --- Test d'inscription avec nom d'utilisateur déjà pris ---
     @Test
     void testRegisterCalculator_UsernameTaken() {
-        when(userService.findCalculatorByUsername(calculator.getUsername())).thenReturn(Optional.of(calculator));
+        when(userService.saveUnique(calculator)).thenReturn(SaveResult.USERNAME_TAKEN);
 
         ResponseEntity<String> response = calculatorController.registerCalculator(calculator);
 
@@ -100,7 +98,7 @@ class CalculatorControllerTest {
     // --- Test d'inscription avec email déjà utilisé ---
     @Test
     void testRegisterCalculator_EmailTaken() {
-        when(userService.findCalculatorByEmail(calculator.getEmail())).thenReturn(Optional.of(calculator));
+        when(userService.saveUnique(calculator)).thenReturn(SaveResult.EMAIL_TAKEN);
 
         ResponseEntity<String> response = calculatorController.registerCalculator(calculator);
 
@@ -226,36 +224,32 @@ class CalculatorControllerTest {
     
     @Test
     void testLoginCalculator_Success() {
-        // 1. Simuler la présence de l'utilisateur
-        when(userService.findCalculatorByEmail(calculator.getEmail())).thenReturn(Optional.of(calculator));
+        // 1. Simuler une authentification réussie (une recherche, une vérification du hash)
+        when(authenticationService.authenticate(eq(calculator.getEmail()), eq(calculator.getPassword()), any()))
+                .thenReturn(new LoginResult<>(AuthenticationService.Status.SUCCESS, calculator));
 
-        // 2. Simuler la correspondance de mot de passe (true)
-        when(passwordEncoder.matches(anyString(), eq(calculator.getPassword()))).thenReturn(true);
+        // 2. Simuler la génération correcte des jetons
+        when(tokenService.issue(eq(1L), eq(calculator.getEmail()), any()))
+                .thenReturn(new TokenService.TokenPair("mocked-jwt-token", "mocked-refresh-token", 900, List.of()));
 
-        // 3. Simuler une authentification réussie
-        UsernamePasswordAuthenticationToken authToken = mock(UsernamePasswordAuthenticationToken.class);
-        when(authenticationManager.authenticate(any())).thenReturn(authToken);
-
-        // 4. Simuler la génération correcte du JWT
-        org.springframework.security.oauth2.jwt.Jwt jwt = mock(org.springframework.security.oauth2.jwt.Jwt.class);
-        when(jwt.getTokenValue()).thenReturn("mocked-jwt-token");
-        when(jwtEncoder.encode(any(JwtEncoderParameters.class))).thenReturn(jwt);
-
-        // 5. Exécution de la méthode de login
+        // 3. Exécution de la méthode de login
         ResponseEntity<Map<String, String>> response = calculatorController.loginCalculator(calculator);
 
-        // 6. Vérification des résultats
+        // 4. Vérification des résultats
         assertEquals(HttpStatus.OK, response.getStatusCode());  // 200 attendu
         assertNotNull(response.getBody());
         assertNotNull(response.getBody().get("token"));
         assertEquals("mocked-jwt-token", response.getBody().get("token"));
+        assertEquals("mocked-refresh-token", response.getBody().get("refreshToken"));
+        assertEquals("900", response.getBody().get("expiresIn"));
     }
 
     // Test d'utilisateur non vérifié
     @Test
     void testLoginCalculator_UserNotVerified() {
         calculator.setVerified(false);
-        when(userService.findCalculatorByEmail("calculator@example.com")).thenReturn(Optional.of(calculator));
+        when(authenticationService.authenticate(eq("calculator@example.com"), any(), any()))
+                .thenReturn(new LoginResult<>(AuthenticationService.Status.NOT_VERIFIED, calculator));
 
         ResponseEntity<Map<String, String>> response = calculatorController.loginCalculator(calculator);
         assertEquals(403, response.getStatusCodeValue());
@@ -264,9 +258,7 @@ class CalculatorControllerTest {
 
     // Test inscription avec envoi d'email de verification
     @Test
-    void testRegisterCalculator_EmailSent() throws MessagingException {
-        when(userService.findCalculatorByUsername(anyString())).thenReturn(Optional.empty());
-        when(userService.findCalculatorByEmail(anyString())).thenReturn(Optional.empty());
+    void testRegisterCalculator_EmailSent() {
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
 
         ResponseEntity<String> response = calculatorController.registerCalculator(calculator);
@@ -5,39 +5,60 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.demo.entity.Polynomial;
 import com.example.demo.entity.PolynomialDTO;
+import com.example.demo.entity.PolynomialEvaluation;
+import com.example.demo.entity.PolynomialEvaluationRequest;
+import com.example.demo.entity.PolynomialPage;
+import com.example.demo.entity.PolynomialSolution;
+import com.example.demo.entity.PolynomialStoreResult;
+import com.example.demo.entity.PolynomialStoreResult.Status;
+import com.example.demo.entity.Root;
 import com.example.demo.entity.User;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.security.CustomUserDetailsService;
+import com.example.demo.service.PolynomialCursor;
 import com.example.demo.service.PolynomialService;
+import com.example.demo.service.PolynomialSolverService;
 import com.example.demo.service.UserService;
+import com.example.demo.solver.RootFinder;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 class PolynomialControllerTest {
 
     @Mock
     private PolynomialService polynomialService;
     @Mock
-    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    private PasswordEncoder bCryptPasswordEncoder;
     @InjectMocks
     private CustomUserDetailsService customUserDetailsService;
 
@@ -47,6 +68,12 @@ class PolynomialControllerTest {
     @Mock
     private UserService userService;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private PolynomialSolverService polynomialSolverService;
+
     @InjectMocks
     private PolynomialController polynomialController;
 
@@ -66,8 +93,10 @@ class PolynomialControllerTest {
         polynomial.setId(1L);
         polynomial.setSimplifiedExpression("x^2 - 4");
         polynomial.setFactoredExpression("(x-2)(x+2)");
-        polynomial.setRoots(List.of("-2", "2"));
+        polynomial.setRoots(List.of(new Root(-2, 0), new Root(2, 0)));
         polynomial.setUser(user);
+
+        when(polynomialService.savePolynomial(any(Polynomial.class))).thenReturn(new PolynomialStoreResult(0, Status.STORED, 1L));
     }
 
     // --- Tests pour getPolynomialsByUserId ---
@@ -75,7 +104,7 @@ class PolynomialControllerTest {
     @Test
     void testGetPolynomialsByUserId_Success() {
         when(userService.findById(1L)).thenReturn(Optional.of(user));
-        when(polynomialService.getPolynomialsByUserId(1L)).thenReturn(List.of(polynomial));
+        when(polynomialService.getPolynomialsByUserId(1L)).thenReturn(List.of(new PolynomialDTO(polynomial)));
 
         ResponseEntity<List<PolynomialDTO>> response = polynomialController.getPolynomialsByUserId(1L);
 
@@ -86,7 +115,7 @@ class PolynomialControllerTest {
         PolynomialDTO dto = response.getBody().get(0);
         assertEquals("x^2 - 4", dto.getSimplifiedExpression());
         assertEquals("(x-2)(x+2)", dto.getFactoredExpression());
-        assertEquals("[-2, 2]", dto.getRoots());
+        assertEquals(List.of(new Root(-2, 0), new Root(2, 0)), dto.getRoots());
     }
 
     @Test
@@ -146,6 +175,94 @@ class PolynomialControllerTest {
         verify(polynomialService, times(1)).savePolynomial(any(Polynomial.class));
     }
 
+    // --- Racines typées {re, im, multiplicity} ---
+    @Test
+    void testStorePolynomial_TypedRoots() {
+        when(userService.findById(1L)).thenReturn(Optional.of(user));
+
+        Map<String, Object> requestBody = Map.of(
+                "simplifiedExpression", "x^3 - x^2 + x - 1",
+                "roots", List.of(Map.of("re", 1, "im", 0, "multiplicity", 1), Map.of("re", 0, "im", -1), "i"),
+                "userId", 1
+        );
+
+        ResponseEntity<String> response = polynomialController.storePolynomial(requestBody);
+
+        ArgumentCaptor<Polynomial> captor = ArgumentCaptor.forClass(Polynomial.class);
+        verify(polynomialService).savePolynomial(captor.capture());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(new Root(1, 0), new Root(0, -1), new Root(0, 1)), captor.getValue().getRoots());
+    }
+
+    @Test
+    void testStorePolynomial_InvalidRoot() {
+        when(userService.findById(1L)).thenReturn(Optional.of(user));
+
+        Map<String, Object> requestBody = Map.of(
+                "simplifiedExpression", "x^2 - 4",
+                "roots", List.of("deux"),
+                "userId", 1
+        );
+
+        ResponseEntity<String> response = polynomialController.storePolynomial(requestBody);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(polynomialService, never()).savePolynomial(any(Polynomial.class));
+    }
+
+    // --- Expression rejetée par le service : rien n'est enregistré, 200 avec le résultat dans le message ---
+    @Test
+    void testStorePolynomial_InvalidExpression() {
+        when(userService.findById(1L)).thenReturn(Optional.of(user));
+        when(polynomialService.savePolynomial(any(Polynomial.class))).thenReturn(new PolynomialStoreResult(0, Status.INVALID, null));
+
+        Map<String, Object> requestBody = Map.of(
+                "simplifiedExpression", "pas un polynôme",
+                "userId", 1
+        );
+
+        ResponseEntity<String> response = polynomialController.storePolynomial(requestBody);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Invalid polynomial expression.", response.getBody());
+    }
+
+    // --- Polynôme déjà enregistré pour cet utilisateur : 200, distingué par le message ---
+    @Test
+    void testStorePolynomial_Duplicate() {
+        when(userService.findById(1L)).thenReturn(Optional.of(user));
+        when(polynomialService.savePolynomial(any(Polynomial.class))).thenReturn(new PolynomialStoreResult(0, Status.DUPLICATE, null));
+
+        Map<String, Object> requestBody = Map.of(
+                "simplifiedExpression", "x^2 - 4",
+                "userId", 1
+        );
+
+        ResponseEntity<String> response = polynomialController.storePolynomial(requestBody);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Polynomial already stored.", response.getBody());
+    }
+
+    // --- Multiplicité nulle ou supérieure au degré maximal : 400, rien n'est enregistré ---
+    @Test
+    void testStorePolynomial_MultiplicityOutOfRange() {
+        when(userService.findById(1L)).thenReturn(Optional.of(user));
+
+        for (Object multiplicity : List.of(0, RootFinder.MAX_DEGREE + 1, Integer.MAX_VALUE, 1.5)) {
+            Map<String, Object> requestBody = Map.of(
+                    "simplifiedExpression", "x - 1",
+                    "roots", List.of(Map.of("re", 1, "im", 0, "multiplicity", multiplicity)),
+                    "userId", 1
+            );
+
+            ResponseEntity<String> response = polynomialController.storePolynomial(requestBody);
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        }
+        verify(polynomialService, never()).savePolynomial(any(Polynomial.class));
+    }
+
     @Test
     void testStorePolynomial_UserNotFound() {
         when(userService.findById(1L)).thenReturn(Optional.empty());
@@ -213,4 +330,234 @@ class PolynomialControllerTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertTrue(response.getBody().contains("Error during save"));
     }
+
+    // --- Tests pour storePolynomials (lot) ---
+
+    @Test
+    void testStorePolynomials_Success() {
+        when(userService.findById(1L)).thenReturn(Optional.of(user));
+        when(polynomialService.savePolynomials(eq(user), anyList())).thenReturn(List.of(
+                new PolynomialStoreResult(0, Status.STORED, 10L),
+                new PolynomialStoreResult(1, Status.DUPLICATE, null)));
+
+        List<Map<String, Object>> items = List.of(
+                Map.of("simplifiedExpression", "x^2 - 4", "roots", List.of("2", "-2")),
+                Map.of("simplifiedExpression", "x^2-4", "roots", List.of(new Root(-2, 0), new Root(2, 0))));
+
+        ResponseEntity<Object> response = polynomialController.storePolynomials(1L, items);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<?> results = (List<?>) response.getBody();
+        assertEquals(2, results.size());
+        verify(userService, times(1)).findById(1L);
+        verify(polynomialService, times(1)).savePolynomials(eq(user), anyList());
+    }
+
+    @Test
+    void testStorePolynomials_UserNotFound() {
+        when(userService.findById(1L)).thenReturn(Optional.empty());
+
+        ResponseEntity<Object> response = polynomialController.storePolynomials(1L, List.of(Map.of("simplifiedExpression", "x")));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        verify(polynomialService, never()).savePolynomials(any(), anyList());
+    }
+
+    @Test
+    void testStorePolynomials_TooLarge() {
+        List<Map<String, Object>> items = Collections.nCopies(1001, Map.of("simplifiedExpression", "x"));
+
+        ResponseEntity<Object> response = polynomialController.storePolynomials(1L, items);
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+        verify(userService, never()).findById(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStorePolynomialsNdjson_Success() throws IOException {
+        when(userService.findById(1L)).thenReturn(Optional.of(user));
+        when(polynomialService.savePolynomials(eq(user), anyList())).thenReturn(List.of(
+                new PolynomialStoreResult(0, Status.STORED, 10L),
+                new PolynomialStoreResult(1, Status.STORED, 11L)));
+        String ndjson = "{\"simplifiedExpression\":\"x^2 - 4\",\"roots\":[\"2\",\"-2\"]}\n"
+                + "{\"simplifiedExpression\":\"x - 1\",\"roots\":[\"1\"]}\n";
+
+        ResponseEntity<Object> response = polynomialController.storePolynomialsNdjson(1L,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ArgumentCaptor<List<Polynomial>> captor = ArgumentCaptor.forClass(List.class);
+        verify(polynomialService).savePolynomials(eq(user), captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals("x - 1", captor.getValue().get(1).getSimplifiedExpression());
+    }
+
+    // --- Tests pour la liste paginée et la diffusion NDJSON ---
+
+    @Test
+    void testGetAllPolynomials_Page() {
+        PolynomialPage page = new PolynomialPage(List.of(new PolynomialDTO(polynomial)), "cursor");
+        when(polynomialService.getPolynomialPage(null, 100)).thenReturn(page);
+
+        ResponseEntity<PolynomialPage> response = polynomialController.getAllPolynomials(null, 100);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("cursor", response.getBody().getNextCursor());
+    }
+
+    @Test
+    void testGetAllPolynomials_InvalidCursor() {
+        when(polynomialService.getPolynomialPage("bad", 100)).thenThrow(new IllegalArgumentException("Invalid cursor."));
+
+        ResponseEntity<PolynomialPage> response = polynomialController.getAllPolynomials("bad", 100);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testStreamPolynomials_WritesEveryPage() throws IOException {
+        Polynomial other = new Polynomial(2L, "x - 1", "(x-1)", List.of(new Root(1, 0)), user);
+        when(polynomialService.getPolynomialPage(null, 1))
+                .thenReturn(new PolynomialPage(List.of(new PolynomialDTO(polynomial)), PolynomialCursor.encode(1L)));
+        when(polynomialService.getPolynomialPage(PolynomialCursor.encode(1L), 1))
+                .thenReturn(new PolynomialPage(List.of(new PolynomialDTO(other)), null));
+
+        ResponseEntity<StreamingResponseBody> response = polynomialController.streamPolynomials(null, 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":1"));
+        assertTrue(lines[1].contains("\"simplifiedExpression\":\"x - 1\""));
+    }
+
+    @Test
+    void testStreamPolynomials_InvalidCursor() {
+        ResponseEntity<StreamingResponseBody> response = polynomialController.streamPolynomials("%%%", 10);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    // --- Tests pour computePolynomial ---
+
+    @Test
+    void testComputePolynomial_Coefficients() {
+        PolynomialSolution solution = new PolynomialSolution("x^2 - 4", "(x + 2)(x - 2)", List.of(new Root(-2, 0), new Root(2, 0)));
+        when(polynomialSolverService.solve(List.of(1, 0, -4))).thenReturn(solution);
+
+        ResponseEntity<Object> response = polynomialController.computePolynomial(Map.of("coefficients", List.of(1, 0, -4)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(solution, response.getBody());
+        verify(polynomialSolverService, never()).store(any(), any());
+    }
+
+    @Test
+    void testComputePolynomial_ExpressionStoredForUser() {
+        PolynomialSolution solution = new PolynomialSolution("x - 1", "(x - 1)", List.of(new Root(1, 0)));
+        when(polynomialSolverService.solve("x - 1")).thenReturn(solution);
+        when(userService.findById(1L)).thenReturn(Optional.of(user));
+
+        ResponseEntity<Object> response = polynomialController.computePolynomial(Map.of("expression", "x - 1", "userId", 1));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(polynomialSolverService, times(1)).store(solution, user);
+    }
+
+    // --- Forme factorisée plus large que sa colonne : 413 avant tout enregistrement, plus de 500 ---
+    @Test
+    void testComputePolynomial_TooLongToStore() {
+        String factored = "(x - 1)".repeat(40);
+        PolynomialSolution solution = new PolynomialSolution("x^40 - 1", factored, List.of(new Root(1, 0, 40)));
+        when(polynomialSolverService.solve("x^40 - 1")).thenReturn(solution);
+        when(userService.findById(1L)).thenReturn(Optional.of(user));
+
+        ResponseEntity<Object> response = polynomialController.computePolynomial(Map.of("expression", "x^40 - 1", "userId", 1));
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+        verify(polynomialSolverService, never()).store(any(), any());
+    }
+
+    @Test
+    void testComputePolynomial_InvalidExpression() {
+        when(polynomialSolverService.solve("x^")).thenThrow(new IllegalArgumentException("Expected an integer exponent"));
+
+        ResponseEntity<Object> response = polynomialController.computePolynomial(Map.of("expression", "x^"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testComputePolynomial_MissingInput() {
+        ResponseEntity<Object> response = polynomialController.computePolynomial(Map.of("userId", 1));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Coefficients or expression is required.", response.getBody());
+    }
+
+    // --- Tests pour evaluatePolynomial ---
+
+    @Test
+    void testEvaluatePolynomial_StoredById() throws IOException {
+        polynomial.setSimplifiedExpression("x^2 - 4");
+        when(polynomialService.getPolynomialById(1L)).thenReturn(Optional.of(polynomial));
+        PolynomialEvaluationRequest request = new PolynomialEvaluationRequest();
+        request.setId(1L);
+        request.setRe(new double[] {0, 2});
+        PolynomialEvaluation evaluation = new PolynomialEvaluation("x^2 - 4", new double[] {-4, 0}, null);
+        when(polynomialSolverService.evaluate("x^2 - 4", request.getRe(), null)).thenReturn(evaluation);
+
+        ResponseEntity<Object> response = polynomialController.evaluatePolynomial(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        // Colonnes compactes, im omis pour des points réels
+        assertEquals("{\"simplifiedExpression\":\"x^2 - 4\",\"re\":[-4.0,0.0],\"count\":2}",
+                objectMapper.writeValueAsString(response.getBody()));
+    }
+
+    @Test
+    void testEvaluatePolynomial_NotFoundAndMissingInput() {
+        PolynomialEvaluationRequest request = new PolynomialEvaluationRequest();
+        request.setRe(new double[] {1});
+        assertEquals(HttpStatus.BAD_REQUEST, polynomialController.evaluatePolynomial(request).getStatusCode());
+
+        request.setId(99L);
+        when(polynomialService.getPolynomialById(99L)).thenReturn(Optional.empty());
+        assertEquals(HttpStatus.NOT_FOUND, polynomialController.evaluatePolynomial(request).getStatusCode());
+    }
+
+    @Test
+    void testEvaluatePolynomial_InvalidPoints() {
+        PolynomialEvaluationRequest request = new PolynomialEvaluationRequest();
+        request.setExpression("x");
+        when(polynomialSolverService.evaluate("x", null, null)).thenThrow(new IllegalArgumentException("Evaluation points are required."));
+
+        ResponseEntity<Object> response = polynomialController.evaluatePolynomial(request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    // --- Tests pour getSolution ---
+
+    @Test
+    void testGetSolution_Found() {
+        PolynomialSolution solution = new PolynomialSolution("x^2 - 4", "(x-2)(x+2)", List.of(new Root(-2, 0), new Root(2, 0)));
+        when(polynomialService.findSolution("x^2 - 4")).thenReturn(Optional.of(solution));
+
+        ResponseEntity<PolynomialSolution> response = polynomialController.getSolution("x^2 - 4");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(solution, response.getBody());
+    }
+
+    @Test
+    void testGetSolution_NotFound() {
+        when(polynomialService.findSolution("x")).thenReturn(Optional.empty());
+
+        ResponseEntity<PolynomialSolution> response = polynomialController.getSolution("x");
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
 }
@@ -2,8 +2,9 @@ package com.example.demo.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Map;
@@ -16,26 +17,31 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.example.demo.entity.Admin;
 import com.example.demo.entity.Calculator;
 import com.example.demo.entity.User;
+import com.example.demo.security.AuthenticationService;
+import com.example.demo.security.AuthenticationService.LoginResult;
 import com.example.demo.service.EmailService;
 import com.example.demo.service.UserService;
+import com.example.demo.service.UserService.SaveResult;
 
-import jakarta.mail.MessagingException;
 
 class UserControllerTest {
 
     @Mock
     private UserService userService;
     @Mock
-    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    private PasswordEncoder bCryptPasswordEncoder;
 
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private AuthenticationService authenticationService;
+
     @InjectMocks
     private UserController userController;
 
@@ -51,6 +57,8 @@ class UserControllerTest {
         user.setPassword("password123");
         user.setVerified(true);
 
+        when(userService.saveUnique(any())).thenReturn(SaveResult.SAVED);
+
         // Injection manuelle du mock dans UserController
         userController.bCryptPasswordEncoder = bCryptPasswordEncoder;
     }
@@ -58,8 +66,6 @@ class UserControllerTest {
     // --- Test: Inscription avec succès ---
     @Test
     void testRegisterUser_Success() {
-        when(userService.findUserByUsername("JohnDoe")).thenReturn(Optional.empty());
-        when(userService.findUserByEmail("user@example.com")).thenReturn(Optional.empty());
 
         ResponseEntity<String> response = userController.registerUser(Map.of(
             "username", "JohnDoe",
@@ -74,7 +80,7 @@ class UserControllerTest {
     // --- Test: Nom d'utilisateur déjà pris ---
     @Test
     void testRegisterUser_UsernameTaken() {
-        when(userService.findUserByUsername("JohnDoe")).thenReturn(Optional.of(user));
+        when(userService.saveUnique(any())).thenReturn(SaveResult.USERNAME_TAKEN);
 
         ResponseEntity<String> response = userController.registerUser(Map.of(
             "username", "JohnDoe",
@@ -89,7 +95,7 @@ class UserControllerTest {
     // --- Test: Email déjà utilisé ---
     @Test
     void testRegisterUser_EmailTaken() {
-        when(userService.findUserByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(userService.saveUnique(any())).thenReturn(SaveResult.EMAIL_TAKEN);
 
         ResponseEntity<String> response = userController.registerUser(Map.of(
             "username", "NewUser",
@@ -101,12 +107,9 @@ class UserControllerTest {
         assertEquals("Email déjà utilisé.", response.getBody());
     }
 
-    // --- Test: Erreur lors de l'envoi d'email de vérification ---
+    // --- Test: l'email de vérification est mis en file, la requête n'attend pas le SMTP ---
     @Test
-    void testRegisterUser_EmailException() throws MessagingException {
-        when(userService.findUserByUsername("JohnDoe")).thenReturn(Optional.empty());
-        when(userService.findUserByEmail("user@example.com")).thenReturn(Optional.empty());
-        doThrow(new MessagingException("Email error")).when(emailService).sendVerificationEmail(anyString(), anyString());
+    void testRegisterUser_EmailQueued() {
 
         ResponseEntity<String> response = userController.registerUser(Map.of(
             "username", "JohnDoe",
@@ -114,8 +117,8 @@ class UserControllerTest {
             "password", "1234"
         ));
 
-        assertEquals(500, response.getStatusCodeValue());
-        assertEquals("Erreur lors de l'envoi de l'email de vérification.", response.getBody());
+        assertEquals(201, response.getStatusCodeValue());
+        verify(emailService).sendVerificationEmail("user@example.com", "JohnDoe");
     }
 
     // --- Test: Vérification de l'email avec succès ---
@@ -167,12 +170,9 @@ class UserControllerTest {
     // --- Test: Conflit lors de la mise à jour du profil (Nom d'utilisateur déjà pris) ---
     @Test
     void testUpdateUserProfile_UsernameConflict() {
-        User existingUser = new User();
-        existingUser.setId(2L);
-        when(userService.findUserByUsername("newUser")).thenReturn(Optional.of(existingUser));
-
         Map<String, Object> updates = Map.of("username", "newUser");
         when(userService.findUserById(1L)).thenReturn(Optional.of(user));
+        when(userService.saveUnique(user)).thenReturn(SaveResult.USERNAME_TAKEN);
 
         ResponseEntity<String> response = userController.updateUserProfile(1L, updates);
 
@@ -206,7 +206,8 @@ class UserControllerTest {
     @Test
     void testLoginUser_NotVerified() {
         user.setVerified(false);
-        when(userService.findUserByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(authenticationService.authenticate(eq("user@example.com"), any(), any()))
+                .thenReturn(new LoginResult<>(AuthenticationService.Status.NOT_VERIFIED, user));
 
         ResponseEntity<Map<String, String>> response = userController.loginUser(user);
 
@@ -219,8 +220,6 @@ class UserControllerTest {
         admin.setUsername("adminUser");
         admin.setPassword("adminPass");
 
-        when(userService.findUserByUsername("adminUser")).thenReturn(Optional.empty());
-
         ResponseEntity<String> response = userController.registerAdmin(admin);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
@@ -233,8 +232,6 @@ class UserControllerTest {
 
     @Test
     void testRegisterCalculator_Success() {
-        when(userService.findUserByUsername("calcUser")).thenReturn(Optional.empty());
-        when(userService.findUserByEmail("calc@example.com")).thenReturn(Optional.empty());
 
         ResponseEntity<String> response = userController.registerUser(Map.of(
             "username", "calcUser",
@@ -249,10 +246,7 @@ class UserControllerTest {
     }
 
     @Test
-    void testRegisterCalculator_EmailException() throws MessagingException {
-        when(userService.findUserByUsername("calcUser")).thenReturn(Optional.empty());
-        when(userService.findUserByEmail("calc@example.com")).thenReturn(Optional.empty());
-        doThrow(new MessagingException("Erreur d'envoi")).when(emailService).sendVerificationEmail(anyString(), anyString());
+    void testRegisterCalculator_EmailQueued() {
 
         ResponseEntity<String> response = userController.registerUser(Map.of(
             "username", "calcUser",
@@ -261,14 +255,12 @@ class UserControllerTest {
             "isCalculator", true
         ));
 
-        assertEquals(500, response.getStatusCodeValue());
-        assertEquals("Erreur lors de l'envoi de l'email de vérification.", response.getBody());
+        assertEquals(201, response.getStatusCodeValue());
+        verify(emailService).sendVerificationEmail("calc@example.com", "calcUser");
     }
 
     @Test
     void testRegisterUser_ValidEmailFormat() {
-        when(userService.findUserByUsername("JohnDoe")).thenReturn(Optional.empty());
-        when(userService.findUserByEmail("user@example.com")).thenReturn(Optional.empty());
 
         ResponseEntity<String> response = userController.registerUser(Map.of(
             "username", "JohnDoe",
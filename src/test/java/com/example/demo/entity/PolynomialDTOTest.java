@@ -3,7 +3,6 @@ package com.example.demo.entity;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.List;
-import java.util.stream.Collectors;
 
 class PolynomialDTOTest {
 
@@ -16,15 +15,15 @@ class PolynomialDTOTest {
         polynomial.setFactoredExpression("x(x-1)(x+1)");
 
         // Racines mixtes (positives et négatives)
-        List<String> rootsAsString = List.of("-1", "0", "1");
-        polynomial.setRoots(rootsAsString);
+        List<Root> roots = List.of(new Root(-1, 0), new Root(0, 0), new Root(1, 0));
+        polynomial.setRoots(roots);
 
         PolynomialDTO dto = new PolynomialDTO(polynomial);
 
         assertEquals(1L, dto.getId());
         assertEquals("x^3 - x", dto.getSimplifiedExpression());
         assertEquals("x(x-1)(x+1)", dto.getFactoredExpression());
-        assertEquals("[-1, 0, 1]", dto.getRoots());
+        assertEquals(roots, dto.getRoots());
     }
 
     // Test avec une racine à 0
@@ -35,12 +34,11 @@ class PolynomialDTOTest {
         polynomial.setSimplifiedExpression("x^2");
         polynomial.setFactoredExpression("x(x)");
 
-        List<String> rootsAsString = List.of("0");
-        polynomial.setRoots(rootsAsString);
+        polynomial.setRoots(List.of(new Root(0, 0)));
 
         PolynomialDTO dto = new PolynomialDTO(polynomial);
 
-        assertEquals("[0]", dto.getRoots());
+        assertEquals(0.0, dto.getRoots().get(0).getRe());
     }
 
     // Test avec des expressions nulles
@@ -57,7 +55,7 @@ class PolynomialDTOTest {
         assertEquals(3L, dto.getId());
         assertNull(dto.getSimplifiedExpression());
         assertNull(dto.getFactoredExpression());
-        assertEquals("[]", dto.getRoots());
+        assertTrue(dto.getRoots().isEmpty());
     }
 
     // Test avec des racines nulles mais expressions valides
@@ -74,7 +72,7 @@ class PolynomialDTOTest {
         assertEquals(4L, dto.getId());
         assertEquals("x^3 - 1", dto.getSimplifiedExpression());
         assertEquals("(x - 1)(x^2 + x + 1)", dto.getFactoredExpression());
-        assertEquals("[]", dto.getRoots());
+        assertTrue(dto.getRoots().isEmpty());
     }
 
     // Test avec une liste vide de racines
@@ -91,7 +89,7 @@ class PolynomialDTOTest {
         assertEquals(5L, dto.getId());
         assertEquals("x^4", dto.getSimplifiedExpression());
         assertEquals("x(x)(x)(x)", dto.getFactoredExpression());
-        assertEquals("[]", dto.getRoots());
+        assertTrue(dto.getRoots().isEmpty());
     }
 
     // Test avec des racines longues (plusieurs chiffres)
@@ -102,28 +100,27 @@ class PolynomialDTOTest {
         polynomial.setSimplifiedExpression("x^5 - 100");
         polynomial.setFactoredExpression("(x - 10)(x^4 + 10x^3 + 100x^2 + 1000x + 10000)");
 
-        List<String> rootsAsString = List.of("-1000", "1000");
-        polynomial.setRoots(rootsAsString);
+        polynomial.setRoots(List.of(new Root(-1000, 0), new Root(1000, 0)));
 
         PolynomialDTO dto = new PolynomialDTO(polynomial);
 
-        assertEquals("[-1000, 1000]", dto.getRoots());
+        assertEquals(List.of(new Root(-1000, 0), new Root(1000, 0)), dto.getRoots());
     }
 
-    // Test avec des racines non numériques
+    // Test avec des racines complexes conjuguées
     @Test
-    void testPolynomialDTO_NonNumericRoots() {
+    void testPolynomialDTO_ComplexRoots() {
         Polynomial polynomial = new Polynomial();
         polynomial.setId(7L);
-        polynomial.setSimplifiedExpression("x^2 + 2x + 1");
-        polynomial.setFactoredExpression("(x + 1)(x + 1)");
+        polynomial.setSimplifiedExpression("x^2 + 2x + 5");
+        polynomial.setFactoredExpression("(x^2 + 2x + 5)");
 
-        List<String> rootsAsString = List.of("a", "b", "c");  // Racines non numériques
-        polynomial.setRoots(rootsAsString);
+        polynomial.setRoots(List.of(new Root(-1, 2), new Root(-1, -2)));
 
         PolynomialDTO dto = new PolynomialDTO(polynomial);
 
-        assertEquals("[a, b, c]", dto.getRoots());
+        assertEquals(2.0, dto.getRoots().get(0).getIm());
+        assertEquals(-2.0, dto.getRoots().get(1).getIm());
     }
 
     // Test avec une racine répétée
@@ -134,12 +131,12 @@ class PolynomialDTOTest {
         polynomial.setSimplifiedExpression("x^2 - 2x + 1");
         polynomial.setFactoredExpression("(x - 1)^2");
 
-        List<String> rootsAsString = List.of("1", "1");  // Racine répétée
-        polynomial.setRoots(rootsAsString);
+        polynomial.setRoots(List.of(new Root(1, 0, 2)));  // Racine répétée
 
         PolynomialDTO dto = new PolynomialDTO(polynomial);
 
-        assertEquals("[1, 1]", dto.getRoots());
+        assertEquals(1, dto.getRoots().size());
+        assertEquals(2, dto.getRoots().get(0).getMultiplicity());
     }
 
     // Test avec un Polynomial sans ID
@@ -148,7 +145,7 @@ class PolynomialDTOTest {
         Polynomial polynomial = new Polynomial();
         polynomial.setSimplifiedExpression("x^2 - 1");
         polynomial.setFactoredExpression("(x - 1)(x + 1)");
-        polynomial.setRoots(List.of("1", "-1"));
+        polynomial.setRoots(List.of(new Root(1, 0), new Root(-1, 0)));
 
         PolynomialDTO dto = new PolynomialDTO(polynomial);
 
@@ -164,6 +161,17 @@ class PolynomialDTOTest {
         assertNull(dto.getId());
         assertNull(dto.getSimplifiedExpression());
         assertNull(dto.getFactoredExpression());
-        assertEquals("[]", dto.getRoots());
+        assertTrue(dto.getRoots().isEmpty());
+    }
+
+    // Test du constructeur utilisé par les projections JPQL
+    @Test
+    void testPolynomialDTO_ProjectionConstructor() {
+        PolynomialDTO dto = new PolynomialDTO(9L, "x^2 - 4", "(x - 2)(x + 2)", List.of(new Root(-2, 0), new Root(2, 0)));
+
+        assertEquals(9L, dto.getId());
+        assertEquals("x^2 - 4", dto.getSimplifiedExpression());
+        assertEquals("(x - 2)(x + 2)", dto.getFactoredExpression());
+        assertEquals(List.of(new Root(-2, 0), new Root(2, 0)), dto.getRoots());
     }
 }
@@ -12,7 +12,7 @@ class PolynomialTest {
         Long expectedId = 1L;
         String expectedSimplifiedExpression = "x^2 + 4x + 4";
         String expectedFactoredExpression = "(x + 2)^2";
-        List<String> expectedRoots = List.of("-2");
+        List<Root> expectedRoots = List.of(new Root(-2, 0, 2));
         User user = new User();
         user.setId(5L);
         user.setUsername("testUser");
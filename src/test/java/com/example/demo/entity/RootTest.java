@@ -0,0 +1,61 @@
+package com.example.demo.entity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RootTest {
+
+    private final RootListConverter converter = new RootListConverter();
+
+    // --- Lecture de l'ancienne forme textuelle ---
+    @Test
+    void testParse_LegacyStrings() {
+        assertEquals(new Root(2, 0), Root.parse("2"));
+        assertEquals(new Root(-1.5, 0), Root.parse(" -1.5 "));
+        assertEquals(new Root(1, 2), Root.parse("1+2i"));
+        assertEquals(new Root(-1, -1), Root.parse("-1-i"));
+        assertEquals(new Root(0, 1), Root.parse("i"));
+        assertEquals(new Root(0, -0.5), Root.parse("-0.5i"));
+        assertEquals(new Root(1e-3, -2), Root.parse("1e-3-2i"));
+        assertEquals(new Root(0, 0), Root.parse("-0"));
+    }
+
+    @Test
+    void testParse_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> Root.parse("a"));
+        assertThrows(IllegalArgumentException.class, () -> Root.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> new Root(Double.NaN, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Root(1, 0, 0));
+    }
+
+    // --- Encodage binaire : 1 octet de version + 20 octets par racine ---
+    @Test
+    void testConverter_RoundTrip() {
+        List<Root> roots = List.of(new Root(-2, 0, 3), new Root(0.1, -Math.PI), new Root(Double.MAX_VALUE, Double.MIN_VALUE));
+
+        byte[] data = converter.convertToDatabaseColumn(roots);
+
+        assertEquals(1 + 3 * RootListConverter.ROOT_BYTES, data.length);
+        assertEquals(roots, converter.convertToEntityAttribute(data));
+    }
+
+    @Test
+    void testConverter_NullAndEmpty() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+        assertArrayEquals(new byte[] {RootListConverter.VERSION}, converter.convertToDatabaseColumn(List.of()));
+        assertEquals(List.of(), converter.convertToEntityAttribute(new byte[] {RootListConverter.VERSION}));
+    }
+
+    @Test
+    void testConverter_RejectsCorruptData() {
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute(new byte[] {RootListConverter.VERSION, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute(new byte[] {9}));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.example.demo.entity.EmailMessage;
+import com.example.demo.entity.EmailMessage.Status;
+
+/**
+ * Base H2 (mode MySQL) migrée par Flyway : les requêtes de mise à jour et de purge de l'outbox sur le vrai schéma.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:email-outbox;MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EmailMessageRepositoryTest {
+
+    @Autowired
+    private EmailMessageRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final Instant now = Instant.now();
+
+    // --- Message envoyé : corps (mot de passe réinitialisé) effacé ---
+    @Test
+    void testMarkSent_ClearsBody() {
+        Long id = persist("Voici votre nouveau mot de passe : secret", Status.SENDING, now).getId();
+
+        repository.markSent(List.of(id), now);
+        entityManager.clear();
+
+        EmailMessage sent = repository.findById(id).orElseThrow();
+        assertEquals(Status.SENT, sent.getStatus());
+        assertEquals("", sent.getBody());
+    }
+
+    // --- Rétention : seuls les messages SENT et DEAD plus anciens que la limite sont supprimés ---
+    @Test
+    void testDeleteByStatusCreatedBefore() {
+        Instant old = now.minus(Duration.ofDays(30));
+        Long sentOld = persist("", Status.SENT, old).getId();
+        Long deadOld = persist("", Status.DEAD, old).getId();
+        Long pendingOld = persist("en attente", Status.PENDING, old).getId();
+        Long sentRecent = persist("", Status.SENT, now).getId();
+
+        int purged = repository.deleteByStatusCreatedBefore(List.of(Status.SENT, Status.DEAD), now.minus(Duration.ofDays(7)));
+        entityManager.clear();
+
+        assertEquals(2, purged);
+        assertFalse(repository.existsById(sentOld));
+        assertFalse(repository.existsById(deadOld));
+        assertTrue(repository.existsById(pendingOld));
+        assertTrue(repository.existsById(sentRecent));
+    }
+
+    private EmailMessage persist(String body, Status status, Instant createdAt) {
+        EmailMessage message = new EmailMessage("reset@example.com", "Réinitialisation", body, createdAt);
+        message.setStatus(status);
+        return entityManager.persistAndFlush(message);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.entity.RevokedToken;
+import com.example.demo.security.TokenRevocationList;
+
+/**
+ * Base H2 (mode MySQL) migrée par Flyway, sans transaction de test : chaque save est validé comme en production.
+ * Deux TokenRevocationList partagent la base et simulent deux instances.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:revoked-token;MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RevokedTokenRepositoryTest {
+
+    @Autowired
+    private RevokedTokenRepository repository;
+
+    private final Instant later = Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.MILLIS);
+
+    // --- Un jti déjà en base : INSERT refusé, jamais fusionné en UPDATE ---
+    @Test
+    void testSave_DuplicateJtiRejected() {
+        repository.saveAndFlush(new RevokedToken("jti-duplicate", later));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAndFlush(new RevokedToken("jti-duplicate", later.plusSeconds(60))));
+        assertEquals(later, repository.findById("jti-duplicate").orElseThrow().getExpiresAt());
+    }
+
+    // --- Rejeu séquentiel sur une autre instance, avant son rechargement : refusé ---
+    @Test
+    void testRevoke_ReplayOnAnotherInstanceBeforeReload() {
+        TokenRevocationList first = new TokenRevocationList(repository, 1000);
+        TokenRevocationList second = new TokenRevocationList(repository, 1000);
+
+        assertTrue(first.revoke("jti-replayed", later));
+        assertFalse(second.isRevoked("jti-replayed")); // Pas encore rechargé
+
+        assertFalse(second.revoke("jti-replayed", later));
+        assertTrue(second.isRevoked("jti-replayed"));
+    }
+}
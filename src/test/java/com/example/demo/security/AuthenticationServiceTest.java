@@ -0,0 +1,148 @@
+package com.example.demo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.demo.entity.Calculator;
+import com.example.demo.security.AuthenticationService.LoginResult;
+import com.example.demo.security.AuthenticationService.Status;
+import com.example.demo.service.UserService;
+
+class AuthenticationServiceTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private AuthenticationService authenticationService;
+
+    private Calculator calculator;
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        calculator = new Calculator();
+        calculator.setId(1L);
+        calculator.setEmail("calc@example.com");
+        calculator.setPassword("hash");
+        calculator.setRole("CALCULATOR");
+        calculator.setVerified(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("dummy-hash");
+    }
+
+    private Optional<Calculator> find(String email) {
+        lookups.incrementAndGet();
+        return calculator.getEmail().equals(email) ? Optional.of(calculator) : Optional.empty();
+    }
+
+    // --- Une recherche et une vérification du hash par tentative ---
+    @Test
+    void testAuthenticate_Success() {
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+
+        LoginResult<Calculator> result = authenticationService.authenticate("calc@example.com", "secret", this::find);
+
+        assertEquals(Status.SUCCESS, result.getStatus());
+        assertSame(calculator, result.getUser());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_CALCULATOR")), result.getAuthorities());
+        assertEquals(1, lookups.get());
+        verify(passwordEncoder, times(1)).matches("secret", "hash");
+    }
+
+    @Test
+    void testAuthenticate_BadPassword() {
+        when(passwordEncoder.matches("wrong", "hash")).thenReturn(false);
+
+        LoginResult<Calculator> result = authenticationService.authenticate("calc@example.com", "wrong", this::find);
+
+        assertEquals(Status.BAD_CREDENTIALS, result.getStatus());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void testAuthenticate_NotVerifiedSkipsHash() {
+        calculator.setVerified(false);
+
+        LoginResult<Calculator> result = authenticationService.authenticate("calc@example.com", "secret", this::find);
+
+        assertEquals(Status.NOT_VERIFIED, result.getStatus());
+        verify(passwordEncoder, never()).matches("secret", "hash");
+    }
+
+    // --- Hash dépassé : refait au login réussi ---
+    @Test
+    void testAuthenticate_RehashesOutdatedHash() {
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hash")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("{bcrypt}new-hash");
+
+        LoginResult<Calculator> result = authenticationService.authenticate("calc@example.com", "secret", this::find);
+
+        assertEquals(Status.SUCCESS, result.getStatus());
+        verify(userService).rehashPassword(calculator, "{bcrypt}new-hash");
+    }
+
+    @Test
+    void testAuthenticate_RehashFailureDoesNotFailLogin() {
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hash")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("{bcrypt}new-hash");
+        when(userService.rehashPassword(any(), anyString())).thenThrow(new IllegalStateException("base indisponible"));
+
+        LoginResult<Calculator> result = authenticationService.authenticate("calc@example.com", "secret", this::find);
+
+        assertEquals(Status.SUCCESS, result.getStatus());
+    }
+
+    @Test
+    void testAuthenticate_UpToDateHashNotRewritten() {
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+
+        authenticationService.authenticate("calc@example.com", "secret", this::find);
+
+        verify(userService, never()).rehashPassword(any(), anyString());
+    }
+
+    // --- Email inconnu : même coût qu'un mauvais mot de passe ---
+    @Test
+    void testAuthenticate_UnknownEmailChecksDummyHash() {
+        LoginResult<Calculator> first = authenticationService.authenticate("unknown@example.com", "secret", this::find);
+        authenticationService.authenticate("unknown@example.com", "secret", this::find);
+
+        assertEquals(Status.NOT_FOUND, first.getStatus());
+        assertEquals(List.of(), first.getAuthorities());
+        verify(passwordEncoder, times(2)).matches("secret", "dummy-hash");
+        verify(passwordEncoder, times(1)).encode(anyString());
+    }
+
+    @Test
+    void testAuthenticate_NullPasswordIsRejected() {
+        when(passwordEncoder.matches("", "hash")).thenReturn(false);
+
+        LoginResult<Calculator> result = authenticationService.authenticate("calc@example.com", null, this::find);
+
+        assertEquals(Status.BAD_CREDENTIALS, result.getStatus());
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.demo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachingJwtDecoderTest {
+
+    private static final byte[] SECRET = "yK9ggqDthOaGc0zLxw0zKcpX3J+yyCKwG8ovZHkwngDBy0P7Vncv9Uim4JkVoJ1h".getBytes();
+
+    private final NimbusJwtEncoder encoder = new NimbusJwtEncoder(new ImmutableSecret<>(SECRET));
+    private final JwtDecoder nimbus = NimbusJwtDecoder.withSecretKey(new SecretKeySpec(SECRET, "HmacSHA512"))
+            .macAlgorithm(MacAlgorithm.HS512).build();
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+    private final Set<String> revokedJti = new HashSet<>();
+    private final CachingJwtDecoder decoder = new CachingJwtDecoder(token -> {
+        verifications.incrementAndGet();
+        return nimbus.decode(token);
+    }, revokedJti::contains, 100, Duration.ofHours(1), nanos::get);
+
+    private String token(String subject, Duration validity) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(subject)
+                .issuedAt(now)
+                .expiresAt(now.plus(validity))
+                .claim("scope", List.of("CALCULATOR"))
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS512).build(), claims)).getTokenValue();
+    }
+
+    // --- Un jeton déjà vérifié n'est pas re-vérifié ---
+    @Test
+    void testDecode_CachesVerifiedToken() {
+        String token = token("calc@example.com", Duration.ofDays(1));
+
+        Jwt first = decoder.decode(token);
+        Jwt second = decoder.decode(token);
+
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+        assertEquals("calc@example.com", second.getSubject());
+    }
+
+    @Test
+    void testDecode_DistinctTokensAreVerifiedSeparately() {
+        decoder.decode(token("a@example.com", Duration.ofDays(1)));
+        decoder.decode(token("b@example.com", Duration.ofDays(1)));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void testDecode_InvalidTokenIsNotCached() {
+        String token = token("calc@example.com", Duration.ofDays(1));
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertThrows(JwtException.class, () -> decoder.decode(tampered));
+        assertThrows(JwtException.class, () -> decoder.decode(tampered));
+        assertEquals(2, verifications.get());
+    }
+
+    // --- L'entrée expire avec le jeton, même si maxTtl est plus long ---
+    @Test
+    void testDecode_EntryExpiresWithToken() {
+        String token = token("calc@example.com", Duration.ofMinutes(5));
+        decoder.decode(token);
+
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+        decoder.decode(token);
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void testDecode_EntryCappedByMaxTtl() {
+        String token = token("calc@example.com", Duration.ofDays(1));
+        decoder.decode(token);
+
+        nanos.addAndGet(Duration.ofMinutes(61).toNanos());
+        decoder.decode(token);
+
+        assertEquals(2, verifications.get());
+    }
+
+    // --- Révocation : TokenRevocationList, consultée même pour un jeton en cache ---
+    @Test
+    void testDecode_RevokedJtiRejectedEvenWhenCached() {
+        String token = token("calc@example.com", Duration.ofDays(1));
+        Jwt jwt = decoder.decode(token);
+
+        revokedJti.add(jwt.getId());
+
+        assertThrows(BadJwtException.class, () -> decoder.decode(token));
+        assertEquals(1, verifications.get());
+    }
+
+    // --- Autorités calculées une fois par jeton ---
+    @Test
+    void testConvert_UsesScopeAuthorities() {
+        Jwt jwt = decoder.decode(token("calc@example.com", Duration.ofDays(1)));
+
+        JwtAuthenticationToken authentication = decoder.convert(jwt);
+
+        assertEquals("calc@example.com", authentication.getName());
+        assertTrue(authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("SCOPE_CALCULATOR")));
+    }
+
+    @Test
+    void testBindTo_RegistersHitRatio() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        decoder.bindTo(registry);
+        String token = token("calc@example.com", Duration.ofDays(1));
+
+        decoder.decode(token);
+        decoder.decode(token);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "security.jwt").tag("result", "hit")
+                .functionCounter().count());
+    }
+}
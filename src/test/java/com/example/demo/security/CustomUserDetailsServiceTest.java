@@ -7,12 +7,16 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class CustomUserDetailsServiceTest {
@@ -20,6 +24,9 @@ public class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserPrincipalCache principalCache = new UserPrincipalCache(100, Duration.ofMinutes(5));
+
     @InjectMocks
     private CustomUserDetailsService customUserDetailsService;
 
@@ -59,5 +66,40 @@ public class CustomUserDetailsServiceTest {
         assertEquals("User not found", exception.getMessage());
     }
 
+    // --- Un second chargement est servi par le cache ---
+    @Test
+    void testLoadUserByUsername_Cached() {
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+
+        customUserDetailsService.loadUserByUsername("user@example.com");
+        UserDetails second = customUserDetailsService.loadUserByUsername("user@example.com");
+
+        assertEquals(2, second.getAuthorities().size());
+        verify(userRepository, times(1)).findByEmail("user@example.com");
+        assertEquals(1, principalCache.stats().hitCount());
+    }
+
+    // --- L'effacement du mot de passe par l'AuthenticationManager n'altère pas le cache ---
+    @Test
+    void testLoadUserByUsername_ReturnsFreshCopies() {
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+
+        UserDetails first = customUserDetailsService.loadUserByUsername("user@example.com");
+        ((org.springframework.security.core.CredentialsContainer) first).eraseCredentials();
+
+        assertEquals("password123", customUserDetailsService.loadUserByUsername("user@example.com").getPassword());
+    }
+
+    // --- Un utilisateur introuvable n'est pas mis en cache ---
+    @Test
+    void testLoadUserByUsername_NotFoundNotCached() {
+        when(userRepository.findByEmail("unknown@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername("unknown@example.com"));
+        assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername("unknown@example.com"));
+
+        verify(userRepository, times(2)).findByEmail("unknown@example.com");
+    }
+
   
 }
@@ -0,0 +1,78 @@
+package com.example.demo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class LoginRateLimitFilterTest {
+
+    private final LoginRateLimiter limiter = new LoginRateLimiter(
+            100, Duration.ofSeconds(1), 2, Duration.ofMinutes(1), 1000, System::nanoTime);
+    private final LoginRateLimitFilter filter = new LoginRateLimitFilter(limiter, new ObjectMapper());
+
+    private MockHttpServletRequest login(String path, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.setRemoteAddr("10.0.0.1");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // --- Le corps lu par le filtre est rejoué au contrôleur ---
+    @Test
+    void testAllowed_BodyReplayedToChain() throws Exception {
+        String body = "{\"email\":\"calc@example.com\",\"password\":\"secret\"}";
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(login("/api/calculators/login", body), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testRejected_429BeforeController() throws Exception {
+        String body = "{\"email\":\"calc@example.com\",\"password\":\"wrong\"}";
+        filter.doFilter(login("/api/users/login", body), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(login("/api/admins/login", body), new MockHttpServletResponse(), new MockFilterChain());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(login("/api/calculators/login", body), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("60", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString(StandardCharsets.UTF_8).contains("Trop de tentatives"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void testOtherPathsNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(login("/api/users/register", "{\"email\":\"calc@example.com\"}"), response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    @Test
+    void testOversizedBodyRejected() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(login("/api/users/login", "x".repeat(20_000)), response, new MockFilterChain());
+
+        assertEquals(413, response.getStatus());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.demo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong(-1_000_000_000L);
+    private final LoginRateLimiter limiter = new LoginRateLimiter(
+            10, Duration.ofSeconds(1), 3, Duration.ofMinutes(1), 1000, nanos::get);
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    // --- Rafale égale à la capacité, puis refus ---
+    @Test
+    void testTryAcquire_EmailBurstThenRejected() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.1", "calc@example.com").isEmpty());
+        }
+
+        Duration retryAfter = limiter.tryAcquire("10.0.0.1", "calc@example.com").orElseThrow();
+
+        assertEquals(Duration.ofMinutes(1), retryAfter);
+    }
+
+    @Test
+    void testTryAcquire_EmailIsNormalized() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("10.0.0." + i, " Calc@Example.com ");
+        }
+
+        assertTrue(limiter.tryAcquire("10.0.0.9", "calc@example.com").isPresent());
+    }
+
+    // --- Recharge d'un jeton par période ---
+    @Test
+    void testTryAcquire_RefillsOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("10.0.0.1", "calc@example.com");
+        }
+
+        advance(Duration.ofSeconds(59));
+        assertTrue(limiter.tryAcquire("10.0.0.1", "calc@example.com").isPresent());
+        advance(Duration.ofSeconds(1));
+        assertTrue(limiter.tryAcquire("10.0.0.1", "calc@example.com").isEmpty());
+        assertTrue(limiter.tryAcquire("10.0.0.1", "calc@example.com").isPresent());
+    }
+
+    // --- Une même IP qui essaie beaucoup d'emails (credential stuffing) ---
+    @Test
+    void testTryAcquire_IpLimitAcrossEmails() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.1", "user" + i + "@example.com").isEmpty());
+        }
+
+        assertTrue(limiter.tryAcquire("10.0.0.1", "other@example.com").isPresent());
+        assertTrue(limiter.tryAcquire("10.0.0.2", "other@example.com").isEmpty());
+    }
+
+    @Test
+    void testTryAcquire_WithoutEmailOnlyIpApplies() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.1", null).isEmpty());
+        }
+
+        assertTrue(limiter.tryAcquire("10.0.0.1", null).isPresent());
+    }
+
+    @Test
+    void testBindTo_CountsAllowedAndRejected() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("10.0.0.1", "calc@example.com");
+        }
+
+        assertEquals(3.0, registry.get("security.login.attempts").tag("scope", "email").tag("result", "allowed")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("security.login.attempts").tag("scope", "email").tag("result", "rejected")
+                .functionCounter().count());
+        assertEquals(4.0, registry.get("security.login.attempts").tag("scope", "ip").tag("result", "allowed")
+                .functionCounter().count());
+    }
+}
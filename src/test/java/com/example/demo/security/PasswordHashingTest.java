@@ -0,0 +1,137 @@
+package com.example.demo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordHashingTest {
+
+    private final PasswordEncoder encoder = PasswordHashing.encoder(PasswordHashing.BCRYPT, 5);
+
+    // --- Anciens hash BCrypt sans préfixe ---
+    @Test
+    void testMatches_LegacyUnprefixedHash() {
+        String legacy = new BCryptPasswordEncoder(5).encode("secret");
+
+        assertTrue(encoder.matches("secret", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void testEncode_PrefixedAndUpToDate() {
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("{bcrypt}"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    // --- Mode threads virtuels : hachage sur le pool dédié, exceptions propagées telles quelles ---
+    @Test
+    void testOffloaded_RunsOnHashingPool() {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode("secret")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(delegate.matches("secret", "bad")).thenThrow(new IllegalArgumentException("hash invalide"));
+        PasswordEncoder offloaded = PasswordHashing.offloaded(delegate, 1, 4);
+
+        assertTrue(offloaded.encode("secret").startsWith("password-hash-"));
+        assertThrows(IllegalArgumentException.class, () -> offloaded.matches("secret", "bad"));
+    }
+
+    // --- File pleine : refus immédiat (503) au lieu d'une attente sans limite ---
+    @Test
+    void testOffloaded_RejectsWhenQueueFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode("secret")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+        PasswordEncoder offloaded = PasswordHashing.offloaded(delegate, 1, 1);
+
+        Thread running = new Thread(() -> offloaded.encode("secret"));
+        running.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread queued = new Thread(() -> offloaded.encode("secret"));
+        queued.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queued.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        try {
+            assertThrows(PasswordHashingBusyException.class, () -> offloaded.encode("secret"));
+        } finally {
+            release.countDown();
+            running.join(5000);
+            queued.join(5000);
+        }
+    }
+
+    @Test
+    void testExceptionHandler_ServiceUnavailableWithRetryAfter() {
+        ResponseEntity<Map<String, String>> response =
+                new PasswordHashingExceptionHandler().handleBusy(new PasswordHashingBusyException());
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    // --- Coût plus faible ou autre algorithme : à refaire ---
+    @Test
+    void testUpgradeEncoding_LowerStrength() {
+        String weak = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.matches("secret", weak));
+        assertTrue(encoder.upgradeEncoding(weak));
+    }
+
+    @Test
+    void testUpgradeEncoding_OtherAlgorithm() {
+        PasswordEncoder pbkdf2 = PasswordHashing.encoder(PasswordHashing.PBKDF2, 5);
+        String hash = pbkdf2.encode("secret");
+
+        assertTrue(encoder.matches("secret", hash));
+        assertTrue(encoder.upgradeEncoding(hash));
+        assertFalse(pbkdf2.upgradeEncoding(hash));
+    }
+
+    @Test
+    void testEncoder_UnknownAlgorithm() {
+        assertThrows(IllegalStateException.class, () -> PasswordHashing.encoder("md5", 10));
+    }
+
+    // --- Calibration ---
+    @Test
+    void testStrengthFor_DoublesPerStep() {
+        long probe = Duration.ofMillis(4).toNanos();
+
+        assertEquals(12, PasswordHashing.strengthFor(Duration.ofMillis(250).toNanos(), probe, 4, 31));
+        assertEquals(10, PasswordHashing.strengthFor(Duration.ofMillis(1).toNanos(), probe, 10, 14));
+        assertEquals(14, PasswordHashing.strengthFor(Duration.ofSeconds(60).toNanos(), probe, 10, 14));
+    }
+
+    @Test
+    void testCalibrate_StaysWithinBounds() {
+        int strength = PasswordHashing.calibrateBCryptStrength(Duration.ofMillis(10), 4, 8);
+
+        assertTrue(strength >= 4 && strength <= 8);
+    }
+}
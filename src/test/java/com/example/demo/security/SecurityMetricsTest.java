@@ -0,0 +1,53 @@
+package com.example.demo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SecurityMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // --- Hash de mot de passe : encode et matches chronométrés séparément ---
+    @Test
+    void testPasswordEncoder_TimesEachOperation() {
+        PasswordEncoder encoder = SecurityMetrics.timedPasswordEncoder(PasswordHashing.encoder(PasswordHashing.BCRYPT, 4), registry);
+
+        String hash = encoder.encode("secret");
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+
+        assertEquals(1, registry.get(SecurityMetrics.PASSWORD_TIMER).tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get(SecurityMetrics.PASSWORD_TIMER).tag("operation", "matches")
+                .tag("outcome", "success").timer().count());
+    }
+
+    // --- Vérification JWT : les rejets sont comptés en erreur ---
+    @Test
+    void testJwtDecoder_RecordsOutcome() {
+        JwtDecoder delegate = mock(JwtDecoder.class);
+        Jwt jwt = mock(Jwt.class);
+        when(delegate.decode("ok")).thenReturn(jwt);
+        when(delegate.decode("bad")).thenThrow(new BadJwtException("invalid"));
+        JwtDecoder decoder = SecurityMetrics.timedJwtDecoder(delegate, registry);
+
+        assertSame(jwt, decoder.decode("ok"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+
+        assertEquals(1, registry.get(SecurityMetrics.JWT_VERIFY_TIMER).tag("outcome", "success").timer().count());
+        assertEquals(1, registry.get(SecurityMetrics.JWT_VERIFY_TIMER).tag("outcome", "error").timer().count());
+    }
+}
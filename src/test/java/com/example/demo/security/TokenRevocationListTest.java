@@ -0,0 +1,92 @@
+package com.example.demo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.example.demo.entity.RevokedToken;
+import com.example.demo.repository.RevokedTokenRepository;
+
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository repository;
+
+    private TokenRevocationList revocationList;
+
+    private final Instant later = Instant.now().plus(1, ChronoUnit.HOURS);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        revocationList = new TokenRevocationList(repository, 1000);
+    }
+
+    @Test
+    void testRevoke_PersistsAndRejects() {
+        assertTrue(revocationList.revoke("jti-1", later));
+
+        assertTrue(revocationList.isRevoked("jti-1"));
+        assertFalse(revocationList.isRevoked("jti-2"));
+        assertFalse(revocationList.isRevoked(null));
+        verify(repository).saveAndFlush(any(RevokedToken.class));
+    }
+
+    // --- Un refresh token rejoué n'est révoqué (et persisté) qu'une fois ---
+    @Test
+    void testRevoke_SecondTimeReturnsFalse() {
+        revocationList.revoke("jti-1", later);
+
+        assertFalse(revocationList.revoke("jti-1", later));
+        verify(repository, times(1)).saveAndFlush(any(RevokedToken.class));
+    }
+
+    // --- Rechargement : base + révocations locales non expirées ---
+    @Test
+    void testReload_LoadsPersistedAndKeepsLocalEntries() {
+        revocationList.revoke("local", later);
+        revocationList.revoke("expired", Instant.now().minusSeconds(1));
+        when(repository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of(new RevokedToken("persisted", later)));
+
+        revocationList.reload();
+
+        assertTrue(revocationList.isRevoked("persisted"));
+        assertTrue(revocationList.isRevoked("local"));
+        assertFalse(revocationList.isRevoked("expired"));
+        assertEquals(2, revocationList.size());
+        verify(repository).deleteExpired(any(Instant.class));
+    }
+
+    @Test
+    void testBloomFilter_NoFalseNegatives() {
+        TokenRevocationList.BloomFilter bloom = new TokenRevocationList.BloomFilter(10_000, 0.01);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String key = UUID.randomUUID().toString();
+            keys.add(key);
+            bloom.put(key);
+        }
+
+        assertTrue(keys.stream().allMatch(bloom::mightContain));
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> bloom.mightContain(UUID.randomUUID().toString()))
+                .count();
+        assertTrue(falsePositives < 300, "faux positifs : " + falsePositives);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import com.example.demo.entity.RevokedToken;
+import com.example.demo.repository.RevokedTokenRepository;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "yK9ggqDthOaGc0zLxw0zKcpX3J+yyCKwG8ovZHkwngDBy0P7Vncv9Uim4JkVoJ1h";
+
+    @Mock
+    private RevokedTokenRepository repository;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private TokenRevocationList revocationList;
+    private TokenService tokenService;
+    private JwtDecoder accessDecoder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        revocationList = new TokenRevocationList(repository, 1000);
+        tokenService = new TokenService(new NimbusJwtEncoder(new ImmutableSecret<>(SECRET.getBytes())), revocationList,
+                userDetailsService, SECRET, Duration.ofMinutes(15), Duration.ofDays(14));
+        accessDecoder = new CachingJwtDecoder(TokenService.decoder(SECRET, TokenService.ACCESS),
+                revocationList::isRevoked, 100, Duration.ofHours(1));
+        when(userDetailsService.loadUserByUsername("calc@example.com")).thenReturn(
+                new User("calc@example.com", "hash", List.of(new SimpleGrantedAuthority("ROLE_CALCULATOR"))));
+    }
+
+    // --- Émission ---
+    @Test
+    void testIssue_ShortLivedAccessToken() {
+        TokenService.TokenPair tokens = tokenService.issue(7L, "calc@example.com",
+                List.of(new SimpleGrantedAuthority("ROLE_CALCULATOR")));
+
+        Jwt access = accessDecoder.decode(tokens.getAccessToken());
+        assertEquals("calc@example.com", access.getSubject());
+        assertEquals(List.of("CALCULATOR"), access.getClaimAsStringList("scope"));
+        assertEquals(7L, ((Number) access.getClaim("id")).longValue());
+        assertEquals(900, tokens.getExpiresIn());
+        assertTrue(Duration.between(access.getIssuedAt(), access.getExpiresAt()).compareTo(Duration.ofMinutes(15)) <= 0);
+    }
+
+    @Test
+    void testRefreshToken_RejectedAsAccessToken() {
+        TokenService.TokenPair tokens = tokenService.issue(7L, "calc@example.com", List.of());
+
+        assertThrows(JwtException.class, () -> accessDecoder.decode(tokens.getRefreshToken()));
+    }
+
+    @Test
+    void testAccessToken_RejectedAsRefreshToken() {
+        TokenService.TokenPair tokens = tokenService.issue(7L, "calc@example.com", List.of());
+
+        assertThrows(JwtException.class, () -> tokenService.refresh(tokens.getAccessToken()));
+    }
+
+    // --- Rotation ---
+    @Test
+    void testRefresh_RotatesAndRejectsReuse() {
+        TokenService.TokenPair first = tokenService.issue(7L, "calc@example.com", List.of());
+
+        TokenService.TokenPair second = tokenService.refresh(first.getRefreshToken());
+
+        assertNotEquals(first.getRefreshToken(), second.getRefreshToken());
+        assertEquals(List.of("CALCULATOR"), accessDecoder.decode(second.getAccessToken()).getClaimAsStringList("scope"));
+        assertThrows(JwtException.class, () -> tokenService.refresh(first.getRefreshToken()));
+    }
+
+    // --- Échange concurrent sur une autre instance : la clé primaire refuse la révocation, rejeu et non erreur 500 ---
+    @Test
+    void testRefresh_ConcurrentReplayOnAnotherInstance() {
+        TokenService.TokenPair tokens = tokenService.issue(7L, "calc@example.com", List.of());
+        when(repository.saveAndFlush(any(RevokedToken.class))).thenThrow(new DataIntegrityViolationException("PRIMARY"));
+
+        assertThrows(BadJwtException.class, () -> tokenService.refresh(tokens.getRefreshToken()));
+    }
+
+    // --- Déconnexion ---
+    @Test
+    void testLogout_RevokesAccessAndRefreshTokens() {
+        TokenService.TokenPair tokens = tokenService.issue(7L, "calc@example.com", List.of());
+        Jwt access = accessDecoder.decode(tokens.getAccessToken());
+
+        tokenService.logout(access, tokens.getRefreshToken());
+
+        assertThrows(JwtException.class, () -> accessDecoder.decode(tokens.getAccessToken()));
+        assertThrows(JwtException.class, () -> tokenService.refresh(tokens.getRefreshToken()));
+    }
+
+    @Test
+    void testLogout_IgnoresRefreshTokenOfAnotherUser() {
+        TokenService.TokenPair mine = tokenService.issue(7L, "calc@example.com", List.of());
+        TokenService.TokenPair other = tokenService.issue(8L, "other@example.com", List.of());
+
+        tokenService.logout(accessDecoder.decode(mine.getAccessToken()), other.getRefreshToken());
+
+        assertTrue(accessDecoder.decode(other.getAccessToken()) != null);
+        assertEquals(1, revocationList.size());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.example.demo.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserPrincipalCacheTest {
+
+    private final UserPrincipalCache cache = new UserPrincipalCache(100, Duration.ofMinutes(5));
+
+    private User user(Long id, String email, String role) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setRole(role);
+        return user;
+    }
+
+    @Test
+    void testPut_SplitsRoles() {
+        cache.put(user(1L, "a@example.com", "ADMIN,CALCULATOR"));
+
+        assertEquals(2, cache.getIfPresent("a@example.com").get().getAuthorities().size());
+    }
+
+    @Test
+    void testPut_NullRoleHasNoAuthority() {
+        cache.put(user(1L, "a@example.com", null));
+
+        assertTrue(cache.getIfPresent("a@example.com").get().getAuthorities().isEmpty());
+    }
+
+    // --- Chargement hors verrou : un seul appel au chargeur, les échecs ne sont pas mémorisés ---
+    @Test
+    void testGet_LoadsOnceAndDoesNotCacheFailure() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("a@example.com", key -> {
+            loads.incrementAndGet();
+            throw new UsernameNotFoundException("User not found");
+        }));
+        assertTrue(cache.getIfPresent("a@example.com").isEmpty());
+
+        cache.get("a@example.com", key -> {
+            loads.incrementAndGet();
+            return user(1L, key, "USER");
+        });
+        cache.get("a@example.com", key -> {
+            loads.incrementAndGet();
+            return user(1L, key, "USER");
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals("a@example.com", cache.getIfPresent("a@example.com").get().getUsername());
+    }
+
+    @Test
+    void testEvictById() {
+        cache.put(user(1L, "a@example.com", "USER"));
+        cache.put(user(2L, "b@example.com", "USER"));
+
+        cache.evictById(1L);
+
+        assertTrue(cache.getIfPresent("a@example.com").isEmpty());
+        assertTrue(cache.getIfPresent("b@example.com").isPresent());
+    }
+
+    // --- Email changé : l'entrée sous l'ancien email est retirée, l'invalidation par id suit le nouvel email ---
+    @Test
+    void testPut_EmailChangeReplacesIndexedEntry() {
+        cache.put(user(1L, "old@example.com", "USER"));
+        cache.put(user(1L, "new@example.com", "USER"));
+
+        assertTrue(cache.getIfPresent("old@example.com").isEmpty());
+
+        cache.evictById(1L);
+        assertTrue(cache.getIfPresent("new@example.com").isEmpty());
+    }
+
+    // --- Taux de succès visible via Micrometer ---
+    @Test
+    void testBindTo_RegistersHitRatio() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.put(user(1L, "a@example.com", "USER"));
+
+        cache.getIfPresent("a@example.com");
+        cache.getIfPresent("b@example.com");
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "security.principals").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "security.principals").tag("result", "miss")
+                .functionCounter().count());
+    }
+}
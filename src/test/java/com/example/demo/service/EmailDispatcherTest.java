@@ -0,0 +1,136 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.example.demo.entity.EmailMessage;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+
+class EmailDispatcherTest {
+
+    // Faux serveur SMTP local : aucun email ne sort de la machine
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private EmailService emailService;
+    private EmailDispatcher dispatcher;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        emailService = mock(EmailService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = dispatcher(ServerSetupTest.SMTP.getPort(), 3);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+    }
+
+    private EmailDispatcher dispatcher(int port, int maxAttempts) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        return new EmailDispatcher(emailService, mailSender, 10, 1, maxAttempts,
+                Duration.ofSeconds(30), Duration.ofMinutes(10), Duration.ofMinutes(5), Duration.ofDays(7),
+                new MockEnvironment(), meterRegistry);
+    }
+
+    private EmailMessage message(long id, String recipient) {
+        EmailMessage message = new EmailMessage(recipient, "Sujet " + id, "<b>Bonjour</b>", Instant.now());
+        message.setId(id);
+        return message;
+    }
+
+    // --- Un lot est envoyé sur une seule connexion puis marqué SENT ---
+    @Test
+    void testDeliver_SendsBatch() throws Exception {
+        dispatcher.deliver(List.of(message(1L, "a@example.com"), message(2L, "b@example.com")));
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        verify(emailService).markSent(eq(List.of(1L, 2L)), any(Instant.class));
+        verify(emailService, never()).markFailed(any(), anyString(), any());
+        assertEquals(1, meterRegistry.get("email.send").timer().count());
+        assertEquals(2.0, meterRegistry.get("email.messages").tag("result", "sent").counter().count());
+    }
+
+    // --- Serveur injoignable : nouvel essai planifié ---
+    @Test
+    void testDeliver_ServerDownSchedulesRetry() throws InterruptedException {
+        dispatcher.shutdown();
+        dispatcher = dispatcher(1, 3);
+
+        dispatcher.deliver(List.of(message(1L, "a@example.com")));
+
+        verify(emailService).markFailed(eq(1L), anyString(), any(Instant.class));
+        verify(emailService).markSent(eq(List.of()), any(Instant.class));
+        assertEquals(1.0, meterRegistry.get("email.messages").tag("result", "failed").counter().count());
+    }
+
+    // --- Dernière tentative : lettre morte ---
+    @Test
+    void testDeliver_LastAttemptIsDeadLettered() throws InterruptedException {
+        dispatcher.shutdown();
+        dispatcher = dispatcher(1, 3);
+        EmailMessage message = message(1L, "a@example.com");
+        message.setAttempts(2);
+
+        dispatcher.deliver(List.of(message));
+
+        verify(emailService).markFailed(eq(1L), anyString(), isNull());
+    }
+
+    // --- Délai exponentiel plafonné ---
+    @Test
+    void testNextAttempt_Backoff() {
+        EmailDispatcher longLived = dispatcher(1, 20);
+        Instant now = Instant.now();
+
+        assertEquals(now.plusSeconds(30), longLived.nextAttempt(1, now));
+        assertEquals(now.plusSeconds(60), longLived.nextAttempt(2, now));
+        assertEquals(now.plusSeconds(120), longLived.nextAttempt(3, now));
+        assertEquals(now.plus(Duration.ofMinutes(10)), longLived.nextAttempt(15, now));
+        assertNull(longLived.nextAttempt(20, now));
+    }
+
+    // --- poll rend la main immédiatement, l'envoi se fait sur l'exécuteur ---
+    @Test
+    void testPoll_DeliversInBackground() {
+        when(emailService.claimBatch(anyInt(), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(message(7L, "c@example.com")))
+                .thenReturn(List.of());
+
+        dispatcher.poll();
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        verify(emailService, timeout(5000)).markSent(eq(List.of(7L)), any(Instant.class));
+    }
+}
@@ -1,80 +1,137 @@
 package com.example.demo.service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.example.demo.entity.EmailMessage;
+import com.example.demo.entity.EmailMessage.Status;
+import com.example.demo.repository.EmailMessageRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class EmailServiceTest {
 
     @Mock
-    private JavaMailSender mailSender;
+    private EmailMessageRepository emailMessageRepository;
 
     @InjectMocks
     private EmailService emailService;
 
-    private MimeMessage mimeMessage;
-
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        mimeMessage = mock(MimeMessage.class);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        when(emailMessageRepository.save(any(EmailMessage.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
-    // --- Test pour sendVerificationEmail ---
+    // --- Test pour sendVerificationEmail : mise en file, aucun envoi SMTP ---
     @Test
-    void testSendVerificationEmail() throws MessagingException {
+    void testSendVerificationEmail() {
         emailService.sendVerificationEmail("user@example.com", "JohnDoe");
 
-        // Vérifier que sendEmail a bien été appelé
-        verify(mailSender, times(1)).send(any(MimeMessage.class));
+        ArgumentCaptor<EmailMessage> captor = ArgumentCaptor.forClass(EmailMessage.class);
+        verify(emailMessageRepository, times(1)).save(captor.capture());
 
-        // Capturer le message et vérifier le contenu
-        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(captor.capture());
-
-        assertNotNull(captor.getValue());
+        EmailMessage message = captor.getValue();
+        assertEquals("user@example.com", message.getRecipient());
+        assertEquals(Status.PENDING, message.getStatus());
+        assertTrue(message.getBody().contains("JohnDoe"));
+        assertFalse(message.getNextAttemptAt().isAfter(Instant.now()));
     }
 
     // --- Test pour sendLoginNotification ---
     @Test
-    void testSendLoginNotification() throws MessagingException {
+    void testSendLoginNotification() {
         emailService.sendLoginNotification("login@example.com", "JohnDoe");
 
-        verify(mailSender, times(1)).send(any(MimeMessage.class));
+        verify(emailMessageRepository, times(1)).save(any(EmailMessage.class));
     }
 
     // --- Test pour sendPasswordResetEmail ---
     @Test
-    void testSendPasswordResetEmail() throws MessagingException {
+    void testSendPasswordResetEmail() {
         emailService.sendPasswordResetEmail("reset@example.com", "newPass123");
 
-        verify(mailSender, times(1)).send(any(MimeMessage.class));
+        ArgumentCaptor<EmailMessage> captor = ArgumentCaptor.forClass(EmailMessage.class);
+        verify(emailMessageRepository).save(captor.capture());
+        assertTrue(captor.getValue().getBody().contains("newPass123"));
     }
 
-    // --- Test pour s'assurer qu'une exception est levée ---
+    // --- Une erreur de base remonte à l'appelant ---
     @Test
-    void testSendEmail_ThrowsException() throws MessagingException {
-        doThrow(new RuntimeException("Erreur d'envoi"))
-            .when(mailSender)
-            .send(any(MimeMessage.class));
+    void testSendEmail_ThrowsException() {
+        when(emailMessageRepository.save(any(EmailMessage.class))).thenThrow(new RuntimeException("Erreur d'enregistrement"));
 
         Exception exception = assertThrows(
             RuntimeException.class,
             () -> emailService.sendVerificationEmail("error@example.com", "ErrorUser")
         );
 
-        assertEquals("Erreur d'envoi", exception.getMessage());
+        assertEquals("Erreur d'enregistrement", exception.getMessage());
+    }
+
+    // --- Réservation d'un lot : statut SENDING jusqu'à la fin du bail ---
+    @Test
+    void testClaimBatch() {
+        Instant now = Instant.now();
+        Instant leaseUntil = now.plus(Duration.ofMinutes(5));
+        EmailMessage message = new EmailMessage("a@example.com", "s", "b", now);
+        when(emailMessageRepository.findDueForUpdate(anyCollection(), eq(now), eq(Limit.of(10)))).thenReturn(List.of(message));
+
+        List<EmailMessage> batch = emailService.claimBatch(10, now, leaseUntil);
+
+        assertEquals(1, batch.size());
+        assertEquals(Status.SENDING, message.getStatus());
+        assertEquals(leaseUntil, message.getNextAttemptAt());
+    }
+
+    @Test
+    void testMarkFailed_Retry() {
+        EmailMessage message = new EmailMessage("a@example.com", "s", "b", Instant.now());
+        Instant retryAt = Instant.now().plusSeconds(30);
+        when(emailMessageRepository.findById(1L)).thenReturn(Optional.of(message));
+
+        emailService.markFailed(1L, "x".repeat(600), retryAt);
+
+        assertEquals(Status.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertEquals(retryAt, message.getNextAttemptAt());
+        assertEquals(EmailMessage.MAX_ERROR_LENGTH, message.getLastError().length());
     }
 
+    @Test
+    void testMarkFailed_DeadLetter() {
+        EmailMessage message = new EmailMessage("a@example.com", "s", "b", Instant.now());
+        when(emailMessageRepository.findById(1L)).thenReturn(Optional.of(message));
+
+        emailService.markFailed(1L, "refusé", null);
+
+        assertEquals(Status.DEAD, message.getStatus());
+        assertEquals("", message.getBody());
+    }
+
+    @Test
+    void testPurgeFinished() {
+        Instant before = Instant.now();
+        when(emailMessageRepository.deleteByStatusCreatedBefore(List.of(Status.SENT, Status.DEAD), before)).thenReturn(3);
+
+        assertEquals(3, emailService.purgeFinished(before));
+    }
+
+    @Test
+    void testMarkSent_EmptyIsNoop() {
+        emailService.markSent(List.of(), Instant.now());
+
+        verify(emailMessageRepository, never()).markSent(anyCollection(), any());
+    }
 }
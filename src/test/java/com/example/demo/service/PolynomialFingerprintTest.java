@@ -0,0 +1,71 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.entity.Root;
+
+class PolynomialFingerprintTest {
+
+    // --- Les espaces, la casse et l'ordre des racines n'influencent pas l'empreinte ---
+    @Test
+    void testCompute_NormalizedInputsMatch() {
+        String first = PolynomialFingerprint.compute("x^2 - 4", "(x-2)(x+2)", roots("2", "-2"), 1L);
+        String second = PolynomialFingerprint.compute("X^2-4", "(x - 2)(x + 2)", roots("-2", " 2"), 1L);
+
+        assertEquals(first, second);
+        assertEquals(PolynomialFingerprint.LENGTH, first.length());
+    }
+
+    // --- Le même polynôme pour deux utilisateurs donne deux empreintes ---
+    @Test
+    void testCompute_DependsOnUser() {
+        String first = PolynomialFingerprint.compute("x^2 - 4", "(x-2)(x+2)", roots("2", "-2"), 1L);
+        String second = PolynomialFingerprint.compute("x^2 - 4", "(x-2)(x+2)", roots("2", "-2"), 2L);
+
+        assertNotEquals(first, second);
+    }
+
+    // --- Les champs sont séparés : déplacer du texte d'un champ à l'autre change l'empreinte ---
+    @Test
+    void testCompute_FieldsAreDelimited() {
+        String first = PolynomialFingerprint.compute("x^2", "-4", null, 1L);
+        String second = PolynomialFingerprint.compute("x^2-4", "", null, 1L);
+
+        assertNotEquals(first, second);
+    }
+
+    // --- Valeurs nulles acceptées ---
+    @Test
+    void testCompute_NullValues() {
+        assertEquals(PolynomialFingerprint.compute(null, null, null, 1L),
+                PolynomialFingerprint.compute("", "", roots(), 1L));
+    }
+
+    // --- Une racine double équivaut à deux racines identiques ---
+    @Test
+    void testCompute_MultiplicityExpanded() {
+        assertEquals(PolynomialFingerprint.compute("x^2 - 2x + 1", "(x - 1)^2", roots("1", "1"), 1L),
+                PolynomialFingerprint.compute("x^2 - 2x + 1", "(x - 1)^2", List.of(new Root(1, 0, 2)), 1L));
+    }
+
+    // --- Multiplicité cumulée et non répétée : une très grande multiplicité ne coûte rien ---
+    @Test
+    void testCompute_LargeMultiplicityNotExpanded() {
+        String first = PolynomialFingerprint.compute("x - 1", null, List.of(new Root(1, 0, Integer.MAX_VALUE)), 1L);
+        String second = PolynomialFingerprint.compute("x - 1", null,
+                List.of(new Root(1, 0, Integer.MAX_VALUE), new Root(1, 0, 1)), 1L);
+
+        assertEquals(PolynomialFingerprint.LENGTH, first.length());
+        assertNotEquals(first, second);
+    }
+
+    private static List<Root> roots(String... values) {
+        return Arrays.stream(values).map(Root::parse).toList();
+    }
+}
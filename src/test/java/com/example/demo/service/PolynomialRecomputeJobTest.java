@@ -0,0 +1,206 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.example.demo.entity.PolynomialSolution;
+import com.example.demo.entity.RecomputeProgress;
+import com.example.demo.entity.Root;
+import com.example.demo.entity.RootListConverter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Base H2 en mémoire (mode MySQL) migrée par Flyway : mêmes tables et même point de reprise qu'en production.
+ */
+class PolynomialRecomputeJobTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private PolynomialResultCache resultCache;
+    private SimpleMeterRegistry meterRegistry;
+    private PolynomialRecomputeJob job;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        resultCache = mock(PolynomialResultCache.class);
+        meterRegistry = new SimpleMeterRegistry();
+        // Tranches de 10 lignes, lots JDBC de 4 : plusieurs tranches et un lot incomplet par tranche
+        job = new PolynomialRecomputeJob(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new PolynomialSolverService(), resultCache, 10, 4, 2, Duration.ofMinutes(2), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        job.shutdown();
+    }
+
+    // --- Toutes les lignes recalculées, ligne illisible comptée en échec, point de reprise terminé ---
+    @Test
+    void testStart_RecomputesEveryRow() throws InterruptedException {
+        for (long id = 1; id <= 25; id++) {
+            insert(id, "x^2 - " + (id * id));
+        }
+        insert(26, "pas un polynôme");
+
+        assertTrue(job.start(false));
+        await();
+
+        assertEquals("(x + 3)(x - 3)", factored(3));
+        assertEquals("(x + 25)(x - 25)", factored(25));
+        assertEquals(2, roots(25).size());
+        assertEquals("old", factored(26));
+        verify(resultCache).invalidate("x^2 - 9");
+
+        RecomputeProgress progress = job.progress();
+        assertEquals("COMPLETED", progress.getStatus());
+        assertEquals(26, progress.getProcessed());
+        assertEquals(1, progress.getFailed());
+        assertEquals(26, progress.getTotal());
+        assertEquals(26, progress.getLastId());
+        assertNull(progress.getEtaSeconds()); // Plus de tâche en cours : aucun débit à projeter
+        assertEquals(25.0, meterRegistry.counter("polynomial.recompute.rows", "result", "updated").count());
+    }
+
+    // --- Reprise après arrêt brutal : le bail expiré est repris et seules les lignes après last_id sont traitées ---
+    @Test
+    void testStart_ResumesAfterCrash() throws InterruptedException {
+        for (long id = 1; id <= 20; id++) {
+            insert(id, "x^2 - " + (id * id));
+        }
+        checkpoint("RUNNING", 10, 10, Instant.now().minus(Duration.ofMinutes(5)));
+        assertEquals("INTERRUPTED", job.progress().getStatus());
+
+        assertTrue(job.start(false));
+        await();
+
+        assertEquals("old", factored(10));
+        assertEquals("(x + 11)(x - 11)", factored(11));
+        RecomputeProgress progress = job.progress();
+        assertEquals("COMPLETED", progress.getStatus());
+        assertEquals(20, progress.getProcessed());
+        assertEquals(20, progress.getTotal());
+    }
+
+    // --- Bail encore valide (autre instance) : refus ; restart repart de zéro une fois la tâche terminée ---
+    @Test
+    void testStart_RejectedWhileLeaseHeldAndRestart() throws InterruptedException {
+        insert(1, "x - 1");
+        checkpoint("RUNNING", 0, 0, Instant.now());
+
+        assertFalse(job.start(false));
+
+        checkpoint("COMPLETED", 1, 1, Instant.now());
+        jdbcTemplate.update("UPDATE polynomial SET factored_expression = 'old'");
+        assertTrue(job.start(true));
+        await();
+        assertEquals("(x - 1)", factored(1));
+        assertEquals(1, job.progress().getProcessed());
+    }
+
+    // --- Ligne non canonique (écrite arrondie ou saisie par un client) : recalculée et comptée à part ---
+    @Test
+    void testStart_CountsNonCanonicalRows() throws InterruptedException {
+        insert(1, "x^2 - 2.0000001");
+        insert(2, "x^2-4");
+
+        assertTrue(job.start(false));
+        await();
+
+        assertEquals("(x + 2)(x - 2)", factored(2));
+        assertEquals(2, job.progress().getProcessed());
+        assertEquals(1.0, meterRegistry.counter("polynomial.recompute.non_canonical").count());
+    }
+
+    // --- Bail repris par une autre instance pendant un lot : rien n'est validé, le statut de l'autre est conservé ---
+    @Test
+    void testStart_StopsWhenLeaseTakenOver() throws InterruptedException {
+        CountDownLatch solving = new CountDownLatch(1);
+        CountDownLatch takenOver = new CountDownLatch(1);
+        PolynomialSolverService slowSolver = new PolynomialSolverService() {
+            @Override
+            public PolynomialSolution solveAscending(double[] coefficients) {
+                solving.countDown();
+                try {
+                    takenOver.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.solveAscending(coefficients);
+            }
+        };
+        job.shutdown();
+        job = new PolynomialRecomputeJob(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                slowSolver, resultCache, 10, 4, 1, Duration.ofMinutes(2), meterRegistry);
+        for (long id = 1; id <= 8; id++) {
+            insert(id, "x^2 - " + (id * id));
+        }
+
+        assertTrue(job.start(false));
+        assertTrue(solving.await(10, TimeUnit.SECONDS));
+        jdbcTemplate.update("UPDATE recompute_checkpoint SET lease_owner = 'other', updated_at = ? WHERE job = ?",
+                Timestamp.from(Instant.now()), PolynomialRecomputeJob.JOB);
+        takenOver.countDown();
+        await();
+
+        assertEquals("old", factored(1));
+        RecomputeProgress progress = job.progress();
+        assertEquals("RUNNING", progress.getStatus());
+        assertEquals(0, progress.getProcessed());
+        assertEquals("other", jdbcTemplate.queryForObject("SELECT lease_owner FROM recompute_checkpoint WHERE job = ?",
+                String.class, PolynomialRecomputeJob.JOB));
+    }
+
+    private void await() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (job.isRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(job.isRunning());
+    }
+
+    private void insert(long id, String expression) {
+        jdbcTemplate.update("INSERT INTO polynomial (id, simplified_expression, factored_expression, root_data) "
+                + "VALUES (?, ?, 'old', NULL)", id, expression);
+    }
+
+    private void checkpoint(String status, long lastId, long processed, Instant updatedAt) {
+        jdbcTemplate.update("UPDATE recompute_checkpoint SET status = ?, last_id = ?, processed = ?, updated_at = ? "
+                + "WHERE job = ?", status, lastId, processed, Timestamp.from(updatedAt), PolynomialRecomputeJob.JOB);
+    }
+
+    private String factored(long id) {
+        return jdbcTemplate.queryForObject("SELECT factored_expression FROM polynomial WHERE id = ?", String.class, id);
+    }
+
+    private List<Root> roots(long id) {
+        byte[] data = jdbcTemplate.queryForObject("SELECT root_data FROM polynomial WHERE id = ?", byte[].class, id);
+        return new RootListConverter().convertToEntityAttribute(data);
+    }
+}
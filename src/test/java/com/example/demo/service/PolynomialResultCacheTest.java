@@ -0,0 +1,83 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.entity.PolynomialSolution;
+import com.example.demo.entity.PolynomialStoreResult.Status;
+import com.example.demo.entity.Root;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PolynomialResultCacheTest {
+
+    private final PolynomialResultCache cache = new PolynomialResultCache(100, Duration.ofMinutes(5));
+
+    // --- Clé normalisée : espaces et casse ignorés ---
+    @Test
+    void testGetSolution_NormalizedKey() {
+        cache.putComputedSolution("x^2 - 4", new PolynomialSolution("x^2 - 4", "(x + 2)(x - 2)", List.of(new Root(-2, 0), new Root(2, 0))));
+
+        assertTrue(cache.getComputedSolution("X^2-4").isPresent());
+        assertTrue(cache.getComputedSolution("x^2 - 5").isEmpty());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    // --- Les copies renvoyées n'altèrent pas l'entrée mémorisée ---
+    @Test
+    void testGetSolution_ReturnsCopies() {
+        cache.putComputedSolution("x - 1", new PolynomialSolution("x - 1", "(x - 1)", List.of(new Root(1, 0))));
+
+        cache.getComputedSolution("x - 1").get().setStatus(Status.STORED);
+
+        assertNull(cache.getComputedSolution("x - 1").get().getStatus());
+    }
+
+    // --- Résultats calculés et lignes enregistrées : deux caches, l'écriture n'invalide que les lignes ---
+    @Test
+    void testComputedAndStoredSolutionsSeparated() {
+        cache.putComputedSolution("x - 1", new PolynomialSolution("x - 1", "(x - 1)", List.of(new Root(1, 0))));
+        cache.putStoredSolution("x - 2", new PolynomialSolution("x - 2", "(x - 3)", List.of(new Root(3, 0))));
+
+        assertTrue(cache.getStoredSolution("x - 1").isEmpty());
+        assertTrue(cache.getComputedSolution("x - 2").isEmpty());
+
+        cache.putStoredSolution("x - 1", new PolynomialSolution("x - 1", "(x - 1)", List.of(new Root(1, 0))));
+        cache.invalidate("x - 1");
+        assertTrue(cache.getStoredSolution("x - 1").isEmpty());
+        assertTrue(cache.getComputedSolution("x - 1").isPresent());
+        assertEquals(2, cache.storedStats().missCount());
+    }
+
+    @Test
+    void testStoredFingerprints() {
+        cache.markStored(1L, "abc");
+
+        assertTrue(cache.isStored(1L, "abc"));
+        assertFalse(cache.isStored(2L, "abc"));
+
+        cache.invalidateAll();
+        assertFalse(cache.isStored(1L, "abc"));
+    }
+
+    // --- Métriques exportées (hits, misses, évictions) ---
+    @Test
+    void testBindTo_RegistersMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.getComputedSolution("x");
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "polynomial.results").tag("result", "miss")
+                .functionCounter().count());
+        assertTrue(registry.find("cache.evictions").tag("cache", "polynomial.results").functionCounter() != null);
+    }
+}
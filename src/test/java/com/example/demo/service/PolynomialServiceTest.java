@@ -1,23 +1,42 @@
 package com.example.demo.service;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import com.example.demo.entity.Polynomial;
+import com.example.demo.entity.PolynomialDTO;
+import com.example.demo.entity.PolynomialPage;
+import com.example.demo.entity.PolynomialSolution;
+import com.example.demo.entity.PolynomialStoreResult;
+import com.example.demo.entity.PolynomialStoreResult.Status;
+import com.example.demo.entity.Root;
 import com.example.demo.entity.User;
 import com.example.demo.repository.PolynomialRepository;
 
@@ -26,6 +45,9 @@ class PolynomialServiceTest {
     @Mock
     private PolynomialRepository polynomialRepository;
 
+    @Spy
+    private PolynomialResultCache resultCache = new PolynomialResultCache(100, Duration.ofMinutes(5));
+
     @InjectMocks
     private PolynomialService polynomialService;
 
@@ -43,50 +65,235 @@ class PolynomialServiceTest {
 
         // Associer l'utilisateur au polynôme
         polynomial = new Polynomial();
-        polynomial.setId(1L);
         polynomial.setSimplifiedExpression("x^2 + 4x + 4");
         polynomial.setUser(user);  // Lien avec l'utilisateur
     }
 
     // --- Test sans doublon (Enregistrement réussi) ---
     @Test
+    @SuppressWarnings("unchecked")
     void testSavePolynomial_NoDuplicate() {
-        when(polynomialRepository.findDuplicate(anyString(), anyString(), any(), anyLong()))
-                .thenReturn(Optional.empty());
+        when(polynomialRepository.findExistingFingerprints(anyLong(), anyCollection())).thenReturn(List.of());
 
         polynomialService.savePolynomial(polynomial);
 
-        // Vérifier que la méthode save() est appelée
-        verify(polynomialRepository, times(1)).save(polynomial);
+        // Vérifier que saveAll() est appelée avec l'empreinte calculée
+        ArgumentCaptor<List<Polynomial>> captor = ArgumentCaptor.forClass(List.class);
+        verify(polynomialRepository, times(1)).saveAll(captor.capture());
+        assertEquals(List.of(polynomial), captor.getValue());
+        assertEquals(PolynomialFingerprint.LENGTH, polynomial.getFingerprint().length());
     }
 
-    // --- Test avec doublon (Pas d'enregistrement attendu) ---
-
-
     // --- Ajout de vérification pour confirmer la logique ---
     @Test
     void testSavePolynomial_Duplicate_WithLogging() {
         // Simuler la présence d'un doublon
-        when(polynomialRepository.findDuplicate(
+        String fingerprint = PolynomialFingerprint.compute(
             polynomial.getSimplifiedExpression(),
             polynomial.getFactoredExpression(),
             polynomial.getRoots(),
             polynomial.getUser().getId()
-        )).thenReturn(Optional.of(polynomial));
+        );
+        when(polynomialRepository.findExistingFingerprints(eq(1L), anyCollection())).thenReturn(List.of(fingerprint));
 
         // Appeler la méthode savePolynomial
-        polynomialService.savePolynomial(polynomial);
+        PolynomialStoreResult result = polynomialService.savePolynomial(polynomial);
+        assertEquals(Status.DUPLICATE, result.getStatus());
 
         // Vérification avec un message explicatif
+        verify(polynomialRepository, never()).saveAll(anyList());
         verify(polynomialRepository, never()).save(polynomial);
+    }
 
-        // Assertion supplémentaire pour débogage
-        Optional<Polynomial> duplicate = polynomialRepository.findDuplicate(
-            polynomial.getSimplifiedExpression(),
-            polynomial.getFactoredExpression(),
-            polynomial.getRoots(),
-            polynomial.getUser().getId()
-        );
-        assert duplicate.isPresent();
+    // --- Expression illisible : INVALID renvoyé à l'appelant, aucun insert ---
+    @Test
+    void testSavePolynomial_InvalidExpression() {
+        polynomial.setSimplifiedExpression("pas un polynôme");
+
+        PolynomialStoreResult result = polynomialService.savePolynomial(polynomial);
+
+        assertEquals(Status.INVALID, result.getStatus());
+        verify(polynomialRepository, never()).saveAll(anyList());
+    }
+
+    // --- Forme canonique ou factorisée plus large que sa colonne : INVALID au lieu d'une erreur d'intégrité ---
+    @Test
+    void testSavePolynomials_TooLongForColumns() {
+        StringBuilder terms = new StringBuilder("1");
+        for (int degree = 1; degree <= 60; degree++) {
+            terms.append(" + x^").append(degree); // Forme canonique de plus de 255 caractères
+        }
+        Polynomial longCanonical = polynomial(terms.toString(), null, null);
+        Polynomial longFactored = polynomial("x - 1", "(x - 1)".repeat(40), List.of("1"));
+
+        List<PolynomialStoreResult> results = polynomialService.savePolynomials(user, List.of(longCanonical, longFactored));
+
+        assertEquals(Status.INVALID, results.get(0).getStatus());
+        assertEquals(Status.INVALID, results.get(1).getStatus());
+        verify(polynomialRepository, never()).saveAll(anyList());
+    }
+
+    // --- Insert concurrent : la contrainte unique rejette le second insert ---
+    @Test
+    void testSavePolynomial_ConcurrentDuplicate() {
+        when(polynomialRepository.findExistingFingerprints(anyLong(), anyCollection())).thenReturn(List.of());
+        when(polynomialRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("uk_polynomial_user_fingerprint"));
+        when(polynomialRepository.existsDuplicate(anyLong(), anyString())).thenReturn(true);
+
+        List<PolynomialStoreResult> results = polynomialService.savePolynomials(user, List.of(polynomial));
+
+        assertEquals(Status.DUPLICATE, results.get(0).getStatus());
+        verify(polynomialRepository, never()).save(polynomial);
+    }
+
+    // --- Une autre violation de contrainte est propagée ---
+    @Test
+    void testSavePolynomial_OtherIntegrityViolation() {
+        when(polynomialRepository.findExistingFingerprints(anyLong(), anyCollection())).thenReturn(List.of());
+        when(polynomialRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("fk_user"));
+        when(polynomialRepository.existsDuplicate(anyLong(), anyString())).thenReturn(false);
+        when(polynomialRepository.save(polynomial)).thenThrow(new DataIntegrityViolationException("fk_user"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> polynomialService.savePolynomial(polynomial));
+    }
+
+    // --- Lot : doublons internes, doublons existants et éléments invalides ---
+    @Test
+    void testSavePolynomials_Batch() {
+        Polynomial existing = polynomial("x^2 - 1", "(x-1)(x+1)", List.of("1", "-1"));
+        Polynomial fresh = polynomial("x^2 - 4", "(x-2)(x+2)", List.of("2", "-2"));
+        Polynomial sameAsFresh = polynomial("x^2-4", "(x - 2)(x + 2)", List.of("-2", "2"));
+        Polynomial invalid = polynomial(null, null, null);
+        String existingFingerprint = PolynomialFingerprint.compute("x^2 - 1", "(x-1)(x+1)", roots("1", "-1"), 1L);
+        when(polynomialRepository.findExistingFingerprints(eq(1L), anyCollection())).thenReturn(List.of(existingFingerprint));
+
+        List<PolynomialStoreResult> results = polynomialService.savePolynomials(user, List.of(existing, fresh, sameAsFresh, invalid));
+
+        assertEquals(Status.DUPLICATE, results.get(0).getStatus());
+        assertEquals(Status.STORED, results.get(1).getStatus());
+        assertEquals(Status.DUPLICATE, results.get(2).getStatus());
+        assertEquals(Status.INVALID, results.get(3).getStatus());
+        verify(polynomialRepository, times(1)).findExistingFingerprints(eq(1L), anyCollection());
+        verify(polynomialRepository, times(1)).saveAll(List.of(fresh));
+    }
+
+    // --- Pagination par clé ---
+    @Test
+    void testGetPolynomialPage_FullPageHasNextCursor() {
+        PolynomialDTO first = new PolynomialDTO(5L, "x - 1", "(x-1)", roots("1"));
+        PolynomialDTO second = new PolynomialDTO(9L, "x - 2", "(x-2)", roots("2"));
+        when(polynomialRepository.findDTOPageAfter(0L, Limit.of(2))).thenReturn(List.of(first, second));
+
+        PolynomialPage page = polynomialService.getPolynomialPage(null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(9L, PolynomialCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void testGetPolynomialPage_LastPageAndClampedLimit() {
+        when(polynomialRepository.findDTOPageAfter(9L, Limit.of(PolynomialService.MAX_PAGE_SIZE))).thenReturn(List.of());
+
+        PolynomialPage page = polynomialService.getPolynomialPage(PolynomialCursor.encode(9L), 50_000);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetPolynomialPage_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> polynomialService.getPolynomialPage("not-a-cursor!", 10));
+    }
+
+    // --- Liste par utilisateur servie par la projection DTO ---
+    @Test
+    void testGetPolynomialsByUserId_UsesProjection() {
+        PolynomialDTO dto = new PolynomialDTO(3L, "x^2 - 4", "(x-2)(x+2)", roots("-2", "2"));
+        when(polynomialRepository.findDTOsByUserId(1L)).thenReturn(List.of(dto));
+
+        assertEquals(List.of(dto), polynomialService.getPolynomialsByUserId(1L));
+        verify(polynomialRepository, never()).findAll();
+    }
+
+    // --- Doublon déjà connu du cache : aucune requête ---
+    @Test
+    void testSavePolynomial_DuplicateAnsweredFromCache() {
+        when(polynomialRepository.findExistingFingerprints(anyLong(), anyCollection())).thenReturn(List.of());
+        polynomialService.savePolynomial(polynomial);
+
+        Polynomial again = polynomial("x^2 + 4x + 4", null, null);
+        List<PolynomialStoreResult> results = polynomialService.savePolynomials(user, List.of(again));
+
+        assertEquals(Status.DUPLICATE, results.get(0).getStatus());
+        verify(polynomialRepository, times(1)).findExistingFingerprints(anyLong(), anyCollection());
+        verify(polynomialRepository, times(1)).saveAll(anyList());
+    }
+
+    // --- Écritures équivalentes : stockées sous forme canonique, donc détectées comme doublons ---
+    @Test
+    void testSavePolynomials_EquivalentExpressionsDeduplicated() {
+        when(polynomialRepository.findExistingFingerprints(anyLong(), anyCollection())).thenReturn(List.of());
+        Polynomial first = polynomial("x^2+2x+1", "(x+1)^2", List.of("-1", "-1"));
+        Polynomial second = polynomial("1 + 2*x + x^2", "(x + 1)^2", List.of("-1", "-1"));
+        Polynomial invalid = polynomial("x^2 +", null, null);
+
+        List<PolynomialStoreResult> results = polynomialService.savePolynomials(user, List.of(first, second, invalid));
+
+        assertEquals(Status.STORED, results.get(0).getStatus());
+        assertEquals(Status.DUPLICATE, results.get(1).getStatus());
+        assertEquals(Status.INVALID, results.get(2).getStatus());
+        assertEquals("x^2 + 2x + 1", first.getSimplifiedExpression());
+    }
+
+    // --- Polynômes voisins : formes canoniques et empreintes distinctes, aucun faux doublon ---
+    @Test
+    void testSavePolynomials_NearbyExpressionsNotDeduplicated() {
+        when(polynomialRepository.findExistingFingerprints(anyLong(), anyCollection())).thenReturn(List.of());
+        Polynomial exact = polynomial("x^2 - 2", null, null);
+        Polynomial nearby = polynomial("x^2 - 2.0000001", null, null);
+
+        List<PolynomialStoreResult> results = polynomialService.savePolynomials(user, List.of(exact, nearby));
+
+        assertEquals(Status.STORED, results.get(0).getStatus());
+        assertEquals(Status.STORED, results.get(1).getStatus());
+        assertEquals("x^2 - 2.0000001", nearby.getSimplifiedExpression());
+        assertNotEquals(exact.getFingerprint(), nearby.getFingerprint());
+    }
+
+    // --- Résultat servi depuis le cache après la première lecture ---
+    @Test
+    void testFindSolution_CachedAfterFirstRead() {
+        Polynomial stored = polynomial("x^2 - 4", "(x-2)(x+2)", List.of("-2", "2"));
+        when(polynomialRepository.findFirstBySimplifiedExpressionOrderByIdAsc("x^2 - 4")).thenReturn(Optional.of(stored));
+
+        Optional<PolynomialSolution> first = polynomialService.findSolution("x^2 - 4");
+        Optional<PolynomialSolution> second = polynomialService.findSolution("x^2-4");
+
+        assertEquals("(x-2)(x+2)", first.get().getFactoredExpression());
+        assertEquals(roots("-2", "2"), second.get().getRoots());
+        verify(polynomialRepository, times(1)).findFirstBySimplifiedExpressionOrderByIdAsc(anyString());
+    }
+
+    // --- Une écriture invalide le résultat mémorisé ---
+    @Test
+    void testSavePolynomial_InvalidatesCachedSolution() {
+        resultCache.putStoredSolution("x^2 + 4x + 4", new PolynomialSolution("x^2 + 4x + 4", "(x + 2)^2", List.of(new Root(-2, 0, 2))));
+        when(polynomialRepository.findExistingFingerprints(anyLong(), anyCollection())).thenReturn(List.of());
+
+        polynomialService.savePolynomial(polynomial);
+
+        assertTrue(resultCache.getStoredSolution("x^2 + 4x + 4").isEmpty());
+    }
+
+    private Polynomial polynomial(String simplified, String factored, List<String> roots) {
+        Polynomial p = new Polynomial();
+        p.setSimplifiedExpression(simplified);
+        p.setFactoredExpression(factored);
+        p.setRoots(roots != null ? roots(roots.toArray(new String[0])) : null);
+        return p;
+    }
+
+    private static List<Root> roots(String... values) {
+        return Arrays.stream(values).map(Root::parse).toList();
     }
 }
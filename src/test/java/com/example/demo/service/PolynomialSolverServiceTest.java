@@ -0,0 +1,185 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import com.example.demo.entity.PolynomialEvaluation;
+import com.example.demo.entity.PolynomialSolution;
+import com.example.demo.entity.PolynomialStoreResult;
+import com.example.demo.entity.PolynomialStoreResult.Status;
+import com.example.demo.entity.Root;
+import com.example.demo.entity.User;
+
+class PolynomialSolverServiceTest {
+
+    @Mock
+    private PolynomialService polynomialService;
+
+    @Spy
+    private PolynomialResultCache resultCache = new PolynomialResultCache(100, Duration.ofMinutes(5));
+
+    @InjectMocks
+    private PolynomialSolverService polynomialSolverService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    // --- Coefficients par degré décroissant ---
+    @Test
+    void testSolve_Coefficients() {
+        PolynomialSolution solution = polynomialSolverService.solve(List.of(1, 0, -4));
+
+        assertEquals("x^2 - 4", solution.getSimplifiedExpression());
+        assertEquals("(x + 2)(x - 2)", solution.getFactoredExpression());
+        assertEquals(List.of(new Root(-2, 0), new Root(2, 0)), solution.getRoots());
+    }
+
+    // --- Expression avec racine double et facteur quadratique irréductible ---
+    @Test
+    void testSolve_Expression() {
+        // 2(x - 1)^2 (x^2 + 1) = 2x^4 - 4x^3 + 4x^2 - 4x + 2
+        PolynomialSolution solution = polynomialSolverService.solve("2x^4 - 4x^3 + 4x^2 - 4x + 2");
+
+        assertEquals("2x^4 - 4x^3 + 4x^2 - 4x + 2", solution.getSimplifiedExpression());
+        assertEquals("2(x^2 + 1)(x - 1)^2", solution.getFactoredExpression());
+        assertEquals(List.of("i", "-i", "1 (x2)"), solution.getRoots().stream().map(Root::toString).toList());
+        assertEquals(2, solution.getRoots().get(2).getMultiplicity());
+    }
+
+    // --- Coefficients sous 1e-6 conservés dans l'expression stockée ---
+    @Test
+    void testSolve_SubMicroCoefficientKeptInExpression() {
+        assertEquals("x^2 + 0.0000001x - 1",
+                polynomialSolverService.solve("x^2 + 0.0000001x - 1").getSimplifiedExpression());
+        assertEquals("x^2 - 2.0000001",
+                polynomialSolverService.solve("x^2 - 2.0000001").getSimplifiedExpression());
+        assertEquals("x^2 - 2.0000001",
+                polynomialSolverService.solveAscending(new double[] {-2.0000001, 0, 1}).getSimplifiedExpression());
+    }
+
+    // --- Facteur x pour une racine nulle, coefficient dominant négatif ---
+    @Test
+    void testSolve_ZeroRootAndNegativeLeadingCoefficient() {
+        PolynomialSolution solution = polynomialSolverService.solve("-x^3 + x");
+
+        assertEquals("-(x + 1)x(x - 1)", solution.getFactoredExpression());
+    }
+
+    // --- Une expression déjà résolue est servie depuis le cache ---
+    @Test
+    void testSolve_ServedFromCache() {
+        PolynomialSolution first = polynomialSolverService.solve("x^2 - 1");
+        PolynomialSolution second = polynomialSolverService.solve("X^2-1");
+
+        assertEquals(first.getRoots(), second.getRoots());
+        assertEquals(1, resultCache.stats().hitCount());
+    }
+
+    // --- Même polynôme écrit autrement : même clé de cache ---
+    @Test
+    void testSolve_EquivalentExpressionServedFromCache() {
+        PolynomialSolution first = polynomialSolverService.solve("x^2+2x+1");
+        PolynomialSolution second = polynomialSolverService.solve("1 + 2*x + x^2");
+
+        assertEquals(first.getFactoredExpression(), second.getFactoredExpression());
+        assertEquals(1, resultCache.stats().hitCount());
+    }
+
+    // --- Une ligne enregistrée par un client (racines fausses) n'est jamais servie par le solveur ---
+    @Test
+    void testSolve_StoredClientDataNotServed() {
+        resultCache.putStoredSolution("x^2 - 4", new PolynomialSolution("x^2 - 4", "(x - 7)", List.of(new Root(7, 0))));
+
+        PolynomialSolution solution = polynomialSolverService.solve("x^2 - 4");
+
+        assertEquals("(x + 2)(x - 2)", solution.getFactoredExpression());
+        assertEquals(List.of(new Root(-2, 0), new Root(2, 0)), solution.getRoots());
+    }
+
+    // --- Polynômes voisins : clés de cache distinctes, chacun ses propres racines ---
+    @Test
+    void testSolve_NearbyExpressionNotServedFromCache() {
+        PolynomialSolution exact = polynomialSolverService.solve("x^2 - 2");
+        PolynomialSolution nearby = polynomialSolverService.solve("x^2 - 2.0000001");
+
+        assertEquals(0, resultCache.stats().hitCount());
+        assertNotEquals(exact.getRoots().get(0).getRe(), nearby.getRoots().get(0).getRe());
+    }
+
+    // --- Coefficient minuscule : pas de factorisation exacte, forme flottante rendue sans délai ---
+    @Test
+    void testSolve_TinyCoefficientFallsBackToFloatingForm() {
+        double[] coefficients = new double[21];
+        coefficients[0] = 1e-300;
+        coefficients[1] = -1;
+        coefficients[20] = 1;
+
+        PolynomialSolution solution = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> polynomialSolverService.solveAscending(coefficients));
+
+        assertEquals(20, solution.getRoots().stream().mapToInt(Root::getMultiplicity).sum());
+    }
+
+    @Test
+    void testSolve_ConstantRejected() {
+        assertThrows(IllegalArgumentException.class, () -> polynomialSolverService.solve(List.of(0, 5)));
+    }
+
+    // --- Évaluation en colonnes : points réels (im omis) et complexes ---
+    @Test
+    void testEvaluate_RealAndComplexPoints() {
+        PolynomialEvaluation real = polynomialSolverService.evaluate("x^2 - 4", new double[] {-2, 0, 3}, null);
+        assertEquals("x^2 - 4", real.getSimplifiedExpression());
+        assertEquals(3, real.getCount());
+        assertArrayEquals(new double[] {0, -4, 5}, real.getRe());
+        assertNull(real.getIm());
+
+        // Degré décroissant : [1, 0, 1] est x^2 + 1, nul en i
+        PolynomialEvaluation complex = polynomialSolverService.evaluateDescending(new double[] {1, 0, 1},
+                new double[] {0, 1}, new double[] {1, 1});
+        assertArrayEquals(new double[] {0, 1}, complex.getRe());
+        assertArrayEquals(new double[] {0, 2}, complex.getIm());
+    }
+
+    @Test
+    void testEvaluate_InvalidPoints() {
+        assertThrows(IllegalArgumentException.class, () -> polynomialSolverService.evaluate("x", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> polynomialSolverService.evaluate("x", new double[2], new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> polynomialSolverService.evaluate("x",
+                new double[PolynomialSolverService.MAX_EVALUATION_POINTS + 1], null));
+    }
+
+    // --- Enregistrement via le pipeline existant ---
+    @Test
+    void testStore() {
+        User user = new User();
+        user.setId(1L);
+        when(polynomialService.savePolynomials(eq(user), anyList()))
+                .thenReturn(List.of(new PolynomialStoreResult(0, Status.STORED, 42L)));
+
+        PolynomialSolution solution = polynomialSolverService.store(polynomialSolverService.solve("x - 3"), user);
+
+        assertEquals(Status.STORED, solution.getStatus());
+        assertEquals(42L, solution.getId());
+    }
+}
@@ -2,11 +2,16 @@ package com.example.demo.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +21,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import com.example.demo.entity.Admin;
 import com.example.demo.entity.Calculator;
@@ -23,6 +30,7 @@ import com.example.demo.entity.User;
 import com.example.demo.repository.AdminRepository;
 import com.example.demo.repository.CalculatorRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserPrincipalCache;
 
 class UserServiceTest {
 	@Mock
@@ -33,6 +41,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserPrincipalCache principalCache = new UserPrincipalCache(100, Duration.ofMinutes(5));
+
     @InjectMocks
     private UserService userService;
     private Admin admin;
@@ -138,6 +149,65 @@ class UserServiceTest {
 
         assertFalse(foundUser.isPresent());
     }
+    // --- Cache des principaux : lu par les logins, la base seulement au premier, invalidé à l'écriture ---
+    @Test
+    void testFindUserForLogin_ReadsThroughPrincipalCache() {
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+
+        userService.findUserForLogin("john@example.com");
+        Optional<User> cached = userService.findUserForLogin("john@example.com");
+
+        verify(userRepository, times(1)).findByEmail("john@example.com");
+        assertEquals("1234", cached.get().getPassword());
+        assertNotSame(user, cached.get()); // Copie détachée : un nouveau hash posé au login ne touche pas le cache
+        assertEquals("1234", principalCache.getIfPresent("john@example.com").get().getPassword());
+    }
+
+    // --- Compte en cache d'un autre type : introuvable, comme dans la table calculator ---
+    @Test
+    void testFindCalculatorForLogin_OtherAccountTypeNotFound() {
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
+        userService.findUserForLogin("john@example.com");
+
+        assertTrue(userService.findCalculatorForLogin("john@example.com").isEmpty());
+
+        calculator.setDepartment("R&D");
+        when(calculatorRepository.findByEmail("calc@example.com")).thenReturn(Optional.of(calculator));
+        userService.findCalculatorForLogin("calc@example.com");
+        Optional<User> asUser = userService.findUserForLogin("calc@example.com");
+        assertEquals("R&D", ((Calculator) asUser.get()).getDepartment());
+        verify(userRepository, never()).findByEmail("calc@example.com");
+    }
+
+    @Test
+    void testSaveUser_EvictsPrincipal() {
+        principalCache.put(user);
+        user.setPassword("nouveau");
+
+        userService.saveUser(user);
+
+        assertTrue(principalCache.getIfPresent("john@example.com").isEmpty());
+    }
+
+    @Test
+    void testSaveUser_EmailChangeEvictsOldEntry() {
+        principalCache.put(user);
+        user.setEmail("john.doe@example.com");
+
+        userService.saveUser(user);
+
+        assertTrue(principalCache.getIfPresent("john@example.com").isEmpty());
+    }
+
+    @Test
+    void testDeleteUser_EvictsPrincipal() {
+        principalCache.put(user);
+
+        userService.deleteUserById(1L);
+
+        assertTrue(principalCache.getIfPresent("john@example.com").isEmpty());
+    }
+
     @Test
     void testDeleteCalculator() {
         userService.deleteCalculatorById(1L);
@@ -246,4 +316,97 @@ class UserServiceTest {
         assertTrue(foundCalculator.isPresent());
         assertEquals("Calculator1", foundCalculator.get().getUsername());
     }
+
+    // Mise à niveau du hash au login (mise à jour conditionnelle sur l'ancien hash)
+    @Test
+    void testRehashPassword_Updated() {
+        calculator.setPassword("old-hash");
+        principalCache.put(calculator);
+        when(userRepository.updatePasswordHash(calculator.getId(), "old-hash", "new-hash")).thenReturn(1);
+
+        assertTrue(userService.rehashPassword(calculator, "new-hash"));
+        assertEquals("new-hash", calculator.getPassword());
+        assertFalse(principalCache.getIfPresent(calculator.getEmail()).isPresent());
+    }
+
+    // Mot de passe changé entre-temps : rien n'est écrasé
+    @Test
+    void testRehashPassword_ConcurrentChange() {
+        calculator.setPassword("old-hash");
+        when(userRepository.updatePasswordHash(calculator.getId(), "old-hash", "new-hash")).thenReturn(0);
+
+        assertFalse(userService.rehashPassword(calculator, "new-hash"));
+        assertEquals("old-hash", calculator.getPassword());
+    }
+
+    // --- Enregistrement unique : la contrainte arbitre, la requête de conflit ne sert qu'en cas de refus ---
+    @Test
+    void testSaveUnique_Saved() {
+        assertEquals(UserService.SaveResult.SAVED, userService.saveUnique(calculator));
+
+        verify(userRepository).saveAndFlush(calculator);
+        verify(userRepository, never()).findConflicts(any(), any(), any());
+    }
+
+    @Test
+    void testSaveUnique_UsernameTaken() {
+        when(userRepository.saveAndFlush(user)).thenThrow(new DataIntegrityViolationException("uk_user_username"));
+        when(userRepository.findConflicts("JohnDoe", "john@example.com", 1L)).thenReturn(List.of(identity("JohnDoe", "other@example.com")));
+
+        assertEquals(UserService.SaveResult.USERNAME_TAKEN, userService.saveUnique(user));
+    }
+
+    @Test
+    void testSaveUnique_EmailTaken() {
+        when(userRepository.saveAndFlush(user)).thenThrow(new DataIntegrityViolationException("uk_user_email"));
+        when(userRepository.findConflicts("JohnDoe", "john@example.com", 1L)).thenReturn(List.of(identity("Other", "john@example.com")));
+
+        assertEquals(UserService.SaveResult.EMAIL_TAKEN, userService.saveUnique(user));
+    }
+
+    // Nom de contrainte en majuscules (H2) ou préfixé par la table (MySQL) : classé sans relire la base
+    @Test
+    void testSaveUnique_ConstraintNameInCause() {
+        when(userRepository.saveAndFlush(user)).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("Duplicate entry 'alice' for key 'USER.UK_USER_USERNAME'")));
+
+        assertEquals(UserService.SaveResult.USERNAME_TAKEN, userService.saveUnique(user));
+        verify(userRepository, never()).findConflicts(any(), any(), any());
+    }
+
+    // Doublon ne différant que par la casse ou les accents : la collation MySQL le refuse, c'est un conflit et non une erreur
+    @Test
+    void testSaveUnique_DuplicateDifferingOnlyByCase() {
+        when(userRepository.saveAndFlush(user)).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        when(userRepository.findConflicts("JohnDoe", "john@example.com", 1L)).thenReturn(List.of(identity("johndoe", "other@example.com")));
+
+        assertEquals(UserService.SaveResult.USERNAME_TAKEN, userService.saveUnique(user));
+
+        when(userRepository.findConflicts("JohnDoe", "john@example.com", 1L)).thenReturn(List.of(identity("Other", "JÖHN@Example.com")));
+
+        assertEquals(UserService.SaveResult.EMAIL_TAKEN, userService.saveUnique(user));
+    }
+
+    // Violation sans conflit d'identifiant (colonne obligatoire...) : l'erreur remonte
+    @Test
+    void testSaveUnique_OtherViolationRethrown() {
+        when(userRepository.saveAndFlush(user)).thenThrow(new DataIntegrityViolationException("not null"));
+        when(userRepository.findConflicts(any(), any(), any())).thenReturn(List.of());
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.saveUnique(user));
+    }
+
+    private static UserRepository.Identity identity(String username, String email) {
+        return new UserRepository.Identity() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
 }
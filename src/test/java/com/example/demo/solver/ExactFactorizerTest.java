@@ -0,0 +1,119 @@
+package com.example.demo.solver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ExactFactorizerTest {
+
+    private static String factor(String expression) {
+        return ExactFactorizer.factor(PolynomialParser.parse(expression)).orElseThrow().format();
+    }
+
+    // --- Racines rationnelles : facteurs certifiés, là où les flottants donnent 0.333333 ---
+    @Test
+    void testFactor_RationalRoots() {
+        assertEquals("3(x + 2)(x - 1/3)", factor("3x^2 + 5x - 2"));
+        assertEquals("(x + 2)(x - 2)", factor("x^2 - 4"));
+        assertEquals("0.5(x + 1)(x - 1)", factor("0.5x^2 - 0.5"));
+        assertEquals("2(x - 3)", factor("2x - 6"));
+    }
+
+    // --- Contenu, racines nulles et multiplicités (décomposition sans facteur carré) ---
+    @Test
+    void testFactor_ContentZeroRootsAndMultiplicities() {
+        assertEquals("-(x + 1)x(x - 1)", factor("-x^3 + x"));
+        assertEquals("2(x^2 + 1)(x - 1)^2", factor("2x^4 - 4x^3 + 4x^2 - 4x + 2"));
+        // (x - 1)^3 (x + 2)^2 x^2
+        assertEquals("(x + 2)^2x^2(x - 1)^3", factor("x^7 + x^6 - 5x^5 - x^4 + 8x^3 - 4x^2"));
+    }
+
+    // --- Facteurs irréductibles sur Q sans racine rationnelle : Zassenhaus ---
+    @Test
+    void testFactor_Zassenhaus() {
+        assertEquals("(x^2 - 2)", factor("x^2 - 2"));
+        assertEquals("(x^2 + 2x + 2)(x^2 - 2x + 2)", factor("x^4 + 4"));
+        // Swinnerton-Dyer : se scinde modulo tout premier mais reste irréductible sur Q
+        assertEquals("(x^4 - 10x^2 + 1)", factor("x^4 - 10x^2 + 1"));
+        assertEquals("(x + 1)(x^2 + x + 1)(x^4 - x^2 + 1)(x^2 + 1)(x^2 - x + 1)(x - 1)", factor("x^12 - 1"));
+    }
+
+    // --- Produits aléatoires de facteurs connus : produit exact et au moins autant de facteurs ---
+    @Test
+    void testFactor_RandomProducts() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            BigInteger[] product = {BigInteger.ONE};
+            for (int k = 0; k < 3; k++) {
+                product = IntPolynomials.multiply(product, randomPrimitive(random, 1 + random.nextInt(4)));
+            }
+            Factorization factorization = ExactFactorizer.factor(product).orElseThrow();
+
+            int count = 0;
+            BigInteger[] rebuilt = {BigInteger.ONE};
+            for (Factorization.Factor factor : factorization.getFactors()) {
+                count += factor.getMultiplicity();
+                rebuilt = IntPolynomials.multiply(rebuilt, IntPolynomials.pow(factor.getCoefficients(), factor.getMultiplicity()));
+            }
+            assertArrayEquals(IntPolynomials.primitivePart(product), rebuilt, "round " + round);
+            assertTrue(count >= 3, "round " + round);
+        }
+    }
+
+    @Test
+    void testFactor_Limits() {
+        assertThrows(IllegalArgumentException.class, () -> ExactFactorizer.factor(new double[] {5}));
+        double[] tooLarge = new double[ExactFactorizer.MAX_DEGREE + 2];
+        tooLarge[0] = -1;
+        tooLarge[tooLarge.length - 1] = 1;
+        assertTrue(ExactFactorizer.factor(tooLarge).isEmpty());
+    }
+
+    // --- Un coefficient minuscule ne fait pas exploser la taille des entiers : repli immédiat ---
+    @Test
+    void testFactor_TinyCoefficientReturnsQuickly() {
+        for (int degree : new int[] {5, 20, 100}) {
+            double[] coefficients = new double[degree + 1];
+            coefficients[0] = 1e-300;
+            coefficients[1] = -3;
+            coefficients[degree] = 1;
+            assertTimeoutPreemptively(Duration.ofSeconds(1),
+                    () -> assertTrue(ExactFactorizer.factor(coefficients).isEmpty()));
+        }
+        double[] wide = {1e200, 0, 1}; // Numérateur de plus de MAX_COEFFICIENT_BITS bits
+        assertTrue(ExactFactorizer.factor(wide).isEmpty());
+    }
+
+    @Test
+    void testSquareFree_Yun() {
+        // (x + 1)(x - 2)^2(x + 3)^3
+        BigInteger[] f = IntPolynomials.multiply(IntPolynomials.multiply(IntPolynomials.of(1, 1),
+                IntPolynomials.pow(IntPolynomials.of(-2, 1), 2)), IntPolynomials.pow(IntPolynomials.of(3, 1), 3));
+
+        List<BigInteger[]> parts = ExactFactorizer.squareFree(f);
+
+        assertEquals(3, parts.size());
+        assertEquals("x + 1", Factorization.formatPolynomial(parts.get(0)));
+        assertEquals("x - 2", Factorization.formatPolynomial(parts.get(1)));
+        assertEquals("x + 3", Factorization.formatPolynomial(parts.get(2)));
+    }
+
+    private static BigInteger[] randomPrimitive(Random random, int degree) {
+        long[] coefficients = new long[degree + 1];
+        for (int i = 0; i < degree; i++) {
+            coefficients[i] = random.nextInt(41) - 20;
+        }
+        coefficients[degree] = 1 + random.nextInt(5);
+        coefficients[0] = coefficients[0] == 0 ? 7 : coefficients[0];
+        return IntPolynomials.primitivePart(IntPolynomials.of(coefficients));
+    }
+}
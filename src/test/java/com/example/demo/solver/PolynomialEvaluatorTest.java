@@ -0,0 +1,94 @@
+package com.example.demo.solver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PolynomialEvaluatorTest {
+
+    // --- Points réels : x^3 - 2x + 1 ---
+    @Test
+    void testEvaluate_RealPoints() {
+        double[] coefficients = {1, -2, 0, 1};
+        double[] x = {0, 1, -1, 2, 0.5};
+        double[] out = new double[x.length];
+
+        PolynomialEvaluator.evaluate(coefficients, x, out);
+
+        assertArrayEquals(new double[] {1, 0, 2, 5, 0.125}, out);
+    }
+
+    // --- Points complexes : x^2 + 1 s'annule en ±i, vaut 2i - 2 + 1 en 1 + i ---
+    @Test
+    void testEvaluate_ComplexPoints() {
+        double[] coefficients = {1, 0, 1};
+        double[] re = {0, 0, 1};
+        double[] im = {1, -1, 1};
+        double[] outRe = new double[3];
+        double[] outIm = new double[3];
+
+        PolynomialEvaluator.evaluate(coefficients, re, im, outRe, outIm);
+
+        assertArrayEquals(new double[] {0, 0, 1}, outRe, 0.0); // Tolérance nulle : -0.0 accepté
+        assertArrayEquals(new double[] {0, 0, 2}, outIm, 0.0);
+    }
+
+    // --- Polynôme nul et constant ---
+    @Test
+    void testEvaluate_DegenerateDegrees() {
+        double[] out = {7, 7, 7};
+        PolynomialEvaluator.evaluate(new double[] {0, 0}, new double[] {1, 2, 3}, out);
+        assertArrayEquals(new double[] {0, 0, 0}, out);
+
+        PolynomialEvaluator.evaluate(new double[] {4}, new double[] {1, 2, 3}, out);
+        assertArrayEquals(new double[] {4, 4, 4}, out);
+    }
+
+    // --- Chemin vectoriel et scalaire identiques au bit près, y compris la fin de tableau ---
+    @Test
+    void testEvaluateVector_MatchesScalar() {
+        assumeTrue(PolynomialEvaluator.isVectorized(), "JVM lancée sans --add-modules jdk.incubator.vector");
+        Random random = new Random(7);
+        for (int degree : new int[] {1, 2, 7, 30}) {
+            double[] coefficients = random.doubles(degree + 1, -5, 5).toArray();
+            for (int n : new int[] {1, 3, 8, 17, 1000, 1023}) {
+                double[] re = random.doubles(n, -2, 2).toArray();
+                double[] im = random.doubles(n, -2, 2).toArray();
+
+                double[] scalar = new double[n];
+                double[] vector = new double[n];
+                PolynomialEvaluator.evaluateScalar(coefficients, re, scalar);
+                PolynomialEvaluator.evaluateVector(coefficients, re, vector);
+                assertArrayEquals(scalar, vector, "degree " + degree + ", n " + n);
+
+                double[] scalarRe = new double[n];
+                double[] scalarIm = new double[n];
+                double[] vectorRe = new double[n];
+                double[] vectorIm = new double[n];
+                PolynomialEvaluator.evaluateScalar(coefficients, re, im, scalarRe, scalarIm);
+                PolynomialEvaluator.evaluateVector(coefficients, re, im, vectorRe, vectorIm);
+                assertArrayEquals(scalarRe, vectorRe, "degree " + degree + ", n " + n);
+                assertArrayEquals(scalarIm, vectorIm, "degree " + degree + ", n " + n);
+            }
+        }
+    }
+
+    // --- Horner complexe cohérent avec les racines trouvées par RootFinder ---
+    @Test
+    void testEvaluate_VanishesAtRoots() {
+        double[] coefficients = {2, -3, 0, 1, 1}; // x^4 + x^3 - 3x + 2
+        double[][] roots = RootFinder.findRoots(coefficients);
+        double[] outRe = new double[roots[0].length];
+        double[] outIm = new double[roots[0].length];
+
+        PolynomialEvaluator.evaluate(coefficients, roots[0], roots[1], outRe, outIm);
+
+        for (int i = 0; i < outRe.length; i++) {
+            assertEquals(0, Math.hypot(outRe[i], outIm[i]), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.solver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class PolynomialParserTest {
+
+    @Test
+    void testParse_ExpandedForm() {
+        assertArrayEquals(new double[] {1, -2, 3}, PolynomialParser.parse("3x^2 - 2*x + 1"));
+    }
+
+    @Test
+    void testParse_LeadingSignAndImplicitCoefficient() {
+        assertArrayEquals(new double[] {0.5, -1}, PolynomialParser.parse("-x + 0.5"));
+    }
+
+    @Test
+    void testParse_CombinesLikeTerms() {
+        assertArrayEquals(new double[] {-4, 0, 2}, PolynomialParser.parse("x^2 - 4 + X^2"));
+    }
+
+    @Test
+    void testParse_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> PolynomialParser.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> PolynomialParser.parse("x^2 4"));
+        assertThrows(IllegalArgumentException.class, () -> PolynomialParser.parse("x^"));
+        assertThrows(IllegalArgumentException.class, () -> PolynomialParser.parse("x^100000"));
+        assertThrows(IllegalArgumentException.class, () -> PolynomialParser.parse("2*"));
+    }
+
+    // --- Nombres lus sans sous-chaîne : même valeur que Double.parseDouble ---
+    @Test
+    void testParse_NumbersMatchDoubleParsing() {
+        for (String number : new String[] {"0.1", "0.3", "1.", ".5", "007", "123456.789012", "0.000000000000000000001",
+                "3.141592653589793", "12345678901234567890", "0.1000000000000000000000000001"}) {
+            assertEquals(Double.parseDouble(number), PolynomialParser.parse(number)[0], number);
+        }
+        assertThrows(IllegalArgumentException.class, () -> PolynomialParser.parse("1.2.3"));
+        assertThrows(IllegalArgumentException.class, () -> PolynomialParser.parse(". + x"));
+    }
+
+    // --- Forme canonique : écritures équivalentes, même chaîne et même forme creuse ---
+    @Test
+    void testCanonicalize_EquivalentExpressions() {
+        assertEquals("x^2 + 2x + 1", PolynomialParser.canonicalize("x^2+2x+1"));
+        assertEquals("x^2 + 2x + 1", PolynomialParser.canonicalize("1 + 2*x + x^2"));
+        assertEquals("x^2 + 2x + 1", PolynomialParser.canonicalize("X^2 + x + 1 + x"));
+        assertEquals(PolynomialParser.parseSparse("x^2+2x+1"), PolynomialParser.parseSparse("1 + 2*x + x^2"));
+        assertEquals("0", PolynomialParser.canonicalize("x - x"));
+        // Sans arrondi : deux polynômes voisins gardent des clés distinctes, un terme minuscule reste présent
+        assertEquals("x^2 - 2.0000001", PolynomialParser.canonicalize("x^2 - 2.0000001"));
+        assertNotEquals(PolynomialParser.canonicalize("x^2 - 2"), PolynomialParser.canonicalize("x^2 - 2.0000001"));
+        assertEquals("x + 0.0000000001", PolynomialParser.canonicalize("x + 0.0000000001"));
+        assertEquals(PolynomialParser.parseSparse("x^2 - 2.0000001"),
+                PolynomialParser.parseSparse(PolynomialParser.canonicalize("x^2 - 2.0000001")));
+    }
+
+    @Test
+    void testParseSparse_KeepsOnlyNonZeroTerms() {
+        SparsePolynomial polynomial = PolynomialParser.parseSparse("-1 + x^50");
+
+        assertEquals(2, polynomial.terms());
+        assertEquals(50, polynomial.degree());
+        assertEquals(0, polynomial.degreeAt(1));
+        assertEquals(-1.0, polynomial.coefficientAt(1));
+        assertEquals(51, polynomial.toAscending().length);
+        assertEquals("x^50 - 1", polynomial.canonical());
+    }
+}
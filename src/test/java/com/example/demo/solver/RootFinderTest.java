@@ -0,0 +1,144 @@
+package com.example.demo.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class RootFinderTest {
+
+    // --- Racines réelles simples : x^2 - 4 ---
+    @Test
+    void testFindRoots_Quadratic() {
+        double[][] roots = RootFinder.findRoots(new double[] {-4, 0, 1});
+
+        assertEquals(List.of("-2", "2"), PolynomialFormatter.formatRoots(roots[0], roots[1]));
+    }
+
+    // --- Racines complexes conjuguées : x^2 + 2x + 5 ---
+    @Test
+    void testFindRoots_ComplexPair() {
+        double[][] roots = RootFinder.findRoots(new double[] {5, 2, 1});
+
+        assertEquals(List.of("-1+2i", "-1-2i"), PolynomialFormatter.formatRoots(roots[0], roots[1]));
+    }
+
+    // --- Degré 3 avec racine nulle : x^3 - x ---
+    @Test
+    void testFindRoots_CubicWithZeroRoot() {
+        double[][] roots = RootFinder.findRoots(new double[] {0, -1, 0, 1});
+
+        assertEquals(List.of("-1", "0", "1"), PolynomialFormatter.formatRoots(roots[0], roots[1]));
+    }
+
+    // --- Racine multiple : (x - 1)^3 (x + 2) ---
+    @Test
+    void testFindRoots_MultipleRoot() {
+        // (x^3 - 3x^2 + 3x - 1)(x + 2) = x^4 - x^3 - 3x^2 + 5x - 2
+        double[][] roots = RootFinder.findRoots(new double[] {-2, 5, -3, -1, 1});
+
+        assertEquals(List.of("-2", "1", "1", "1"), PolynomialFormatter.formatRoots(roots[0], roots[1]));
+    }
+
+    // --- Racines de l'unité : x^8 - 1 ---
+    @Test
+    void testFindRoots_RootsOfUnity() {
+        double[] coefficients = new double[9];
+        coefficients[0] = -1;
+        coefficients[8] = 1;
+
+        double[][] roots = RootFinder.findRoots(coefficients);
+
+        for (int k = 0; k < 8; k++) {
+            assertEquals(1.0, Math.hypot(roots[0][k], roots[1][k]), 1e-12);
+        }
+    }
+
+    // --- Polynôme aléatoire de degré 40 : résidu faible pour chaque racine ---
+    @Test
+    void testFindRoots_RandomHighDegree() {
+        Random random = new Random(42);
+        double[] coefficients = new double[41];
+        for (int i = 0; i < coefficients.length; i++) {
+            coefficients[i] = random.nextDouble() * 2 - 1;
+        }
+
+        double[][] roots = RootFinder.findRoots(coefficients);
+
+        for (int k = 0; k < 40; k++) {
+            double re = roots[0][k];
+            double im = roots[1][k];
+            double pr = coefficients[40];
+            double pi = 0;
+            double scale = Math.abs(coefficients[40]);
+            double modulus = Math.hypot(re, im);
+            for (int i = 39; i >= 0; i--) {
+                double npr = pr * re - pi * im + coefficients[i];
+                pi = pr * im + pi * re;
+                pr = npr;
+                scale = scale * modulus + Math.abs(coefficients[i]);
+            }
+            assertTrue(Math.hypot(pr, pi) <= 1e-10 * scale, "résidu trop élevé pour la racine " + k);
+        }
+    }
+
+    // --- Degré 200, racines de module 1e3 : |z|^n dépasserait MAX_VALUE, évaluation sur le polynôme réciproque ---
+    @Test
+    void testFindRoots_HighDegreeLargeRoots() {
+        // 1e-300 x^200 - 1e300 : racines 200-ièmes de 1e600, toutes de module 1e3
+        double[] coefficients = new double[201];
+        coefficients[0] = -1e300;
+        coefficients[200] = 1e-300;
+
+        double[][] roots = RootFinder.findRoots(coefficients);
+
+        for (int k = 0; k < 200; k++) {
+            assertEquals(1e3, Math.hypot(roots[0][k], roots[1][k]), 1e-6);
+        }
+
+        // q(x / 1000) pour q aléatoire de degré 200, ramené dans [1e-300, 1e300] : racines de module ~1e3
+        Random random = new Random(7);
+        for (int i = 0; i <= 200; i++) {
+            coefficients[i] = (random.nextDouble() * 2 - 1) * Math.pow(10, 300 - 3 * i);
+        }
+
+        roots = RootFinder.findRoots(coefficients);
+
+        for (int k = 0; k < 200; k++) {
+            double re = roots[0][k];
+            double im = roots[1][k];
+            assertTrue(Math.hypot(re, im) >= 1e2, "racine " + k + " trop petite");
+            assertTrue(reversedBackwardError(coefficients, re, im) <= 1e-10, "résidu trop élevé pour la racine " + k);
+        }
+    }
+
+    // --- Entrées invalides ---
+    @Test
+    void testFindRoots_InvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> RootFinder.findRoots(new double[] {3}));
+        assertThrows(IllegalArgumentException.class, () -> RootFinder.findRoots(new double[] {1, Double.NaN}));
+    }
+
+    // |p(z)| / Σ|c_i||z|^i évalué en 1/z (|z| > 1) pour ne pas déborder
+    private static double reversedBackwardError(double[] c, double re, double im) {
+        int n = c.length - 1;
+        double modulus2 = re * re + im * im;
+        double yr = re / modulus2;
+        double yi = -im / modulus2;
+        double inverse = 1.0 / Math.sqrt(modulus2);
+        double pr = c[0];
+        double pi = 0;
+        double scale = Math.abs(c[0]);
+        for (int i = 1; i <= n; i++) {
+            double npr = pr * yr - pi * yi + c[i];
+            pi = pr * yi + pi * yr;
+            pr = npr;
+            scale = scale * inverse + Math.abs(c[i]);
+        }
+        return Math.hypot(pr, pi) / scale;
+    }
+}